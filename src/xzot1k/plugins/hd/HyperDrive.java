@@ -6,7 +6,6 @@ package xzot1k.plugins.hd;
 
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.configuration.ConfigurationSection;
@@ -23,13 +22,19 @@ import xzot1k.plugins.hd.api.objects.SerializableLocation;
 import xzot1k.plugins.hd.api.objects.Warp;
 import xzot1k.plugins.hd.core.internals.BungeeListener;
 import xzot1k.plugins.hd.core.internals.Listeners;
+import xzot1k.plugins.hd.core.internals.LocationPoolHandler;
 import xzot1k.plugins.hd.core.internals.Metrics;
+import xzot1k.plugins.hd.core.internals.RandomTeleportHandler;
 import xzot1k.plugins.hd.core.internals.cmds.MainCommands;
 import xzot1k.plugins.hd.core.internals.cmds.TeleportationCommands;
+import xzot1k.plugins.hd.core.internals.database.ConnectionPool;
+import xzot1k.plugins.hd.core.internals.database.DatabaseHandler;
+import xzot1k.plugins.hd.core.internals.database.WarpDetailsCache;
 import xzot1k.plugins.hd.core.internals.hooks.HookChecker;
 import xzot1k.plugins.hd.core.internals.hooks.VaultHandler;
 import xzot1k.plugins.hd.core.internals.hooks.WorldGuardHandler;
 import xzot1k.plugins.hd.core.internals.tabs.WarpTabComplete;
+import xzot1k.plugins.hd.core.objects.Settings;
 
 import java.io.*;
 import java.lang.reflect.Method;
@@ -38,26 +43,35 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 public class HyperDrive extends JavaPlugin {
     private static HyperDrive pluginInstance;
     private TeleportationHandler teleportationHandler;
+    private LocationPoolHandler locationPoolHandler;
+    private RandomTeleportHandler randomTeleportHandler;
     private MainCommands mainCommands;
     private TeleportationCommands teleportationCommands;
     private Manager manager;
     private BungeeListener bungeeListener;
 
-    private Connection databaseConnection;
-    private List<String> databaseWarps;
+    private DatabaseHandler databaseHandler;
 
     private String serverVersion;
     private boolean asyncChunkMethodExists;
-    private int teleportationHandlerTaskId, autoSaveTaskId, crossServerTaskId;
+    private int teleportationHandlerTaskId, locationPoolTaskId, autoSaveTaskId, crossServerTaskId;
 
     private FileConfiguration langConfig, menusConfig;
     private File langFile, menusFile;
 
+    private volatile Settings settings;
+
     private VaultHandler vaultHandler;
     private WorldGuardHandler worldGuardHandler;
     private HookChecker hookChecker;
@@ -119,10 +133,9 @@ public class HyperDrive extends JavaPlugin {
             }
         }
 
-        setDatabaseWarps(new ArrayList<>());
         long databaseStartTime = System.currentTimeMillis();
         setupDatabase(getConfig().getBoolean("mysql-connection.use-mysql"));
-        if (getDatabaseConnection() != null)
+        if (getDatabaseHandler() != null)
             log(Level.INFO, "Communication to the database was successful. (Took " + (System.currentTimeMillis() - databaseStartTime) + "ms)");
         else {
             log(Level.WARNING, "Communication to the database failed. (Took " + (System.currentTimeMillis() - databaseStartTime) + "ms)");
@@ -136,6 +149,7 @@ public class HyperDrive extends JavaPlugin {
 
         // sets up the manager class including all API methods.
         setManager(new Manager(this));
+        setRandomTeleportHandler(new RandomTeleportHandler(this));
 
         // sets up all commands and their counterparts.
         setMainCommands(new MainCommands(this));
@@ -180,18 +194,17 @@ public class HyperDrive extends JavaPlugin {
     @Override
     public void onDisable() {
         getServer().getScheduler().cancelTasks(this);
+        if (getRandomTeleportHandler() != null) getRandomTeleportHandler().shutdown();
 
-        saveWarps(false);
+        saveWarps(true);
         saveData();
 
-        if (getDatabaseConnection() != null)
-            try {
-                getDatabaseConnection().close();
-                log(Level.WARNING, "The SQL connection has been completely closed.");
-            } catch (SQLException e) {
-                e.printStackTrace();
-                log(Level.WARNING, "The MySQL connection was unable to be closed.");
-            }
+        if (getDatabaseHandler() != null) {
+            final long deadline = getConfig().getLong("general-section.shutdown-save-deadline", 10000), startTime = System.currentTimeMillis();
+            getDatabaseHandler().getWriteQueue().drain(deadline);
+            getDatabaseHandler().shutdown(Math.max(0, deadline - (System.currentTimeMillis() - startTime)));
+            log(Level.WARNING, "The SQL connection has been completely closed.");
+        }
     }
 
     // update checker methods
@@ -474,13 +487,15 @@ public class HyperDrive extends JavaPlugin {
 
     // core methods
     private void setupDatabase(boolean useMySQL) {
-        if (getDatabaseConnection() != null) return;
+        if (getDatabaseHandler() != null) return;
 
         try {
-            Statement statement;
+            ConnectionPool connectionPool;
             if (!useMySQL) {
                 Class.forName("org.sqlite.JDBC");
-                setDatabaseConnection(DriverManager.getConnection("jdbc:sqlite:" + getDataFolder() + "/warps.db"));
+
+                // SQLite only allows a single writer, so more connections would only fight over the file lock.
+                connectionPool = new ConnectionPool("jdbc:sqlite:" + getDataFolder() + "/warps.db", null, null, 1);
             } else {
                 Class.forName("com.mysql.jdbc.Driver");
 
@@ -488,36 +503,43 @@ public class HyperDrive extends JavaPlugin {
                         port = getConfig().getString("mysql-connection.port"), username = getConfig().getString("mysql-connection.username"),
                         password = getConfig().getString("mysql-connection.password"), properties = getPluginInstance().getConfig().getString("mysql-connection.sql-properties");
 
-                setDatabaseConnection(DriverManager.getConnection("jdbc:mysql://" + host + ":" + port + "/" + databaseName + properties, username, password));
-
-                statement = getDatabaseConnection().createStatement();
+                Connection connection = DriverManager.getConnection("jdbc:mysql://" + host + ":" + port + "/" + databaseName + properties, username, password);
+                Statement statement = connection.createStatement();
                 statement.executeUpdate("create database if not exists " + databaseName);
                 statement.close();
-                getDatabaseConnection().close();
+                connection.close();
 
-                setDatabaseConnection(DriverManager.getConnection("jdbc:mysql://" + host + ":" + port + "/" + databaseName + properties, username, password));
+                connectionPool = new ConnectionPool("jdbc:mysql://" + host + ":" + port + "/" + databaseName + properties, username, password,
+                        getConfig().getInt("mysql-connection.pool-size", 4));
             }
 
-            statement = getDatabaseConnection().createStatement();
-            statement.executeUpdate("create table if not exists warps (name varchar(100), location varchar(255), status varchar(100), creation_date varchar(100),"
-                    + " icon_theme varchar(100), animation_set varchar(100), description_color varchar(100), name_color varchar(100), description varchar(255), commands varchar(255),"
-                    + " owner varchar(100), player_list varchar(255), assistants varchar(255), traffic int, usage_price double, enchanted_look int, server_ip varchar(255), likes int,"
-                    + " dislikes int, voters longtext, white_list_mode int, primary key (name))");
+            setDatabaseHandler(new DatabaseHandler(this, useMySQL, connectionPool));
+            getDatabaseHandler().await(connection -> {
+                Statement statement = connection.createStatement();
+                statement.executeUpdate("create table if not exists warps (name varchar(100), location varchar(255), status varchar(100), creation_date varchar(100),"
+                        + " icon_theme varchar(100), animation_set varchar(100), description_color varchar(100), name_color varchar(100), description varchar(255), commands varchar(255),"
+                        + " owner varchar(100), player_list varchar(255), assistants varchar(255), traffic int, usage_price double, enchanted_look int, server_ip varchar(255), likes int,"
+                        + " dislikes int, voters longtext, white_list_mode int, primary key (name))");
 
-            /*
-                    statement.executeUpdate("alter table warps drop column " + columnArgs[0] + "");
-                    statement.executeUpdate("alter table warps add column " + columnArgs[0] + " " + columnArgs[1]);
-             */
+                /*
+                        statement.executeUpdate("alter table warps drop column " + columnArgs[0] + "");
+                        statement.executeUpdate("alter table warps add column " + columnArgs[0] + " " + columnArgs[1]);
+                 */
 
-            if (useMySQL) {
-                statement.executeUpdate("create table if not exists transfer (player_uuid varchar(100),location varchar(255), server_ip varchar(255),primary key (player_uuid))");
-                statement.executeUpdate("truncate transfer");
-            }
+                statement.close();
+                getDatabaseHandler().updateSchema(connection);
 
-            statement.close();
+                // expired transfers are swept instead of truncating the table other servers may still be writing to.
+                if (useMySQL) getDatabaseHandler().getTransferHandler().updateSchema(connection);
+                return null;
+            });
         } catch (ClassNotFoundException | SQLException e) {
             e.printStackTrace();
             log(Level.WARNING, "There was an issue involving the MySQL connection.");
+            if (getDatabaseHandler() != null) {
+                getDatabaseHandler().shutdown(0);
+                setDatabaseHandler(null);
+            }
         }
     }
 
@@ -542,13 +564,15 @@ public class HyperDrive extends JavaPlugin {
 
                     Warp warp = new Warp(warpName, getPluginInstance().getServer().getOfflinePlayer(uuid), serializableLocation);
                     converterWarpSpecifics(yaml, warpName, warp);
-                    warp.save(false);
+                    warp.save(true);
                     convertedWarpCount++;
                 } catch (Exception ignored) {
                     failedToConvertWarps++;
                 }
             }
 
+            getDatabaseHandler().getWriteQueue().flush(Long.MAX_VALUE);
+
             file.renameTo(new File(getDataFolder(), "/converted-warps.yml"));
             log(Level.INFO, convertedWarpCount + " " + ((convertedWarpCount == 1) ? "warp was" : "warps were") + " converted and "
                     + failedToConvertWarps + " " + ((failedToConvertWarps == 1) ? "warp" : "warps") + " failed to convert. (Took " + (System.currentTimeMillis() - startTime) + "ms)");
@@ -599,7 +623,7 @@ public class HyperDrive extends JavaPlugin {
             warp.setIconEnchantedLook(yaml.getBoolean(warpName + ".icon.use-enchanted-look"));
             warp.setUsagePrice(yaml.getDouble(warpName + ".icon.prices.usage"));
             warp.setTraffic(yaml.getInt(warpName + ".traffic"));
-            warp.setVoters(voters);
+            for (int j = -1; ++j < voters.size(); ) warp.addVote(voters.get(j));
             warp.setLikes(yaml.getInt(warpName + ".likes"));
             warp.setDislikes(yaml.getInt(warpName + ".dislikes"));
             warp.setWhiteListMode(yaml.getBoolean(warpName + ".white-list-mode"));
@@ -610,76 +634,6 @@ public class HyperDrive extends JavaPlugin {
         }
     }
 
-    private void converterWarpSpecifics(ResultSet resultSet, String ipAddress, Warp warp) {
-        try {
-            String statusString = resultSet.getString("status");
-            if (statusString == null) statusString = EnumContainer.Status.PUBLIC.name();
-
-            EnumContainer.Status status = EnumContainer.Status.valueOf(statusString.toUpperCase().replace(" ", "_").replace("-", "_"));
-            warp.setStatus(status);
-            warp.setCreationDate(resultSet.getString("creation_date"));
-            warp.setIconTheme(resultSet.getString("icon_theme").replace(":", ","));
-            warp.setAnimationSet(resultSet.getString("animation_set"));
-
-            String descriptionColor = resultSet.getString("description_color");
-            if (descriptionColor != null && !descriptionColor.equalsIgnoreCase(""))
-                warp.setDescriptionColor(ChatColor.valueOf(descriptionColor.toUpperCase().replace(" ", "_").replace("-", "_")));
-            String nameColor = resultSet.getString("name_color");
-            if (nameColor != null && !nameColor.equalsIgnoreCase(""))
-                warp.setDisplayNameColor(ChatColor.valueOf(nameColor.toUpperCase().replace(" ", "_").replace("-", "_")));
-
-            warp.setDescription(ChatColor.stripColor(getManager().colorText(resultSet.getString("description").replace(",", "").trim().replaceAll("\\s+", " "))));
-            String commandsString = resultSet.getString("commands");
-            if (commandsString.contains(",")) {
-                List<String> commands = new ArrayList<>();
-                String[] commandsStringArgs = commandsString.split(",");
-                for (int i = -1; ++i < commandsStringArgs.length; )
-                    commands.add(commandsStringArgs[i]);
-                warp.setCommands(commands);
-            }
-
-            if (resultSet.getString(11) != null && !resultSet.getString(11).equalsIgnoreCase(""))
-                warp.setOwner(UUID.fromString(resultSet.getString("owner")));
-
-            String playerListString = resultSet.getString("player_list");
-            if (playerListString.contains(",")) {
-                List<UUID> playerList = new ArrayList<>();
-                String[] playerListStringArgs = playerListString.split(",");
-                for (int i = -1; ++i < playerListStringArgs.length; )
-                    playerList.add(UUID.fromString(playerListStringArgs[i]));
-                warp.setPlayerList(playerList);
-            }
-
-            String assistantsString = resultSet.getString("assistants");
-            if (assistantsString.contains(",")) {
-                List<UUID> assistants = new ArrayList<>();
-                String[] assistantsStringArgs = assistantsString.split(",");
-                for (int i = -1; ++i < assistantsStringArgs.length; )
-                    assistants.add(UUID.fromString(assistantsStringArgs[i]));
-                warp.setAssistants(assistants);
-            }
-
-            String votersString = resultSet.getString("voters");
-            if (votersString.contains(",")) {
-                List<UUID> voters = new ArrayList<>();
-                String[] votersStringArgs = votersString.split(",");
-                for (int i = -1; ++i < votersStringArgs.length; ) voters.add(UUID.fromString(votersStringArgs[i]));
-                warp.setVoters(voters);
-            }
-
-            warp.setTraffic(resultSet.getInt("traffic"));
-            warp.setUsagePrice(resultSet.getDouble("usage_price"));
-            warp.setIconEnchantedLook(resultSet.getInt("enchanted_look") >= 1);
-            warp.setLikes(resultSet.getInt("likes"));
-            warp.setDislikes(resultSet.getInt("dislikes"));
-            warp.setServerIPAddress(ipAddress);
-            warp.setWhiteListMode(resultSet.getInt("white_list_mode") >= 1);
-        } catch (Exception e) {
-            e.printStackTrace();
-            log(Level.INFO, "There was an issue loading the warp " + warp.getWarpName() + "'s data aside it's location.");
-        }
-    }
-
     private void startEssentialsConverter() {
         int convertedWarpCount = 0;
         long startTime = System.currentTimeMillis();
@@ -798,8 +752,10 @@ public class HyperDrive extends JavaPlugin {
 
     public void stopTasks(boolean useMySQL) {
         getServer().getScheduler().cancelTask(getTeleportationHandlerTaskId());
+        if (getTeleportationHandler() != null) getTeleportationHandler().shutdown();
+        getServer().getScheduler().cancelTask(getLocationPoolTaskId());
 
-        if (getDatabaseConnection() != null && useMySQL)
+        if (getDatabaseHandler() != null && useMySQL)
             getServer().getScheduler().cancelTask(getCrossServerTaskId());
         if (getConfig().getInt("general-section.auto-save-interval") >= 0)
             getServer().getScheduler().cancelTask(getAutoSaveTaskId());
@@ -808,122 +764,84 @@ public class HyperDrive extends JavaPlugin {
     public void startTasks() {
         boolean useMySQL = getConfig().getBoolean("mysql-connection.use-mysql");
         TeleportationHandler teleportationHandler = new TeleportationHandler(this);
-        int thID = getServer().getScheduler().scheduleSyncRepeatingTask(this, teleportationHandler, 0, 20);
+        int thID = getServer().getScheduler().scheduleSyncRepeatingTask(this, teleportationHandler, 0, 1);
         setTeleportationHandlerTaskId(thID);
         setTeleportationHandler(teleportationHandler);
 
+        LocationPoolHandler locationPoolHandler = new LocationPoolHandler(this);
+        final int poolInterval = getSettings().getLocationPoolInterval();
+        setLocationPoolTaskId(getServer().getScheduler().scheduleSyncRepeatingTask(this, locationPoolHandler, poolInterval, poolInterval));
+        setLocationPoolHandler(locationPoolHandler);
+
         final int interval = getConfig().getInt("general-section.auto-save-interval");
         BukkitTask autoSaveTask = getServer().getScheduler().runTaskTimerAsynchronously(this, () -> saveWarps(useMySQL), 20 * interval, 20 * interval);
         setAutoSaveTaskId(autoSaveTask.getTaskId());
 
         if (useMySQL) {
-            HashMap<UUID, Location> locationMap = new HashMap<>();
+            AtomicBoolean crossServerPolling = new AtomicBoolean();
             int crossServerTeleportTaskId = getServer().getScheduler().scheduleSyncRepeatingTask(this, () -> {
                 Player firstPlayer = getBungeeListener().getFirstPlayer();
                 if (firstPlayer != null) getBungeeListener().requestServers(firstPlayer);
 
-                getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
+                // skips the poll while the previous one is still queued or running to avoid piling up database work.
+                if (!crossServerPolling.compareAndSet(false, true)) return;
 
-                    getDatabaseWarps().clear();
+                final Set<UUID> onlinePlayers = new HashSet<>();
+                for (Player player : getServer().getOnlinePlayers()) onlinePlayers.add(player.getUniqueId());
 
+                getDatabaseHandler().execute(connection -> {
                     try {
-                        Statement statement = getDatabaseConnection().createStatement();
-                        ResultSet resultSet = statement.executeQuery("select * from warps");
-                        while (resultSet.next()) {
-                            String warpName = resultSet.getString(1).toLowerCase();
-                            if (!getDatabaseWarps().contains(warpName))
-                                getDatabaseWarps().add(warpName);
-                        }
-
-                        resultSet.close();
-                        statement.close();
-
-                        List<Warp> warps = new ArrayList<>(getManager().getWarpMap().values());
-                        for (Warp warp : warps)
-                            if (!getDatabaseWarps().contains(warp.getWarpName().toLowerCase()))
-                                warp.unRegister();
-
-                        for (String warpName : getDatabaseWarps())
-                            if (!getManager().getWarpMap().containsKey(warpName))
-                                loadWarp(warpName);
-
+                        getDatabaseHandler().getSyncHandler().poll(connection);
                     } catch (SQLException e) {
                         e.printStackTrace();
                     }
 
                     try {
-                        Statement statement = getDatabaseConnection().createStatement();
-                        ResultSet resultSet = statement.executeQuery("select * from transfer");
-                        while (resultSet.next()) {
-                            UUID playerUniqueId = UUID.fromString(resultSet.getString(1));
-                            String locationString = resultSet.getString(2), server_ip = resultSet.getString(3);
-                            if (server_ip == null || server_ip.equalsIgnoreCase("")) {
-                                if (locationString.contains(",")) {
-                                    String[] locationStringArgs = locationString.split(",");
-                                    World world = getPluginInstance().getServer().getWorld(locationStringArgs[0]);
-                                    if (world == null) continue;
-                                    Location location = new Location(world, Double.parseDouble(locationStringArgs[1]), Double.parseDouble(locationStringArgs[2]),
-                                            Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]), Float.parseFloat(locationStringArgs[5]));
-                                    locationMap.put(playerUniqueId, location);
-                                } else {
-                                    Player player = getServer().getPlayer(locationString);
-                                    if (player != null) locationMap.put(playerUniqueId, player.getLocation());
-                                }
-                            } else {
-                                if (!server_ip.replace("localhost", "127.0.0.1").equalsIgnoreCase((getServer().getIp() + ":" + getServer().getPort())
-                                        .replace("localhost", "127.0.0.1")))
-                                    continue;
-
-                                if (locationString.contains(",")) {
-                                    String[] locationStringArgs = locationString.split(",");
-                                    Location location = new Location(getPluginInstance().getServer().getWorld(locationStringArgs[0]), Double.parseDouble(locationStringArgs[1]),
-                                            Double.parseDouble(locationStringArgs[2]), Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]), Float.parseFloat(locationStringArgs[5]));
-                                    locationMap.put(playerUniqueId, location);
-                                } else {
-                                    Player player = getServer().getPlayer(locationString);
-                                    if (player != null) locationMap.put(playerUniqueId, player.getLocation());
-                                }
-                            }
-                        }
-
-                        resultSet.close();
-                        statement.close();
+                        LinkedHashMap<UUID, String> transfers = getDatabaseHandler().getTransferHandler().claimTransfers(connection, onlinePlayers);
+                        if (!transfers.isEmpty() && isEnabled())
+                            getServer().getScheduler().runTask(this, () -> completeTransfers(transfers));
                     } catch (SQLException e) {
                         e.printStackTrace();
                     }
-                });
-
-                List<UUID> ids = new ArrayList<>(locationMap.keySet());
-                for (int i = -1; ++i < ids.size(); ) {
-                    UUID playerUniqueId = ids.get(i);
 
-                    getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
-                        try {
-                            PreparedStatement preparedStatement = getDatabaseConnection().prepareStatement("delete from transfer where player_uuid = '" + playerUniqueId.toString() + "'");
-                            preparedStatement.executeUpdate();
-                            preparedStatement.close();
-                        } catch (SQLException e) {
-                            e.printStackTrace();
-                        }
-                    });
-
-                    OfflinePlayer offlinePlayer = getServer().getOfflinePlayer(playerUniqueId);
-                    if (offlinePlayer.isOnline() && offlinePlayer.getPlayer() != null) {
-                        Location location = locationMap.get(playerUniqueId);
-                        locationMap.remove(playerUniqueId);
-                        getTeleportationHandler().teleportPlayer(offlinePlayer.getPlayer(), location);
-                        getManager().sendCustomMessage(Objects.requireNonNull(getLangConfig().getString("cross-teleported"))
-                                .replace("{world}", Objects.requireNonNull(location.getWorld()).getName())
-                                .replace("{x}", String.valueOf(location.getBlockX()))
-                                .replace("{y}", String.valueOf(location.getBlockY()))
-                                .replace("{z}", String.valueOf(location.getBlockZ())), offlinePlayer.getPlayer());
-                    }
-                }
+                    return null;
+                }).whenComplete((result, throwable) -> {
+                    // also reached when the poll never ran (No free connection, closed pool or rejected task), execute logs why.
+                    crossServerPolling.set(false);
+                });
             }, 0, 20);
             setCrossServerTaskId(crossServerTeleportTaskId);
         }
     }
 
+    private void completeTransfers(Map<UUID, String> transfers) {
+        for (Map.Entry<UUID, String> entry : transfers.entrySet()) {
+            Player player = getServer().getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            Location location;
+            String locationString = entry.getValue();
+            if (locationString.contains(",")) {
+                String[] locationStringArgs = locationString.split(",");
+                World world = getServer().getWorld(locationStringArgs[0]);
+                if (world == null) continue;
+                location = new Location(world, Double.parseDouble(locationStringArgs[1]), Double.parseDouble(locationStringArgs[2]),
+                        Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]), Float.parseFloat(locationStringArgs[5]));
+            } else {
+                Player target = getServer().getPlayer(locationString);
+                if (target == null) continue;
+                location = target.getLocation();
+            }
+
+            getTeleportationHandler().teleportPlayer(player, location);
+            getManager().sendCustomMessage(Objects.requireNonNull(getLangConfig().getString("cross-teleported"))
+                    .replace("{world}", Objects.requireNonNull(location.getWorld()).getName())
+                    .replace("{x}", String.valueOf(location.getBlockX()))
+                    .replace("{y}", String.valueOf(location.getBlockY()))
+                    .replace("{z}", String.valueOf(location.getBlockZ())), player);
+        }
+    }
+
     private void saveData() {
         File file = new File(getDataFolder(), "/data.yml");
         FileConfiguration yaml = YamlConfiguration.loadConfiguration(file);
@@ -953,101 +871,133 @@ public class HyperDrive extends JavaPlugin {
 
     public void saveWarps(boolean async) {
         long startTime = System.currentTimeMillis();
-        for (Warp warp : getManager().getWarpMap().values()) warp.save(async);
+        List<Warp> dirtyWarps = new ArrayList<>();
+        for (Warp warp : getManager().getWarpRegistry().getSnapshot().getWarps())
+            if (warp != null && warp.isDirty()) dirtyWarps.add(warp);
+        if (dirtyWarps.isEmpty() || getDatabaseHandler() == null) return;
+
+        for (int i = -1; ++i < dirtyWarps.size(); )
+            getDatabaseHandler().getWriteQueue().queueSave(dirtyWarps.get(i));
+        if (!async) getDatabaseHandler().getWriteQueue().flush(Long.MAX_VALUE);
+
         if (getConfig().getBoolean("general-section.auto-save-log"))
-            log(Level.INFO, "All warps have been saved! (Took " + (System.currentTimeMillis() - startTime) + "ms)");
+            log(Level.INFO, dirtyWarps.size() + " changed " + ((dirtyWarps.size() == 1) ? "warp has" : "warps have") + " been "
+                    + (async ? "queued for saving" : "saved") + "! (Took " + (System.currentTimeMillis() - startTime) + "ms)");
     }
 
     public void loadWarps() {
         long startTime = System.currentTimeMillis();
-        int loadedWarps = 0, failedToLoadWarps = 0;
+        int loadedWarps = 0, failedToLoadWarps;
 
+        // stream, parse, members (In milliseconds) followed by the registering time.
+        final long[] phaseTimes = new long[4];
+        final AtomicInteger failedWarps = new AtomicInteger();
         try {
-            Statement statement = getDatabaseConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("select * from warps");
-            while (resultSet.next()) {
-                String warpName = resultSet.getString("name");
-                if (warpName == null || warpName.equalsIgnoreCase("")) continue;
-                warpName = warpName.replaceAll("[.,?:;'\"\\\\|`~!@#$%^&*()+=/<>]", "");
-
-                String ipAddress = resultSet.getString("server_ip").replace("localhost", "127.0.0.1"),
-                        locationString = resultSet.getString("location");
-                if (locationString.contains(",")) {
-                    String[] locationStringArgs = locationString.split(",");
-
-                    SerializableLocation serializableLocation = new SerializableLocation(locationStringArgs[0],
-                            Double.parseDouble(locationStringArgs[1]), Double.parseDouble(locationStringArgs[2]),
-                            Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]),
-                            Float.parseFloat(locationStringArgs[5]));
-                    UUID uuid = null;
-                    String ownerId = resultSet.getString("owner");
-                    if (ownerId != null && !ownerId.equalsIgnoreCase(""))
-                        uuid = UUID.fromString(ownerId);
-
-                    Warp warp;
-                    if (uuid == null) warp = new Warp(warpName, serializableLocation);
-                    else
-                        warp = new Warp(warpName, getPluginInstance().getServer().getOfflinePlayer(uuid), serializableLocation);
-                    warp.register();
-                    loadedWarps += 1;
-
-                    converterWarpSpecifics(resultSet, ipAddress, warp);
-                }
-            }
-
-            resultSet.close();
-            statement.close();
-        } catch (SQLException e) {
-            failedToLoadWarps += 1;
+            final HashMap<String, Warp> warpMap = getDatabaseHandler().await(connection -> loadWarps(connection, phaseTimes, failedWarps));
+
+            // the finished warps are published in one step on the main thread instead of being registered one by one.
+            final long registerStart = System.currentTimeMillis();
+            if (getServer().isPrimaryThread()) getManager().getWarpRegistry().registerAll(warpMap);
+            else getServer().getScheduler().callSyncMethod(this, () -> {
+                getManager().getWarpRegistry().registerAll(warpMap);
+                return null;
+            }).get();
+
+            phaseTimes[3] = System.currentTimeMillis() - registerStart;
+            loadedWarps = warpMap.size();
+        } catch (SQLException | InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            failedWarps.incrementAndGet();
             e.printStackTrace();
             log(Level.WARNING, "This is just a warning stating that a warp has failed to load.");
         }
 
-        if (loadedWarps > 0 || failedToLoadWarps > 0)
+        failedToLoadWarps = failedWarps.get();
+        if (loadedWarps > 0 || failedToLoadWarps > 0) {
             log(Level.INFO, loadedWarps + " " + ((loadedWarps == 1) ? "warp was" : "warps were") + " loaded and "
                     + failedToLoadWarps + " " + ((failedToLoadWarps == 1) ? "warp" : "warps") + " failed to load. (Took " + (System.currentTimeMillis() - startTime) + "ms)");
+            log(Level.INFO, "Warp loading phases (Query & Stream: " + phaseTimes[0] + "ms, Parse: " + phaseTimes[1] + "ms, Members: " + phaseTimes[2]
+                    + "ms, Register: " + phaseTimes[3] + "ms)");
+        }
     }
 
-    private void loadWarp(String warpName) {
-        if (getManager().doesWarpExist(warpName)) return;
+    private HashMap<String, Warp> loadWarps(Connection connection, long[] phaseTimes, AtomicInteger failedWarps) throws SQLException {
+        final long databaseTime = getDatabaseHandler().getDatabaseTime(connection);
+        final int fetchSize = Math.max(1, getConfig().getInt("general-section.load-fetch-size", 500));
 
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ExecutorService parseExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+            Thread thread = new Thread(runnable, "HyperDrive-Loader-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final HashMap<String, Warp> warpMap = new HashMap<>();
         try {
-            Statement statement = getDatabaseConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("select * from warps");
-            while (resultSet.next()) {
-                String ipAddress = resultSet.getString(17).replace("localhost", "127.0.0.1"),
-                        locationString = resultSet.getString(2);
-                if (locationString.contains(",")) {
-                    String[] locationStringArgs = locationString.split(",");
-
-                    SerializableLocation serializableLocation = new SerializableLocation(locationStringArgs[0],
-                            Double.parseDouble(locationStringArgs[1]), Double.parseDouble(locationStringArgs[2]),
-                            Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]),
-                            Float.parseFloat(locationStringArgs[5]));
-                    UUID uuid = null;
-                    String ownerId = resultSet.getString("owner");
-                    if (ownerId != null && !ownerId.equalsIgnoreCase(""))
-                        uuid = UUID.fromString(ownerId);
-
-                    Warp warp;
-                    if (uuid == null)
-                        warp = new Warp(warpName, serializableLocation);
-                    else
-                        warp = new Warp(warpName, getPluginInstance().getServer().getOfflinePlayer(uuid), serializableLocation);
-                    warp.register();
-                    converterWarpSpecifics(resultSet, ipAddress, warp);
+            // rows are copied off the result set in chunks and parsed on the loader threads while the rest is still streaming in.
+            long phaseStart = System.currentTimeMillis();
+            final List<CompletableFuture<List<Warp>>> parsedChunks = new ArrayList<>();
+            try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                // lazy loading only reads the index columns, the details are fetched once a warp is used.
+                final boolean lazyLoading = getDatabaseHandler().getDetailsCache().isEnabled();
+                final Warp.Defaults defaults = new Warp.Defaults(this);
+                try (ResultSet resultSet = statement.executeQuery("select " + (lazyLoading ? WarpDetailsCache.INDEX_COLUMNS : "*") + " from warps")) {
+                    List<Map<String, String>> rows = new ArrayList<>(fetchSize);
+                    while (resultSet.next()) {
+                        rows.add(getDatabaseHandler().readRow(resultSet));
+                        if (rows.size() < fetchSize) continue;
+
+                        parsedChunks.add(parseWarps(rows, defaults, parseExecutor, failedWarps));
+                        rows = new ArrayList<>(fetchSize);
+                    }
+
+                    if (!rows.isEmpty()) parsedChunks.add(parseWarps(rows, defaults, parseExecutor, failedWarps));
                 }
             }
 
-            resultSet.close();
-            statement.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
+            phaseTimes[0] = System.currentTimeMillis() - phaseStart;
+            phaseStart = System.currentTimeMillis();
+
+            for (int i = -1; ++i < parsedChunks.size(); ) {
+                final List<Warp> warps = parsedChunks.get(i).join();
+                for (int j = -1; ++j < warps.size(); ) warpMap.put(warps.get(j).getWarpName().toLowerCase(), warps.get(j));
+            }
+
+            phaseTimes[1] = System.currentTimeMillis() - phaseStart;
+        } finally {
+            parseExecutor.shutdown();
         }
+
+        final long memberStart = System.currentTimeMillis();
+        if (getDatabaseHandler().getDetailsCache().isEnabled()) getDatabaseHandler().getDetailsCache().releaseAll(warpMap.values());
+        else getDatabaseHandler().getMemberHandler().loadMembers(connection, warpMap, true);
+        phaseTimes[2] = System.currentTimeMillis() - memberStart;
+
+        getDatabaseHandler().getSyncHandler().getDatabaseWarps().addAll(warpMap.keySet());
+        getDatabaseHandler().getSyncHandler().reset(databaseTime);
+        return warpMap;
+    }
+
+    private CompletableFuture<List<Warp>> parseWarps(List<Map<String, String>> rows, Warp.Defaults defaults, ExecutorService parseExecutor, AtomicInteger failedWarps) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Warp> warps = new ArrayList<>(rows.size());
+            for (int i = -1; ++i < rows.size(); ) {
+                try {
+                    Warp warp = getDatabaseHandler().readWarp(rows.get(i), defaults);
+                    if (warp != null) warps.add(warp);
+                } catch (Exception e) {
+                    failedWarps.incrementAndGet();
+                    log(Level.WARNING, "The warp '" + rows.get(i).get("name") + "' failed to load (" + e.getMessage() + ").");
+                }
+            }
+
+            return warps;
+        }, parseExecutor);
     }
 
     public boolean doesWarpExistInDatabase(String warpName) {
-        return getDatabaseWarps().contains(warpName.toLowerCase());
+        return getDatabaseHandler() != null && getDatabaseHandler().getSyncHandler().getDatabaseWarps().contains(warpName.toLowerCase());
     }
 
     private static void copy(File source, File destination) throws IOException {
@@ -1072,6 +1022,11 @@ public class HyperDrive extends JavaPlugin {
      */
     public void reloadConfigs() {
         reloadConfig();
+        if (getManager() != null) {
+            getManager().getWarpIconMap().clear();
+            getManager().getTemplateHandler().clear();
+            getManager().getMenuHandler().clear();
+        }
 
         if (langFile == null) langFile = new File(getDataFolder(), "lang.yml");
         langConfig = YamlConfiguration.loadConfiguration(langFile);
@@ -1105,6 +1060,8 @@ public class HyperDrive extends JavaPlugin {
                 log(Level.WARNING, e.getMessage());
             }
         }
+
+        setSettings(new Settings(this));
     }
 
     /**
@@ -1183,6 +1140,22 @@ public class HyperDrive extends JavaPlugin {
         this.teleportationHandler = teleportationHandler;
     }
 
+    public LocationPoolHandler getLocationPoolHandler() {
+        return locationPoolHandler;
+    }
+
+    public RandomTeleportHandler getRandomTeleportHandler() {
+        return randomTeleportHandler;
+    }
+
+    private void setRandomTeleportHandler(RandomTeleportHandler randomTeleportHandler) {
+        this.randomTeleportHandler = randomTeleportHandler;
+    }
+
+    private void setLocationPoolHandler(LocationPoolHandler locationPoolHandler) {
+        this.locationPoolHandler = locationPoolHandler;
+    }
+
     public MainCommands getMainCommands() {
         return mainCommands;
     }
@@ -1199,14 +1172,6 @@ public class HyperDrive extends JavaPlugin {
         this.teleportationCommands = teleportationCommands;
     }
 
-    public Connection getDatabaseConnection() {
-        return databaseConnection;
-    }
-
-    private void setDatabaseConnection(Connection connection) {
-        this.databaseConnection = connection;
-    }
-
     private int getTeleportationHandlerTaskId() {
         return teleportationHandlerTaskId;
     }
@@ -1215,6 +1180,14 @@ public class HyperDrive extends JavaPlugin {
         this.teleportationHandlerTaskId = teleportationHandlerTaskId;
     }
 
+    private int getLocationPoolTaskId() {
+        return locationPoolTaskId;
+    }
+
+    private void setLocationPoolTaskId(int locationPoolTaskId) {
+        this.locationPoolTaskId = locationPoolTaskId;
+    }
+
     private int getAutoSaveTaskId() {
         return autoSaveTaskId;
     }
@@ -1247,12 +1220,12 @@ public class HyperDrive extends JavaPlugin {
         this.bungeeListener = bungeeListener;
     }
 
-    private List<String> getDatabaseWarps() {
-        return databaseWarps;
+    public DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
     }
 
-    private void setDatabaseWarps(List<String> databaseWarps) {
-        this.databaseWarps = databaseWarps;
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
     }
 
     public VaultHandler getVaultHandler() {
@@ -1286,4 +1259,17 @@ public class HyperDrive extends JavaPlugin {
     private void setHookChecker(HookChecker hookChecker) {
         this.hookChecker = hookChecker;
     }
+
+    /**
+     * Gets the settings compiled from the last (re)load, a new instance replaces it on every reload.
+     *
+     * @return The settings.
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    private void setSettings(Settings settings) {
+        this.settings = settings;
+    }
 }
@@ -24,8 +24,17 @@ import xzot1k.plugins.hd.HyperDrive;
 import xzot1k.plugins.hd.api.events.EconomyChargeEvent;
 import xzot1k.plugins.hd.api.objects.SerializableLocation;
 import xzot1k.plugins.hd.api.objects.Warp;
+import xzot1k.plugins.hd.core.internals.ChunkTicketHandler;
+import xzot1k.plugins.hd.core.internals.MenuHandler;
 import xzot1k.plugins.hd.core.internals.Paging;
+import xzot1k.plugins.hd.core.internals.TemplateHandler;
+import xzot1k.plugins.hd.core.internals.database.WarpDetailsCache;
 import xzot1k.plugins.hd.core.objects.InteractionModule;
+import xzot1k.plugins.hd.core.objects.MenuDefinition;
+import xzot1k.plugins.hd.core.objects.Settings;
+import xzot1k.plugins.hd.core.objects.Template;
+import xzot1k.plugins.hd.core.objects.TemplateBuilder;
+import xzot1k.plugins.hd.core.objects.WarpIcon;
 import xzot1k.plugins.hd.core.packets.actionbars.ActionBarHandler;
 import xzot1k.plugins.hd.core.packets.actionbars.versions.*;
 import xzot1k.plugins.hd.core.packets.particles.ParticleHandler;
@@ -35,10 +44,7 @@ import xzot1k.plugins.hd.core.packets.titles.versions.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -52,8 +58,12 @@ public class Manager {
     private ParticleHandler particleHandler;
     private TitleHandler titleHandler;
     private ActionBarHandler actionBarHandler;
+    private TemplateHandler templateHandler;
+    private MenuHandler menuHandler;
+    private ChunkTicketHandler chunkTicketHandler;
 
-    private HashMap<String, Warp> warpMap;
+    private WarpRegistry warpRegistry;
+    private Map<Warp, WarpIcon> warpIconMap;
     private HashMap<UUID, HashMap<String, Long>> cooldownMap;
     private HashMap<UUID, InteractionModule> chatInteractionMap;
     private HashMap<UUID, List<UUID>> groupMap;
@@ -62,8 +72,12 @@ public class Manager {
         setPluginInstance(pluginInstance);
         setSimpleDateFormat(new SimpleDateFormat(Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.date-format"))));
         setPaging(new Paging(getPluginInstance()));
+        setTemplateHandler(new TemplateHandler(getPluginInstance()));
+        setMenuHandler(new MenuHandler(getPluginInstance()));
+        setChunkTicketHandler(new ChunkTicketHandler(getPluginInstance()));
         setCooldownMap(new HashMap<>());
-        setWarpMap(new HashMap<>());
+        setWarpRegistry(new WarpRegistry());
+        setWarpIconMap(Collections.synchronizedMap(new WeakHashMap<>()));
         setChatInteractionMap(new HashMap<>());
         setGroupMap(new HashMap<>());
 
@@ -276,6 +290,18 @@ public class Manager {
         }
     }
 
+    public void sendCustomMessage(Template message, TemplateBuilder builder, Player player) {
+        if (message.isEmpty()) return;
+
+        final String renderedMessage = message.render(builder);
+        if (renderedMessage.contains("<") && renderedMessage.contains(">")) {
+            sendCustomMessage(renderedMessage, player);
+            return;
+        }
+
+        player.sendMessage(getTemplateHandler().getLangTemplate("prefix").render(builder) + renderedMessage);
+    }
+
     private void implementJSONExtras(String extraLine, String[] splitMessageArgs, BaseComponent originalMessage) {
         final String[] jsonFormatArgs = extraLine.split(":");
         BaseComponent extraMessage = new TextComponent(colorText(jsonFormatArgs[0]));
@@ -303,6 +329,15 @@ public class Manager {
         getTitleHandler().sendTitle(player, colorText(title), colorText(subTitle), fadeIn, displayTime, fadeOut);
     }
 
+    public void sendActionBar(Player player, Template message, TemplateBuilder builder) {
+        if (!message.isEmpty()) getActionBarHandler().sendActionBar(player, message.render(builder));
+    }
+
+    public void sendTitle(Player player, Template title, Template subTitle, TemplateBuilder builder, int fadeIn, int displayTime, int fadeOut) {
+        if (title.isEmpty() && subTitle.isEmpty()) return;
+        getTitleHandler().sendTitle(player, title.render(builder), subTitle.render(builder), fadeIn, displayTime, fadeOut);
+    }
+
     public void displayParticle(Location location, String particleEffect) {
         if (location == null || (particleEffect == null || particleEffect.isEmpty())) return;
         getParticleHandler().displayParticle(particleEffect, location, 0, 0, 0, 0, 1);
@@ -385,7 +420,7 @@ public class Manager {
 
     // cross-server stuff
     public void teleportCrossServer(Player player, String serverIP, String serverName, SerializableLocation location) {
-        if (getPluginInstance().getConfig().getBoolean("mysql-connection.use-mysql") && getPluginInstance().getDatabaseConnection() == null)
+        if (getPluginInstance().getConfig().getBoolean("mysql-connection.use-mysql") && getPluginInstance().getDatabaseHandler() == null)
             return;
 
         try {
@@ -401,27 +436,10 @@ public class Manager {
             return;
         }
 
-        getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
+        getPluginInstance().getDatabaseHandler().execute(connection -> {
             try {
-                Statement statement = getPluginInstance().getDatabaseConnection().createStatement();
-
-                ResultSet rs = statement.executeQuery("select * from transfer where player_uuid = '" + player.getUniqueId().toString() + "'");
-                if (rs.next()) {
-                    statement.executeUpdate("update transfer set location = '" + (location.getWorldName() + "," + location.getX() + "," + location.getY() + ","
-                            + location.getZ() + "," + location.getYaw() + "," + location.getPitch()) + "', server_ip = '" + serverIP + "' where player_uuid = '"
-                            + player.getUniqueId().toString() + "';");
-                    rs.close();
-                    statement.close();
-                    getPluginInstance().log(Level.WARNING, " updated (" + player.getName() + "_" + player.getUniqueId().toString() + " / "
-                            + serverName + " / World: " + location.getWorldName() + ", X: " + location.getX() + ", Y: " + location.getY() + ", Z: " + location.getZ() + ")");
-                    return;
-                }
-
-                PreparedStatement preparedStatement = getPluginInstance().getDatabaseConnection().prepareStatement("insert into transfer (player_uuid, location, server_ip) values ('"
-                        + player.getUniqueId().toString() + "', '" + (location.getWorldName() + "," + location.getX() + "," + location.getY() + "," + location.getZ() + ","
-                        + location.getYaw() + "," + location.getPitch()) + "', '" + serverIP + "');");
-                preparedStatement.executeUpdate();
-                preparedStatement.close();
+                getPluginInstance().getDatabaseHandler().getTransferHandler().queueTransfer(connection, player.getUniqueId(), location.getWorldName() + ","
+                        + location.getX() + "," + location.getY() + "," + location.getZ() + "," + location.getYaw() + "," + location.getPitch(), serverIP);
                 getPluginInstance().log(Level.WARNING, "Cross-Server transfer updated (" + player.getName() + "_" + player.getUniqueId().toString()
                         + " / " + serverName + " / World: " + location.getWorldName() + ", X: "
                         + location.getX() + ", Y: " + location.getY() + ", Z: " + location.getZ() + ")");
@@ -434,11 +452,13 @@ public class Manager {
                                 + player.getUniqueId().toString() + "'. They have been sent to " + "the '" + serverName
                                 + "' server, but the location was unable to be processed.");
             }
+
+            return null;
         });
     }
 
     public void teleportCrossServer(Player player, String serverIP, String serverName, String playerName) {
-        if (getPluginInstance().getConfig().getBoolean("mysql-connection.use-mysql") && getPluginInstance().getDatabaseConnection() == null)
+        if (getPluginInstance().getConfig().getBoolean("mysql-connection.use-mysql") && getPluginInstance().getDatabaseHandler() == null)
             return;
 
         try {
@@ -454,25 +474,9 @@ public class Manager {
             return;
         }
 
-        getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
+        getPluginInstance().getDatabaseHandler().execute(connection -> {
             try {
-                Statement statement = getPluginInstance().getDatabaseConnection().createStatement();
-
-                ResultSet rs = statement.executeQuery("select * from transfer where player_uuid = '" + player.getUniqueId().toString() + "'");
-                if (rs.next()) {
-                    statement.executeUpdate("update transfer set location = '" + playerName + "', server_ip = '" + serverIP + "' where player_uuid = '"
-                            + player.getUniqueId().toString() + "';");
-                    rs.close();
-                    statement.close();
-                    getPluginInstance().log(Level.WARNING, " Updated (" + player.getName() + "_" + player.getUniqueId().toString() + " / "
-                            + serverName + " / Player: " + playerName + ")");
-                    return;
-                }
-
-                PreparedStatement preparedStatement = getPluginInstance().getDatabaseConnection().prepareStatement("insert into transfer (player_uuid, location, server_ip) values ('"
-                        + player.getUniqueId().toString() + "', '" + playerName + "', '" + serverIP + "');");
-                preparedStatement.executeUpdate();
-                preparedStatement.close();
+                getPluginInstance().getDatabaseHandler().getTransferHandler().queueTransfer(connection, player.getUniqueId(), playerName, serverIP);
                 getPluginInstance().log(Level.WARNING, "Cross-Server transfer updated (" + player.getName() + "_" + player.getUniqueId().toString()
                         + " / " + serverName + " / Player: " + playerName + ")");
             } catch (SQLException e) {
@@ -484,6 +488,8 @@ public class Manager {
                                 + player.getUniqueId().toString() + "'. They have been sent to " + "the '" + serverName
                                 + "' server, but the location was unable to be processed.");
             }
+
+            return null;
         });
     }
 
@@ -711,14 +717,52 @@ public class Manager {
         return EnumContainer.Status.PUBLIC.name();
     }
 
+    /**
+     * Gets the icon of the warp as seen by the player. Icons are compiled once per warp change, so the returned item is
+     * shared and must not be modified.
+     *
+     * @param player The viewer (Can be null).
+     * @param warp   The warp.
+     * @return The icon.
+     */
     public ItemStack buildWarpIcon(OfflinePlayer player, Warp warp) {
+        WarpIcon warpIcon = getWarpIconMap().get(warp);
+        if (warpIcon == null || warpIcon.getWarpVersion() != warp.getChangeVersion()) {
+            warpIcon = compileWarpIcon(warp);
+            getWarpIconMap().put(warp, warpIcon);
+        }
+
+        return warpIcon.render(warp, player);
+    }
+
+    private WarpIcon compileWarpIcon(Warp warp) {
+        final long warpVersion = warp.getChangeVersion();
         String publicFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.public-status-format"),
                 privateFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.private-status-format"),
                 adminFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.admin-status-format");
 
         String[] eventPlaceholders = {"{is-owner}", "{has-access}", "{no-access}", "{can-edit}", "{is-private}", "{is-public}", "{is-admin}"};
-        List<String> iconLoreFormat = getPluginInstance().getConfig().getStringList("warp-icon-section.list-lore-format"), newLore = new ArrayList<>(),
-                wrappedDescription = getPluginInstance().getManager().wrapString(warp.getDescription(), getPluginInstance().getConfig().getInt("warp-icon-section.description-line-cap"));
+        List<String> iconLoreFormat = getPluginInstance().getConfig().getStringList("warp-icon-section.list-lore-format"), lines = new ArrayList<>(),
+                lineEventPlaceholders = new ArrayList<>(), wrappedDescription = getPluginInstance().getManager().wrapString(warp.getDescription(),
+                getPluginInstance().getConfig().getInt("warp-icon-section.description-line-cap"));
+
+        String statusName;
+        switch (warp.getStatus()) {
+            case PRIVATE:
+                statusName = privateFormat;
+                break;
+            case ADMIN:
+                statusName = adminFormat;
+                break;
+            default:
+                statusName = publicFormat;
+                break;
+        }
+
+        OfflinePlayer offlinePlayer = warp.getOwner() != null ? getPluginInstance().getServer().getOfflinePlayer(warp.getOwner()) : null;
+        String invalidRetrieval = getPluginInstance().getConfig().getString("warp-icon-section.invalid-retrieval");
+        if (invalidRetrieval == null) invalidRetrieval = "";
+        final String ownerName = offlinePlayer != null ? (offlinePlayer.getName() != null ? offlinePlayer.getName() : invalidRetrieval) : invalidRetrieval;
 
         for (int i = -1; ++i < iconLoreFormat.size(); ) {
             String formatLine = iconLoreFormat.get(i), foundEventPlaceholder = null;
@@ -728,8 +772,10 @@ public class Manager {
 
             if (formatLine.equalsIgnoreCase("{description}") && warp.getDescription() != null) {
                 if (wrappedDescription != null && wrappedDescription.size() > 0)
-                    for (int j = -1; ++j < wrappedDescription.size(); )
-                        newLore.add(warp.getDescriptionColor() + wrappedDescription.get(j));
+                    for (int j = -1; ++j < wrappedDescription.size(); ) {
+                        lines.add(warp.getDescriptionColor() + wrappedDescription.get(j));
+                        lineEventPlaceholders.add(null);
+                    }
                 continue;
             }
 
@@ -742,79 +788,26 @@ public class Manager {
                 }
             }
 
-            String statusName;
-
-            switch (warp.getStatus()) {
-                case PRIVATE:
-                    statusName = privateFormat;
-                    break;
-                case ADMIN:
-                    statusName = adminFormat;
-                    break;
-                default:
-                    statusName = publicFormat;
-                    break;
-            }
-
-            String furtherFormattedLine;
-            OfflinePlayer offlinePlayer = warp.getOwner() != null ? getPluginInstance().getServer().getOfflinePlayer(warp.getOwner()) : null;
-            String invalidRetrieval = getPluginInstance().getConfig().getString("warp-icon-section.invalid-retrieval");
-            if (invalidRetrieval == null) invalidRetrieval = "";
-
-            furtherFormattedLine = formatLine.replace("{creation-date}", warp.getCreationDate() != null ? warp.getCreationDate() : "")
+            // the {player} placeholder is left in place and filled in for each viewer.
+            String furtherFormattedLine = formatLine.replace("{creation-date}", warp.getCreationDate() != null ? warp.getCreationDate() : "")
                     .replace("{assistant-count}", String.valueOf(warp.getAssistants().size()))
                     .replace("{usage-price}", String.valueOf(warp.getUsagePrice()))
                     .replace("{list-count}", String.valueOf(warp.getPlayerList().size()))
                     .replace("{status}", statusName != null ? statusName : "")
                     .replace("{theme}", (warp.getIconTheme() != null && warp.getIconTheme().contains(",")) ? warp.getIconTheme().split(",")[0] : "")
                     .replace("{animation-set}", warp.getAnimationSet() != null && warp.getAnimationSet().contains(":") ? warp.getAnimationSet().split(":")[0] : "")
-                    .replace("{player}", player != null ? Objects.requireNonNull(player.getName()) : "")
-                    .replace("{traffic}", String.valueOf(warp.getTraffic())).replace("{owner}", offlinePlayer != null ? (offlinePlayer.getName() != null ? offlinePlayer.getName() : invalidRetrieval) : invalidRetrieval)
+                    .replace("{traffic}", String.valueOf(warp.getTraffic())).replace("{owner}", ownerName)
                     .replace("{likes}", String.valueOf(warp.getLikes())).replace("{dislikes}", String.valueOf(warp.getDislikes()))
                     .replace("{like-bar}", warp.getLikeBar());
 
-            if (foundEventPlaceholder != null && player != null) {
-                switch (foundEventPlaceholder) {
-                    case "{is-owner}":
-                        if (warp.getOwner() != null && warp.getOwner().toString().equals(player.getUniqueId().toString()))
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{can-edit}":
-                        if (warp.getOwner() != null && warp.getOwner().toString().equals(player.getUniqueId().toString())
-                                || warp.getAssistants().contains(player.getUniqueId()))
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{has-access}":
-                        if (warp.getStatus() == EnumContainer.Status.PUBLIC || ((warp.getOwner() != null && warp.getOwner().toString().equals(player.getUniqueId().toString()))
-                                || warp.getAssistants().contains(player.getUniqueId()) || (warp.getPlayerList().contains(player.getUniqueId()) && warp.isWhiteListMode()))
-                                || (Objects.requireNonNull(player.getPlayer()).hasPermission("hyperdrive.warps." + warp.getWarpName()) || player.getPlayer().hasPermission("hyperdrive.warps.*")))
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{no-access}":
-                        if (warp.getStatus() != EnumContainer.Status.PUBLIC && (warp.getOwner() != null && !warp.getOwner().toString().equals(player.getUniqueId().toString()))
-                                && !warp.getAssistants().contains(player.getUniqueId()) && (!warp.getPlayerList().contains(player.getUniqueId()) && warp.isWhiteListMode())
-                                && (!Objects.requireNonNull(player.getPlayer()).hasPermission("hyperdrive.warps." + warp.getWarpName()) && !player.getPlayer().hasPermission("hyperdrive.warps.*")))
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{is-private}":
-                        if (warp.getStatus() == EnumContainer.Status.PRIVATE)
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{is-public}":
-                        if (warp.getStatus() == EnumContainer.Status.PUBLIC)
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    case "{is-admin}":
-                        if (warp.getStatus() == EnumContainer.Status.ADMIN)
-                            newLore.add(colorText(furtherFormattedLine));
-                        break;
-                    default:
-                        break;
-                }
-            } else
-                newLore.add(colorText(furtherFormattedLine));
+            lines.add(colorText(furtherFormattedLine));
+            lineEventPlaceholders.add(foundEventPlaceholder);
         }
 
+        return new WarpIcon(warpVersion, warp, buildWarpIconItem(warp, new ArrayList<>()), lines, lineEventPlaceholders);
+    }
+
+    private ItemStack buildWarpIconItem(Warp warp, List<String> newLore) {
         if (warp.getIconTheme() != null && warp.getIconTheme().contains(",")) {
             String[] themeArgs = warp.getIconTheme().split(",");
 
@@ -853,7 +846,7 @@ public class Manager {
             }
         }
 
-        warp.setIconTheme("");
+        if (warp.getIconTheme() == null || !warp.getIconTheme().isEmpty()) warp.setIconTheme("");
         ItemStack item;
         if (warp.getOwner() != null) {
             OfflinePlayer offlinePlayer = getPluginInstance().getServer().getOfflinePlayer(warp.getOwner());
@@ -971,47 +964,42 @@ public class Manager {
     }
 
     public Inventory buildListMenu(OfflinePlayer player) {
-        final Inventory inventory = getPluginInstance().getServer().createInventory(null, getPluginInstance().getMenusConfig().getInt("list-menu-section.size"),
-                colorText(getPluginInstance().getMenusConfig().getString("list-menu-section.title")));
+        final MenuDefinition menuDefinition = getMenuHandler().getMenu(EnumContainer.MenuType.LIST, null);
+        final Inventory inventory = getMenuHandler().createInventory(menuDefinition, menuDefinition.getTitle(), null);
 
         if (player != null && player.isOnline()) {
             getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
-                List<Integer> warpSlots = getPluginInstance().getMenusConfig().getIntegerList("list-menu-section.warp-slots");
                 ItemStack emptySlotFiller = null;
 
                 int defaultFilterIndex = getPluginInstance().getMenusConfig().getInt("list-menu-section.default-filter-index");
-                String currentStatus, ownFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.own-status-format"),
-                        publicFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.public-status-format"),
-                        privateFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.private-status-format"),
-                        adminFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.admin-status-format"),
-                        featuredFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.featured-status-format");
-
+                final Settings settings = getPluginInstance().getSettings();
+                String currentStatus;
                 switch (defaultFilterIndex) {
                     case 1:
-                        currentStatus = privateFormat;
+                        currentStatus = settings.getPrivateStatusFormat();
                         break;
                     case 2:
-                        currentStatus = adminFormat;
+                        currentStatus = settings.getAdminStatusFormat();
                         break;
                     case 3:
-                        currentStatus = ownFormat;
+                        currentStatus = settings.getOwnStatusFormat();
                         break;
                     case 4:
-                        currentStatus = featuredFormat;
+                        currentStatus = settings.getFeaturedStatusFormat();
                         break;
                     default:
-                        currentStatus = publicFormat;
+                        currentStatus = settings.getPublicStatusFormat();
                         break;
                 }
 
                 getPaging().resetWarpPages(player);
-                HashMap<Integer, List<Warp>> warpPageMap = getPaging().getWarpPages(player, "list-menu-section", Objects.requireNonNull(currentStatus));
-                getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
+                getPaging().setWarpFilter(player, "list-menu-section", Objects.requireNonNull(currentStatus));
 
-                if (warpPageMap != null && !warpPageMap.isEmpty() && warpPageMap.containsKey(1)) {
-                    List<Warp> pageOneWarpList = new ArrayList<>(warpPageMap.get(1));
+                List<Warp> pageOneWarpList = getPaging().getWarpPage(player, 1);
+                if (!pageOneWarpList.isEmpty()) {
+                    getPluginInstance().getDatabaseHandler().getDetailsCache().loadAll(pageOneWarpList).join();
                     for (int i = -1; ++i < inventory.getSize(); )
-                        if (warpSlots.contains(i) && pageOneWarpList.size() >= 1) {
+                        if (menuDefinition.isContentSlot(i) && pageOneWarpList.size() >= 1) {
                             Warp warp = pageOneWarpList.get(0);
 
                             ItemStack item = buildWarpIcon(player, warp);
@@ -1022,6 +1010,11 @@ public class Manager {
 
                 int currentPage = getPaging().getCurrentPage(player);
                 boolean hasPreviousPage = getPaging().hasPreviousWarpPage(player), hasNextPage = getPaging().hasNextWarpPage(player);
+                final TemplateBuilder builder = getTemplateHandler().builder().set("{current-page}", currentPage).set("{current-status}", currentStatus);
+                if (hasPreviousPage) builder.set("{previous-page}", currentPage - 1);
+                else builder.set("{previous-page}", "None");
+                if (hasNextPage) builder.set("{next-page}", currentPage + 1);
+                else builder.set("{next-page}", "None");
 
                 List<String> itemIds = new ArrayList<>(Objects.requireNonNull(getPluginInstance().getMenusConfig().getConfigurationSection("list-menu-section.items")).getKeys(false));
                 for (int i = -1; ++i < itemIds.size(); ) {
@@ -1029,26 +1022,17 @@ public class Manager {
                     if (itemId != null && !itemId.equalsIgnoreCase("")) {
                         boolean usePlayerHead = getPluginInstance().getMenusConfig().getBoolean("list-menu-section.items." + itemId + ".use-player-head"),
                                 fillEmptySlots = getPluginInstance().getMenusConfig().getBoolean("list-menu-section.items." + itemId + ".fill-empty-slots");
-                        String replacement = hasPreviousPage ? String.valueOf((currentPage - 1)) : "None", replacement1 = hasNextPage ? String.valueOf((currentPage + 1)) : "None";
-                        String displayName = Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("list-menu-section.items." + itemId + ".display-name"))
-                                .replace("{current-page}", String.valueOf(currentPage)).replace("{previous-page}", replacement).replace("{next-page}", replacement1)
-                                .replace("{current-status}", Objects.requireNonNull(currentStatus));
-                        if (usePlayerHead) {
-                            List<String> newLore = new ArrayList<>(), lore = getPluginInstance().getMenusConfig().getStringList("list-menu-section.items." + itemId + ".lore");
-                            for (int j = -1; ++j < lore.size(); )
-                                newLore.add(colorText(lore.get(j).replace("{current-page}", String.valueOf(currentPage))
-                                        .replace("{previous-page}", replacement).replace("{next-page}", replacement1)
-                                        .replace("{current-status}", currentStatus)));
+                        String displayName = getTemplateHandler().getMenuTemplate("list-menu-section.items." + itemId + ".display-name").render(builder);
+                        List<Template> lore = getTemplateHandler().getMenuTemplateList("list-menu-section.items." + itemId + ".lore");
+                        List<String> newLore = new ArrayList<>(lore.size());
+                        for (int j = -1; ++j < lore.size(); ) newLore.add(lore.get(j).render(builder));
 
+                        if (usePlayerHead) {
                             ItemStack playerHeadItem = getPlayerHead(getPluginInstance().getMenusConfig().getString("list-menu-section.items." + itemId + ".player-head-name"),
                                     displayName, newLore, getPluginInstance().getMenusConfig().getInt("list-menu-section.items." + itemId + ".amount"));
                             inventory.setItem(getPluginInstance().getMenusConfig().getInt("list-menu-section.items." + itemId + ".slot"), playerHeadItem);
                             if (fillEmptySlots) emptySlotFiller = playerHeadItem;
                         } else {
-                            List<String> newLore = new ArrayList<>(), lore = getPluginInstance().getMenusConfig().getStringList("list-menu-section.items." + itemId + ".lore");
-                            for (int j = -1; ++j < lore.size(); )
-                                newLore.add(colorText(lore.get(j).replace("{current-page}", String.valueOf(currentPage)).replace("{previous-page}", replacement)
-                                        .replace("{next-page}", replacement1).replace("{current-status}", currentStatus)));
                             Material material = Material.getMaterial(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("list-menu-section.items." + itemId + ".material"))
                                     .toUpperCase().replace(" ", "_").replace("-", "_"));
                             ItemStack itemStack = buildItem(material, getPluginInstance().getMenusConfig().getInt("list-menu-section.items." + itemId + ".durability"), displayName, newLore,
@@ -1061,7 +1045,7 @@ public class Manager {
                 }
 
                 for (int i = -1; ++i < inventory.getSize(); ) {
-                    if (emptySlotFiller != null && !warpSlots.contains(i)) {
+                    if (emptySlotFiller != null && !menuDefinition.isContentSlot(i)) {
                         ItemStack itemStack = inventory.getItem(i);
                         if (itemStack == null || itemStack.getType() == Material.AIR)
                             inventory.setItem(i, emptySlotFiller);
@@ -1080,10 +1064,9 @@ public class Manager {
             getPluginInstance().getManager().getPaging().getPlayerSelectedMap().remove(player.getUniqueId());
         }
 
-        Inventory inventory = getPluginInstance().getServer().createInventory(null, getPluginInstance().getMenusConfig().getInt("ps-menu-section.size"),
-                colorText(getPluginInstance().getMenusConfig().getString("ps-menu-section.title")));
+        final MenuDefinition menuDefinition = getMenuHandler().getMenu(EnumContainer.MenuType.PLAYER_SELECTION, null);
+        Inventory inventory = getMenuHandler().createInventory(menuDefinition, menuDefinition.getTitle(), null);
 
-        List<Integer> playerSlots = getPluginInstance().getMenusConfig().getIntegerList("ps-menu-section.player-slots");
         ItemStack emptySlotFiller = null;
 
         HashMap<Integer, List<UUID>> playerSelectionMap = getPaging().getPlayerSelectionPages(player);
@@ -1094,7 +1077,7 @@ public class Manager {
 
         List<UUID> selectedPlayers = getPaging().getSelectedPlayers(player);
         for (int i = -1; ++i < inventory.getSize(); ) {
-            if (playerSlots.contains(i) && pageOnePlayerList.size() >= 1) {
+            if (menuDefinition.isContentSlot(i) && pageOnePlayerList.size() >= 1) {
                 UUID playerUniqueId = pageOnePlayerList.get(0);
                 if (playerUniqueId == null) continue;
 
@@ -1150,7 +1133,7 @@ public class Manager {
         }
 
         for (int i = -1; ++i < inventory.getSize(); ) {
-            if (!playerSlots.contains(i) && emptySlotFiller != null) {
+            if (!menuDefinition.isContentSlot(i) && emptySlotFiller != null) {
                 ItemStack itemStack = inventory.getItem(i);
                 if (itemStack == null || itemStack.getType() == Material.AIR)
                     inventory.setItem(i, emptySlotFiller);
@@ -1161,8 +1144,8 @@ public class Manager {
     }
 
     public Inventory buildEditMenu(Player player, Warp warp) {
-        final Inventory inventory = getPluginInstance().getServer().createInventory(null, getPluginInstance().getMenusConfig().getInt("edit-menu-section.size"),
-                colorText(getPluginInstance().getMenusConfig().getString("edit-menu-section.title") + "&" + warp.getDisplayNameColor().getChar() + warp.getWarpName()));
+        final MenuDefinition menuDefinition = getMenuHandler().getMenu(EnumContainer.MenuType.EDIT, null);
+        final Inventory inventory = getMenuHandler().createInventory(menuDefinition, menuDefinition.getTitle() + warp.getDisplayNameColor() + warp.getWarpName(), warp.getWarpName());
 
         getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
             ItemStack emptySlotFiller = null;
@@ -1267,8 +1250,8 @@ public class Manager {
     }
 
     public Inventory buildLikeMenu(Warp warp) {
-        final Inventory inventory = getPluginInstance().getServer().createInventory(null, getPluginInstance().getMenusConfig().getInt("like-menu-section.size"),
-                colorText(getPluginInstance().getMenusConfig().getString("like-menu-section.title") + "&" + warp.getDisplayNameColor().getChar() + warp.getWarpName()));
+        final MenuDefinition menuDefinition = getMenuHandler().getMenu(EnumContainer.MenuType.LIKE, null);
+        final Inventory inventory = getMenuHandler().createInventory(menuDefinition, menuDefinition.getTitle() + warp.getDisplayNameColor() + warp.getWarpName(), warp.getWarpName());
 
         getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
             ItemStack emptySlotFiller = null;
@@ -1317,26 +1300,21 @@ public class Manager {
     }
 
     public Inventory buildCustomMenu(OfflinePlayer player, String menuId) {
-        final Inventory inventory = getPluginInstance().getServer().createInventory(null,
-                getPluginInstance().getMenusConfig().getInt("custom-menus-section." + menuId + ".size"),
-                colorText(getPluginInstance().getMenusConfig().getString("custom-menus-section." + menuId + ".title")));
+        final MenuDefinition menuDefinition = getMenuHandler().getMenu(EnumContainer.MenuType.CUSTOM, menuId);
+        final Inventory inventory = getMenuHandler().createInventory(menuDefinition, menuDefinition.getTitle(), null);
 
         getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
             if (player == null || !player.isOnline()) return;
 
-            List<Integer> warpSlots = getPluginInstance().getMenusConfig().getIntegerList("custom-menus-section." + menuId + ".warp-slots");
             String currentFilterStatus = getCurrentFilterStatus("custom-menus-section." + menuId, inventory);
             ItemStack emptySlotFiller = null;
 
-            HashMap<Integer, List<Warp>> warpPageMap = getPaging().getWarpPages(player, "custom-menus-section." + menuId,
-                    currentFilterStatus);
-            getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
-            List<Warp> pageOneWarpList = new ArrayList<>();
-            if (warpPageMap != null && !warpPageMap.isEmpty() && warpPageMap.containsKey(1))
-                pageOneWarpList = new ArrayList<>(warpPageMap.get(1));
+            getPaging().setWarpFilter(player, "custom-menus-section." + menuId, currentFilterStatus);
+            List<Warp> pageOneWarpList = getPaging().getWarpPage(player, 1);
+            getPluginInstance().getDatabaseHandler().getDetailsCache().loadAll(pageOneWarpList).join();
 
             for (int i = -1; ++i < inventory.getSize(); ) {
-                if (warpSlots.contains(i) && pageOneWarpList.size() >= 1) {
+                if (menuDefinition.isContentSlot(i) && pageOneWarpList.size() >= 1) {
                     Warp warp = pageOneWarpList.get(0);
                     ItemStack item = buildWarpIcon(player, warp);
                     if (item != null) inventory.setItem(i, item);
@@ -1388,7 +1366,7 @@ public class Manager {
             }
 
             for (int i = -1; ++i < inventory.getSize(); ) {
-                if (emptySlotFiller != null && !warpSlots.contains(i)) {
+                if (emptySlotFiller != null && !menuDefinition.isContentSlot(i)) {
                     ItemStack itemStack = inventory.getItem(i);
                     if (itemStack == null || itemStack.getType() == Material.AIR)
                         inventory.setItem(i, emptySlotFiller);
@@ -1458,18 +1436,11 @@ public class Manager {
     }
 
     public boolean hasMetWarpLimit(OfflinePlayer player) {
-        int warpCount = 0, warpLimit = getWarpLimit(player);
+        int warpLimit = getWarpLimit(player);
         if (warpLimit < 0)
             return false;
 
-        List<Warp> warpList = new ArrayList<>(getWarpMap().values());
-        for (int i = -1; ++i < warpList.size(); ) {
-            Warp warp = warpList.get(i);
-            if (warp.getOwner() != null && warp.getOwner().toString().equalsIgnoreCase(player.getUniqueId().toString()))
-                warpCount += 1;
-        }
-
-        return (warpCount >= warpLimit);
+        return (getWarpRegistry().getOwnedWarps(player.getUniqueId()).size() >= warpLimit);
     }
 
     public int getWarpLimit(OfflinePlayer player) {
@@ -1500,27 +1471,53 @@ public class Manager {
     }
 
     public boolean doesWarpExist(String warpName) {
-        return !getWarpMap().isEmpty() && getWarpMap().containsKey(warpName.toLowerCase());
+        return getWarpRegistry().contains(warpName);
     }
 
     public Warp getWarp(String warpName) {
-        if (!getWarpMap().isEmpty() && getWarpMap().containsKey(warpName.toLowerCase()))
-            return getWarpMap().get(warpName.toLowerCase());
-        return null;
+        return getWarpRegistry().get(warpName);
     }
 
     public List<String> getPermittedWarps(OfflinePlayer player) {
-        List<String> permittedWarpNames = new ArrayList<>(), warpNames = new ArrayList<>(getWarpMap().keySet());
-        for (int i = -1; ++i < warpNames.size(); ) {
-            String warpName = warpNames.get(i);
-            Warp warp = getWarp(warpName);
-            if (warp != null && (warp.getOwner().toString().equals(player.getUniqueId().toString())
-                    || warp.getAssistants().contains(player.getUniqueId())))
-                if (!permittedWarpNames.contains(warpName))
-                    permittedWarpNames.add(warpName);
+        List<String> permittedWarpNames = new ArrayList<>();
+        for (Warp warp : getManagedWarps(player.getUniqueId()))
+            permittedWarpNames.add(warp.getWarpName().toLowerCase());
+        return permittedWarpNames;
+    }
+
+    /**
+     * Gets the warps the player is an assistant of. Warps with released details are taken from the warp names the
+     * detail cache keeps per player, as their in-memory assistants may be outdated.
+     *
+     * @param playerUniqueId The player.
+     * @return The assisted warps.
+     */
+    public Set<Warp> getAssistedWarps(UUID playerUniqueId) {
+        final WarpDetailsCache detailsCache = getPluginInstance().getDatabaseHandler().getDetailsCache();
+        if (!detailsCache.isEnabled()) return getWarpRegistry().getAssistedWarps(playerUniqueId);
+
+        final Set<Warp> assistedWarps = new HashSet<>();
+        for (Warp warp : getWarpRegistry().getAssistedWarps(playerUniqueId))
+            if (warp.hasDetails()) assistedWarps.add(warp);
+
+        for (String warpName : detailsCache.getMemberWarps(playerUniqueId, true)) {
+            final Warp warp = getWarpRegistry().get(warpName);
+            if (warp != null && !warp.hasDetails()) assistedWarps.add(warp);
         }
 
-        return permittedWarpNames;
+        return assistedWarps;
+    }
+
+    /**
+     * Gets the warps the player owns or is an assistant of.
+     *
+     * @param playerUniqueId The player.
+     * @return The warps.
+     */
+    public Set<Warp> getManagedWarps(UUID playerUniqueId) {
+        final Set<Warp> managedWarps = new LinkedHashSet<>(getWarpRegistry().getOwnedWarps(playerUniqueId));
+        managedWarps.addAll(getAssistedWarps(playerUniqueId));
+        return managedWarps;
     }
 
     public boolean isBlockedWorld(World world) {
@@ -1613,12 +1610,27 @@ public class Manager {
         this.titleHandler = titleHandler;
     }
 
-    public HashMap<String, Warp> getWarpMap() {
-        return warpMap;
+    /**
+     * @return A read-only live view of the registered warps keyed by lower-case names (Use the registry to change or iterate them).
+     */
+    public Map<String, Warp> getWarpMap() {
+        return getWarpRegistry().asMap();
+    }
+
+    public Map<Warp, WarpIcon> getWarpIconMap() {
+        return warpIconMap;
+    }
+
+    private void setWarpIconMap(Map<Warp, WarpIcon> warpIconMap) {
+        this.warpIconMap = warpIconMap;
     }
 
-    private void setWarpMap(HashMap<String, Warp> warpMap) {
-        this.warpMap = warpMap;
+    public WarpRegistry getWarpRegistry() {
+        return warpRegistry;
+    }
+
+    private void setWarpRegistry(WarpRegistry warpRegistry) {
+        this.warpRegistry = warpRegistry;
     }
 
     public Paging getPaging() {
@@ -1645,6 +1657,30 @@ public class Manager {
         this.actionBarHandler = actionBarHandler;
     }
 
+    public TemplateHandler getTemplateHandler() {
+        return templateHandler;
+    }
+
+    private void setTemplateHandler(TemplateHandler templateHandler) {
+        this.templateHandler = templateHandler;
+    }
+
+    public MenuHandler getMenuHandler() {
+        return menuHandler;
+    }
+
+    private void setMenuHandler(MenuHandler menuHandler) {
+        this.menuHandler = menuHandler;
+    }
+
+    public ChunkTicketHandler getChunkTicketHandler() {
+        return chunkTicketHandler;
+    }
+
+    private void setChunkTicketHandler(ChunkTicketHandler chunkTicketHandler) {
+        this.chunkTicketHandler = chunkTicketHandler;
+    }
+
     private HashMap<UUID, List<UUID>> getGroupMap() {
         return groupMap;
     }
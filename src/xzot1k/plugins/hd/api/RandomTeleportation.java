@@ -4,19 +4,18 @@
 
 package xzot1k.plugins.hd.api;
 
-import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.World;
-import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import xzot1k.plugins.hd.HyperDrive;
 import xzot1k.plugins.hd.api.events.RandomTeleportEvent;
 import xzot1k.plugins.hd.api.objects.SerializableLocation;
+import xzot1k.plugins.hd.core.internals.LocationPoolHandler;
 import xzot1k.plugins.hd.core.objects.Destination;
+import xzot1k.plugins.hd.core.objects.Settings;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
@@ -24,30 +23,37 @@ import java.util.logging.Level;
 public class RandomTeleportation implements Runnable {
 
     private HyperDrive pluginInstance;
-    private List<String> forbiddenMaterialList, biomeBlackList;
-    private int attempts, maxAttempts, boundsRadius, smartLimit;
+    private int attempts, maxAttempts, boundsRadius;
     private boolean onlyUpdateDestination;
-    private String teleportSound;
+    private Sound teleportSound;
 
     private World baseLocationWorld;
     private Player player;
     private SerializableLocation baseLocation;
+    private float yaw, pitch;
+    private boolean nether;
+    private String worldName;
+    // only the last snapshot is kept, candidates are spread too far apart for older ones to be hit again.
+    private ChunkSnapshot lastSnapshot;
+    private long lastSnapshotKey;
 
     public RandomTeleportation(HyperDrive pluginInstance, Location baseLocation, Player player, boolean onlyUpdateDestination) {
         setPluginInstance(pluginInstance);
         setPlayer(player);
         setAttempts(0);
-        setSmartLimit(0);
         setOnlyUpdateDestination(onlyUpdateDestination);
-        setForbiddenMaterialList(getPluginInstance().getConfig().getStringList("random-teleport-section.forbidden-materials"));
-        setBiomeBlackList(getPluginInstance().getConfig().getStringList("random-teleport-section.biome-blacklist"));
-        setMaxAttempts(getPluginInstance().getConfig().getInt("random-teleport-section.max-tries"));
-        setTeleportSound(Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.teleport"))
-                .toUpperCase().replace(" ", "_").replace("-", "_"));
+        setMaxAttempts(getPluginInstance().getSettings().getRandomTeleportMaxTries());
+        setTeleportSound(getPluginInstance().getSettings().getTeleportSound());
         setAttempts(0);
         setBaseLocationWorld(baseLocation.getWorld());
         setBaseLocation(new SerializableLocation(baseLocation));
         setBoundsRadius(getPluginInstance().getManager().getBounds(baseLocation.getWorld()));
+
+        // read here on the main thread, the search itself runs on a worker thread.
+        setYaw(player.getLocation().getYaw());
+        setPitch(player.getLocation().getPitch());
+        setNether(baseLocation.getWorld() != null && baseLocation.getWorld().getEnvironment() == World.Environment.NETHER);
+        setWorldName(baseLocation.getWorld() != null ? baseLocation.getWorld().getName() : "");
     }
 
     @Override
@@ -59,133 +65,127 @@ public class RandomTeleportation implements Runnable {
         while ((getMaxAttempts() >= 0 && getAttempts() < getMaxAttempts())) {
             setAttempts(getAttempts() + 1);
 
-            int smartBounds = (getBoundsRadius() - getSmartLimit()),
-                    xAddition = getPluginInstance().getTeleportationHandler().getRandomInRange(-smartBounds, smartBounds),
-                    zAddition = getPluginInstance().getTeleportationHandler().getRandomInRange(-smartBounds, smartBounds),
-                    x = (int) (getBaseLocation().getX() + xAddition),
-                    z = (int) (getBaseLocation().getZ() + zAddition);
+            final LocationPoolHandler locationPoolHandler = getPluginInstance().getLocationPoolHandler();
+            final int[] candidate = locationPoolHandler.getRegionSampler().sample(getWorldName(), (int) getBaseLocation().getX(),
+                    (int) getBaseLocation().getZ(), getBoundsRadius());
+            final int x = candidate[0], z = candidate[1], ring = candidate[2];
 
-            if (x >= getBoundsRadius() || z >= getBoundsRadius() || getBaseLocation().distance(x, 0, z) < (getBoundsRadius() * 0.1))
+            if (x >= getBoundsRadius() || z >= getBoundsRadius() || locationPoolHandler.getRegionSampler().isUnsafe(getWorldName(), x, z)) {
+                locationPoolHandler.getRegionSampler().record(getWorldName(), ring, false);
                 continue;
-            if (getSmartLimit() < getBoundsRadius())
-                setSmartLimit((int) (getSmartLimit() + (getBoundsRadius() * 0.005)));
+            }
 
-            Chunk chunk;
+            final int highestY;
             try {
-                chunk = getPluginInstance().getManager().getChunk(getBaseLocationWorld(), x, z).get();
+                highestY = getSafeY(x, z);
+                if (highestY <= 0) {
+                    locationPoolHandler.recordResult(getWorldName(), x, z, ring, highestY);
+                    continue;
+                }
+
+                // hooks query other plugins, so they are checked on the main thread.
+                final Location candidateLocation = new Location(getBaseLocationWorld(), x, highestY, z);
+                if (!getPluginInstance().getServer().getScheduler().callSyncMethod(getPluginInstance(),
+                        () -> getPluginInstance().getHookChecker().isLocationHookSafe(getPlayer(), candidateLocation)).get()) {
+                    // claimed land and protected regions usually cover the whole chunk.
+                    locationPoolHandler.recordResult(getWorldName(), x, z, ring, LocationPoolHandler.UNSAFE_CHUNK);
+                    continue;
+                }
+
+                locationPoolHandler.recordResult(getWorldName(), x, z, ring, highestY);
             } catch (InterruptedException | ExecutionException e) {
                 e.printStackTrace();
                 getPluginInstance().log(Level.WARNING, "The random teleportation task was unable to obtain a chunk. Don't worry, I caught it before it caused further issues! Gonna try again...");
                 return;
             }
 
-            if (chunk == null) continue;
-            int highestY = getHighestY(getBaseLocationWorld(), x, z);
-            if (highestY <= 0) continue;
-
-            final Block foundBlock = getBaseLocationWorld().getBlockAt(x, highestY, z);
-
-            boolean isBlockedBiome = false;
-            if (!getBiomeBlackList().isEmpty()) for (String biomeName : getBiomeBlackList())
-                if (foundBlock.getBiome().name().contains(biomeName.toUpperCase().replace(" ", "_").replace("-", "_"))) {
-                    isBlockedBiome = true;
-                    break;
-                }
-
-            if (isBlockedBiome || !getPluginInstance().getHookChecker().isLocationHookSafe(getPlayer(), foundBlock.getLocation()) || isForbidden(foundBlock))
-                continue;
-
-            Block relativeUp = foundBlock.getRelative(BlockFace.UP);
-            if (!relativeUp.getType().name().contains("AIR") || !relativeUp.getRelative(BlockFace.UP).getType().name().contains("AIR"))
-                continue;
-
-            newLocation = new Location(getBaseLocationWorld(), x + 0.5, highestY + 2, z + 0.5, getPlayer().getLocation().getYaw(), getPlayer().getLocation().getPitch());
+            newLocation = new Location(getBaseLocationWorld(), x + 0.5, highestY + 2, z + 0.5, getYaw(), getPitch());
             foundLocation = true;
             break;
         }
 
         if (foundLocation) {
             final Location finalNewLocation = newLocation;
+            getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), () -> complete(finalNewLocation));
+        } else {
             getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), () -> {
+                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString(".random-teleport-fail"))
+                        .replace("{tries}", String.valueOf(getAttempts())), getPlayer());
+                getPluginInstance().getManager().clearCooldown(getPlayer(), "rtp");
                 getPluginInstance().getTeleportationHandler().getRandomTeleportingPlayers().remove(getPlayer().getUniqueId());
-                getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(getPlayer());
-
-                RandomTeleportEvent randomTeleportEvent = new RandomTeleportEvent(finalNewLocation, getPlayer());
-                getPluginInstance().getServer().getPluginManager().callEvent(randomTeleportEvent);
-                if (randomTeleportEvent.isCancelled()) return;
-
-                if (isOnlyUpdateDestination()) {
-                    getPluginInstance().getTeleportationHandler().updateDestination(player, new Destination(getPluginInstance(), finalNewLocation));
-                    return;
-                }
-
-                getPluginInstance().getTeleportationHandler().teleportPlayer(getPlayer(), finalNewLocation);
-                getPluginInstance().getManager().updateCooldown(getPlayer(), "rtp");
-
-                String animationLine = getPluginInstance().getConfig().getString("special-effects-section.random-teleport-animation");
-                if (animationLine != null && animationLine.contains(":")) {
-                    String[] animationArgs = animationLine.split(":");
-                    if (animationArgs.length >= 2) {
-                        EnumContainer.Animation animation = EnumContainer.Animation.valueOf(animationArgs[0].toUpperCase().replace(" ", "_").replace("-", "_"));
-                        getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(getPlayer(), animationArgs[1].toUpperCase().replace(" ", "_").replace("-", "_"), animation, 1);
-                    }
-                }
-
-                if (getTeleportSound() != null && !getTeleportSound().equalsIgnoreCase(""))
-                    Objects.requireNonNull(finalNewLocation.getWorld()).playSound(finalNewLocation, Sound.valueOf(getTeleportSound()), 1, 1);
-
-                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString(".random-teleported"))
-                        .replace("{tries}", String.valueOf(getAttempts())).replace("{x}", String.valueOf(finalNewLocation.getBlockX()))
-                        .replace("{y}", String.valueOf(finalNewLocation.getBlockY())).replace("{z}", String.valueOf(finalNewLocation.getBlockZ()))
-                        .replace("{world}", Objects.requireNonNull(finalNewLocation.getWorld()).getName()), getPlayer());
             });
-        } else {
-            getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), () -> getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString(".random-teleport-fail"))
-                    .replace("{tries}", String.valueOf(getAttempts())), getPlayer()));
-            getPluginInstance().getManager().clearCooldown(getPlayer(), "rtp");
-            getPluginInstance().getTeleportationHandler().getRandomTeleportingPlayers().remove(getPlayer().getUniqueId());
         }
     }
 
-    private int getHighestY(World world, double x, double z) {
-        if (world.getEnvironment() == World.Environment.NETHER) {
-            for (int i = 127; --i > 0; ) {
-                final Block block = world.getBlockAt((int) x, i, (int) z);
-                if (block.getType().name().contains("AIR")) continue;
+    // checks the column against a snapshot of its chunk, reusing the last snapshot when the candidate lands in the same chunk.
+    private int getSafeY(int x, int z) throws InterruptedException, ExecutionException {
+        final LocationPoolHandler locationPoolHandler = getPluginInstance().getLocationPoolHandler();
+        if (!locationPoolHandler.snapshotTypesExist()) {
+            getPluginInstance().getManager().getChunk(getBaseLocationWorld(), x, z).get();
+            return getPluginInstance().getServer().getScheduler().callSyncMethod(getPluginInstance(),
+                    () -> locationPoolHandler.getSafeY(getBaseLocationWorld(), x, z)).get();
+        }
 
-                final Block blockOneAbove = world.getBlockAt((int) x, (i + 1), (int) z);
-                if (!blockOneAbove.getType().name().contains("AIR")) continue;
+        final long chunkKey = ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+        ChunkSnapshot snapshot = (lastSnapshot != null && lastSnapshotKey == chunkKey) ? lastSnapshot : null;
+        if (snapshot == null) {
+            snapshot = locationPoolHandler.getSnapshot(getBaseLocationWorld(), x, z).get();
+            if (snapshot == null) return -1;
+            lastSnapshot = snapshot;
+            lastSnapshotKey = chunkKey;
+        }
 
-                final Block blockTwoAbove = world.getBlockAt((int) x, (i + 2), (int) z);
-                if (!blockTwoAbove.getType().name().contains("AIR")) continue;
+        return locationPoolHandler.getSafeY(snapshot, isNether(), x, z);
+    }
 
-                return i;
-            }
-            return -1;
+    /**
+     * Engages the random teleport to the found location. Must be called on the main thread.
+     *
+     * @param location The found location.
+     */
+    public void complete(Location location) {
+        getPluginInstance().getTeleportationHandler().getRandomTeleportingPlayers().remove(getPlayer().getUniqueId());
+        getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(getPlayer());
+
+        RandomTeleportEvent randomTeleportEvent = new RandomTeleportEvent(location, getPlayer());
+        getPluginInstance().getServer().getPluginManager().callEvent(randomTeleportEvent);
+        if (randomTeleportEvent.isCancelled()) return;
+
+        if (isOnlyUpdateDestination()) {
+            getPluginInstance().getTeleportationHandler().updateDestination(player, new Destination(getPluginInstance(), location));
+            return;
         }
 
-        return world.getHighestBlockYAt((int) x, (int) z);
-    }
+        getPluginInstance().getTeleportationHandler().teleportPlayer(getPlayer(), location);
+        getPluginInstance().getManager().updateCooldown(getPlayer(), "rtp");
 
-    private boolean isForbidden(Block foundBlock) {
-        for (String materialLine : getForbiddenMaterialList()) {
-            if (materialLine == null || materialLine.isEmpty()) continue;
+        final Settings.AnimationSetting animationSetting = getPluginInstance().getSettings().getRandomTeleportAnimation();
+        if (animationSetting != null)
+            getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(getPlayer(), animationSetting.getTheme(), animationSetting.getAnimation(), 1);
 
-            if (materialLine.contains(":")) {
-                String[] materialArgs = materialLine.split(":");
-                int durability = 0;
+        if (getTeleportSound() != null)
+            Objects.requireNonNull(location.getWorld()).playSound(location, getTeleportSound(), 1, 1);
 
-                if (!getPluginInstance().getManager().isNotNumeric(materialArgs[1]))
-                    durability = Integer.parseInt(materialArgs[1]);
+        getPluginInstance().getManager().sendCustomMessage(getPluginInstance().getManager().getTemplateHandler().getLangTemplate("random-teleported"),
+                getPluginInstance().getManager().getTemplateHandler().builder().set("{tries}", getAttempts()).set("{x}", location.getBlockX())
+                        .set("{y}", location.getBlockY()).set("{z}", location.getBlockZ())
+                        .set("{world}", Objects.requireNonNull(location.getWorld()).getName()), getPlayer());
+    }
 
-                if (foundBlock.getType().name().contains(materialArgs[0].toUpperCase().replace(" ", "_").replace("-", "_"))
-                        && (durability == -1 || foundBlock.getData() == durability))
-                    return true;
-            } else if (foundBlock.getType().name().contains(materialLine.toUpperCase().replace(" ", "_").replace("-", "_")))
-                return true;
-        }
+    /**
+     * Engages the random teleport right away with a location from the safe location pool. Must be called on the main thread.
+     *
+     * @return Whether a pooled location was used (The search still has to run otherwise).
+     */
+    public boolean completeFromPool() {
+        if (getPluginInstance().getLocationPoolHandler() == null) return false;
+
+        final Location pooledLocation = getPluginInstance().getLocationPoolHandler().poll(getBaseLocationWorld(), getPlayer());
+        if (pooledLocation == null) return false;
 
-        return false;
+        setAttempts(1);
+        complete(pooledLocation);
+        return true;
     }
 
     private HyperDrive getPluginInstance() {
@@ -196,22 +196,6 @@ public class RandomTeleportation implements Runnable {
         this.pluginInstance = pluginInstance;
     }
 
-    public List<String> getForbiddenMaterialList() {
-        return forbiddenMaterialList;
-    }
-
-    private void setForbiddenMaterialList(List<String> forbiddenMaterialList) {
-        this.forbiddenMaterialList = forbiddenMaterialList;
-    }
-
-    public List<String> getBiomeBlackList() {
-        return biomeBlackList;
-    }
-
-    private void setBiomeBlackList(List<String> biomeBlackList) {
-        this.biomeBlackList = biomeBlackList;
-    }
-
     public int getAttempts() {
         return attempts;
     }
@@ -228,11 +212,11 @@ public class RandomTeleportation implements Runnable {
         this.maxAttempts = maxAttempts;
     }
 
-    private String getTeleportSound() {
+    private Sound getTeleportSound() {
         return teleportSound;
     }
 
-    private void setTeleportSound(String teleportSound) {
+    private void setTeleportSound(Sound teleportSound) {
         this.teleportSound = teleportSound;
     }
 
@@ -252,13 +236,6 @@ public class RandomTeleportation implements Runnable {
         this.boundsRadius = boundsRadius;
     }
 
-    private int getSmartLimit() {
-        return smartLimit;
-    }
-
-    private void setSmartLimit(int smartLimit) {
-        this.smartLimit = smartLimit;
-    }
 
     public World getBaseLocationWorld() {
         return baseLocationWorld;
@@ -276,6 +253,38 @@ public class RandomTeleportation implements Runnable {
         this.player = player;
     }
 
+    private float getYaw() {
+        return yaw;
+    }
+
+    private void setYaw(float yaw) {
+        this.yaw = yaw;
+    }
+
+    private float getPitch() {
+        return pitch;
+    }
+
+    private void setPitch(float pitch) {
+        this.pitch = pitch;
+    }
+
+    private String getWorldName() {
+        return worldName;
+    }
+
+    private void setWorldName(String worldName) {
+        this.worldName = worldName;
+    }
+
+    private boolean isNether() {
+        return nether;
+    }
+
+    private void setNether(boolean nether) {
+        this.nether = nether;
+    }
+
     public boolean isOnlyUpdateDestination() {
         return onlyUpdateDestination;
     }
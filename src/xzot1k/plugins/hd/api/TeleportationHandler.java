@@ -19,11 +19,17 @@ import xzot1k.plugins.hd.api.events.WarpEvent;
 import xzot1k.plugins.hd.api.objects.SerializableLocation;
 import xzot1k.plugins.hd.api.objects.Warp;
 import xzot1k.plugins.hd.core.internals.Animation;
+import xzot1k.plugins.hd.core.internals.TemplateHandler;
 import xzot1k.plugins.hd.core.objects.Destination;
 import xzot1k.plugins.hd.core.objects.GroupTemp;
+import xzot1k.plugins.hd.core.objects.Settings;
 import xzot1k.plugins.hd.core.objects.TeleportTemp;
+import xzot1k.plugins.hd.core.objects.TemplateBuilder;
+import xzot1k.plugins.hd.core.objects.TimingWheel;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 public class TeleportationHandler implements Runnable {
     private HyperDrive pluginInstance;
@@ -34,254 +40,336 @@ public class TeleportationHandler implements Runnable {
     private HashMap<UUID, TeleportTemp> teleportTempMap;
     private HashMap<UUID, Destination> destinationMap;
     private List<UUID> randomTeleportingPlayers;
-    private String teleportSound, teleportTitle, teleportSubTitle, delayTitle, delaySubTitle, randomTeleportDelayTitle, randomTeleportSubDelayTitle;
+    private TimingWheel<Runnable> teleportWheel;
+    private List<CountdownListener> countdownListeners;
+    private ArrayDeque<QueuedTeleport> admissionQueue;
+    private long admittedTeleports, totalWaitTime, maxWaitTime;
+    private int maxQueueDepth;
 
     public TeleportationHandler(HyperDrive pluginInstance) {
         setPluginInstance(pluginInstance);
         setRandom(new Random());
-        this.teleportSound = Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.teleport")).toUpperCase().replace(" ", "_").replace("-", "_");
-        this.teleportTitle = getPluginInstance().getConfig().getString("teleportation-section.teleport-title");
-        this.teleportSubTitle = getPluginInstance().getConfig().getString("teleportation-section.teleport-sub-title");
-        this.delayTitle = getPluginInstance().getConfig().getString("teleportation-section.delay-title");
-        this.delaySubTitle = getPluginInstance().getConfig().getString("teleportation-section.delay-sub-title");
-        this.randomTeleportDelayTitle = getPluginInstance().getConfig().getString("random-teleport-section.delay-title");
-        this.randomTeleportSubDelayTitle = getPluginInstance().getConfig().getString("random-teleport-section.delay-sub-title");
         setPluginInstance(pluginInstance);
         setAnimation(new Animation(pluginInstance));
         setGroupTempMap(new HashMap<>());
         setTeleportTempMap(new HashMap<>());
         setDestinationMap(new HashMap<>());
         setRandomTeleportingPlayers(new ArrayList<>());
+        setTeleportWheel(new TimingWheel<>(256));
+        setCountdownListeners(new ArrayList<>());
+        setAdmissionQueue(new ArrayDeque<>());
+        subscribeCountdown(this::sendCountdown);
     }
 
     @Override
     public void run() {
-        List<UUID> playerUniqueIds = new ArrayList<>(getTeleportTempMap().keySet());
-        for (UUID playerUniqueId : playerUniqueIds) {
+        getTeleportWheel().advance(this::runTask);
+        runAdmissionQueue();
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            getPluginInstance().log(Level.WARNING, "A scheduled teleportation task failed to run.");
+        }
+    }
+
+    /**
+     * Runs queued teleports until the per-tick budget is used up, the rest wait for the next tick. At least one
+     * teleport runs every tick so the queue always drains.
+     */
+    private void runAdmissionQueue() {
+        if (getAdmissionQueue().isEmpty()) return;
+
+        final Settings settings = getPluginInstance().getSettings();
+        final int maxCount = settings.getTeleportBudgetCount();
+        final long maxTime = settings.getTeleportBudgetTime(), startTime = System.nanoTime();
+
+        int count = 0;
+        while (!getAdmissionQueue().isEmpty()) {
+            if (count > 0 && ((maxCount > 0 && count >= maxCount) || (maxTime > 0 && System.nanoTime() - startTime >= maxTime)))
+                break;
+
+            final QueuedTeleport queuedTeleport = getAdmissionQueue().poll();
+            final long waitTime = System.nanoTime() - queuedTeleport.getQueuedAt();
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            admittedTeleports++;
+            count++;
+
+            runTask(queuedTeleport.getTask());
+        }
+    }
+
+    private void admit(Runnable task) {
+        getAdmissionQueue().add(new QueuedTeleport(task, System.nanoTime()));
+        maxQueueDepth = Math.max(maxQueueDepth, getAdmissionQueue().size());
+    }
+
+    /**
+     * @return The amount of due teleports waiting for their tick's budget.
+     */
+    public int getQueueDepth() {
+        return getAdmissionQueue().size();
+    }
+
+    /**
+     * @return A readable summary of the teleport admission queue's current state.
+     */
+    public String getQueueMetricsSummary() {
+        return "(Queued: " + getQueueDepth() + ", Max Queued: " + maxQueueDepth + ", Admitted: " + admittedTeleports + ", Avg Wait: "
+                + (admittedTeleports > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitTime / admittedTeleports) : 0) + "ms, Max Wait: "
+                + TimeUnit.NANOSECONDS.toMillis(maxWaitTime) + "ms)";
+    }
+
+    private void sendCountdown(Player player, TeleportTemp teleportTemp, int secondsLeft) {
+        final TemplateHandler templateHandler = getPluginInstance().getManager().getTemplateHandler();
+        if (teleportTemp.getTeleportTypeId().equalsIgnoreCase("warp")) {
+            final Warp warp = (teleportTemp.getTeleportValue() != null) ? getPluginInstance().getManager().getWarp(teleportTemp.getTeleportValue()) : null;
+            if (warp == null) return;
+
+            final TemplateBuilder builder = templateHandler.builder().set("{warp}", warp.getWarpName()).set("{duration}", secondsLeft);
+            getPluginInstance().getManager().sendTitle(player, templateHandler.getConfigTemplate("teleportation-section.delay-title"),
+                    templateHandler.getConfigTemplate("teleportation-section.delay-sub-title"), builder, 0, 5, 0);
+            getPluginInstance().getManager().sendCustomMessage(templateHandler.getLangTemplate("teleportation-delay"), builder, player);
+
+            int delayDuration = getPluginInstance().getSettings().getWarpDelayDuration();
+            builder.set("{progress}", getPluginInstance().getManager().getProgressionBar(secondsLeft, delayDuration, 10))
+                    .set("{duration}", delayDuration).set("{duration-left}", secondsLeft);
+            getPluginInstance().getManager().sendActionBar(player, templateHandler.getConfigTemplate("teleportation-section.delay-bar-message"), builder);
+        } else if (teleportTemp.getTeleportTypeId().equalsIgnoreCase("rtp")) {
+            final TemplateBuilder builder = templateHandler.builder().set("{duration}", secondsLeft);
+            getPluginInstance().getManager().sendTitle(player, templateHandler.getConfigTemplate("random-teleport-section.delay-title"),
+                    templateHandler.getConfigTemplate("random-teleport-section.delay-sub-title"), builder, 0, 5, 0);
+            getPluginInstance().getManager().sendCustomMessage(templateHandler.getLangTemplate("random-teleport-delay"), builder, player);
+
+            int delayDuration = getPluginInstance().getSettings().getWarpDelayDuration();
+            builder.set("{progress}", getPluginInstance().getManager().getProgressionBar(secondsLeft, delayDuration, 10))
+                    .set("{duration}", delayDuration).set("{duration-left}", secondsLeft);
+            getPluginInstance().getManager().sendActionBar(player, templateHandler.getConfigTemplate("random-teleport-section.delay-bar-message"), builder);
+        }
+    }
+
+    private void scheduleCountdown(UUID playerUniqueId, TeleportTemp teleportTemp, int secondsLeft) {
+        final long delay = getTeleportWheel().getRemainingTicks(teleportTemp.getTeleportEntry()) - (secondsLeft * 20L);
+        teleportTemp.setCountdownEntry(getTeleportWheel().schedule(delay, () -> {
+            teleportTemp.setCountdownEntry(null);
+
             Player player = getPluginInstance().getServer().getPlayer(playerUniqueId);
-            if (player != null && player.isOnline()) {
-                final TeleportTemp teleportTemp = getTeleportTempMap().get(playerUniqueId);
-                if (teleportTemp != null) {
-                    Warp warp = null;
-                    if (teleportTemp.getTeleportValue() != null)
-                        warp = getPluginInstance().getManager().getWarp(teleportTemp.getTeleportValue());
-
-                    if (teleportTemp.getSeconds() > 0) {
-                        teleportTemp.setSeconds(teleportTemp.getSeconds() - 1);
-                        if (teleportTemp.getSeconds() <= 5 && teleportTemp.getSeconds() > 0) {
-                            if (warp != null && teleportTemp.getTeleportTypeId().equalsIgnoreCase("warp")) {
-                                if (delayTitle != null && delaySubTitle != null)
-                                    getPluginInstance().getManager().sendTitle(player, delayTitle.replace("{warp}", warp.getWarpName()).replace("{duration}", String.valueOf(teleportTemp.getSeconds())),
-                                            delaySubTitle.replace("{warp}", warp.getWarpName()).replace("{duration}", String.valueOf(teleportTemp.getSeconds())), 0, 5, 0);
-
-                                int delayDuration = getPluginInstance().getConfig().getInt("teleportation-section.warp-delay-duration");
-                                getPluginInstance().getManager().sendActionBar(player, Objects.requireNonNull(getPluginInstance().getConfig().getString("teleportation-section.delay-bar-message"))
-                                        .replace("{progress}", getPluginInstance().getManager().getProgressionBar(teleportTemp.getSeconds(), delayDuration, 10))
-                                        .replace("{duration}", String.valueOf(delayDuration)).replace("{duration-left}", String.valueOf(teleportTemp.getSeconds()))
-                                        .replace("{warp}", warp.getWarpName()));
-
-                                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("teleportation-delay"))
-                                        .replace("{warp}", warp.getWarpName()).replace("{duration}", String.valueOf(teleportTemp.getSeconds())), player);
-                            } else if (teleportTemp.getTeleportTypeId().equalsIgnoreCase("rtp")) {
-                                if (randomTeleportDelayTitle != null && randomTeleportSubDelayTitle != null)
-                                    getPluginInstance().getManager().sendTitle(player, randomTeleportDelayTitle.replace("{duration}", String.valueOf(teleportTemp.getSeconds())),
-                                            randomTeleportSubDelayTitle.replace("{duration}", String.valueOf(teleportTemp.getSeconds())), 0, 5, 0);
-
-                                int delayDuration = getPluginInstance().getConfig().getInt("teleportation-section.warp-delay-duration");
-                                getPluginInstance().getManager().sendActionBar(player,
-                                        Objects.requireNonNull(getPluginInstance().getConfig().getString("random-teleport-section.delay-bar-message"))
-                                                .replace("{progress}", getPluginInstance().getManager().getProgressionBar(teleportTemp.getSeconds(), delayDuration, 10))
-                                                .replace("{duration}", String.valueOf(delayDuration))
-                                                .replace("{duration-left}", String.valueOf(teleportTemp.getSeconds())));
-
-                                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("random-teleport-delay"))
-                                        .replace("{duration}", String.valueOf(teleportTemp.getSeconds())), player);
-                            }
+            if (player == null || !player.isOnline()) return;
+
+            teleportTemp.setSeconds(secondsLeft);
+            for (int i = -1; ++i < getCountdownListeners().size(); )
+                getCountdownListeners().get(i).onCountdown(player, teleportTemp, secondsLeft);
+
+            if (secondsLeft > 1 && getTeleportTempMap().get(playerUniqueId) == teleportTemp)
+                scheduleCountdown(playerUniqueId, teleportTemp, secondsLeft - 1);
+        }));
+    }
+
+    private void runTeleport(UUID playerUniqueId, TeleportTemp teleportTemp) {
+        // cancelled or replaced while waiting in the admission queue.
+        if (getTeleportTempMap().get(playerUniqueId) != teleportTemp) return;
+
+        // the warp's commands and assistants are used below, details released during the delay are loaded before going on.
+        final Warp detailsWarp = (teleportTemp.getTeleportTypeId().equalsIgnoreCase("warp") && teleportTemp.getTeleportValue() != null)
+                ? getPluginInstance().getManager().getWarp(teleportTemp.getTeleportValue()) : null;
+        if (detailsWarp != null && !detailsWarp.hasDetails()) {
+            getPluginInstance().getDatabaseHandler().getDetailsCache().loadAll(Collections.singletonList(detailsWarp)).thenAccept(loaded -> {
+                if (!getPluginInstance().isEnabled()) return;
+                getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), () -> {
+                    if (loaded) {
+                        runTeleport(playerUniqueId, teleportTemp);
+                        return;
+                    }
+
+                    // the warp is never used against empty details, the teleport is dropped instead.
+                    if (getTeleportTempMap().remove(playerUniqueId, teleportTemp)) {
+                        getTeleportWheel().cancel(teleportTemp.getCountdownEntry());
+                        releaseDestinationChunk(teleportTemp);
+                    }
+
+                    final Player player = getPluginInstance().getServer().getPlayer(playerUniqueId);
+                    if (player != null && player.isOnline())
+                        getPluginInstance().getManager().sendActionBar(player, getPluginInstance().getManager().getTemplateHandler()
+                                .getLangTemplate("teleport-fail-message"), getPluginInstance().getManager().getTemplateHandler().builder().set("{warp}", detailsWarp.getWarpName()));
+                });
+            });
+            return;
+        }
+
+        getTeleportWheel().cancel(teleportTemp.getCountdownEntry());
+        teleportTemp.setCountdownEntry(null);
+        teleportTemp.setSeconds(0);
+        getTeleportTempMap().remove(playerUniqueId, teleportTemp);
+
+        // the chunk stays loaded for the rest of this tick, long enough for the player to arrive and hold it.
+        releaseDestinationChunk(teleportTemp);
+
+        Player player = getPluginInstance().getServer().getPlayer(playerUniqueId);
+        if (player == null || !player.isOnline()) return;
+
+        Warp warp = null;
+        if (teleportTemp.getTeleportValue() != null)
+            warp = getPluginInstance().getManager().getWarp(teleportTemp.getTeleportValue());
+
+        switch (teleportTemp.getTeleportTypeId().toLowerCase()) {
+            case "warp":
+                if (teleportTemp.getTeleportValue() != null) {
+                    if (warp != null && warp.getWarpLocation() != null) {
+                        final Location warpLocation = warp.getWarpLocation().asBukkitLocation();
+                        WarpEvent warpEvent = new WarpEvent(warpLocation, player);
+                        getPluginInstance().getServer().getPluginManager().callEvent(warpEvent);
+                        if (warpEvent.isCancelled()) {
+                            getAnimation().stopActiveAnimation(player);
+                            return;
                         }
-                    } else {
-
-                        switch (teleportTemp.getTeleportTypeId().toLowerCase()) {
-                            case "warp":
-                                if (teleportTemp.getTeleportValue() != null) {
-                                    if (warp != null && warp.getWarpLocation() != null) {
-                                        final Location warpLocation = warp.getWarpLocation().asBukkitLocation();
-                                        WarpEvent warpEvent = new WarpEvent(warpLocation, player);
-                                        getPluginInstance().getServer().getPluginManager().callEvent(warpEvent);
-                                        if (warpEvent.isCancelled()) {
-                                            getAnimation().stopActiveAnimation(player);
-                                            getTeleportTempMap().remove(playerUniqueId);
-                                            return;
-                                        }
-
-                                        if (warp.getOwner() != null)
-                                            if (!warp.getOwner().toString().equalsIgnoreCase(player.getUniqueId().toString())
-                                                    && !warp.getAssistants().contains(player.getUniqueId()))
-                                                warp.setTraffic(warp.getTraffic() + 1);
-
-                                        boolean useMySQL = getPluginInstance().getConfig().getBoolean("mysql-connection.use-mysql");
-                                        if (useMySQL && getPluginInstance().getDatabaseConnection() != null) {
-                                            String serverIP = (getPluginInstance().getServer().getIp().equalsIgnoreCase("") || getPluginInstance().getServer().getIp().equalsIgnoreCase("0.0.0.0"))
-                                                    ? getPluginInstance().getConfig().getString("mysql-connection.default-ip") + ":" + getPluginInstance().getServer().getPort()
-                                                    : (getPluginInstance().getServer().getIp().replace("localhost", "127.0.0.1") + ":" + getPluginInstance().getServer().getPort());
-
-                                            if (!warp.getServerIPAddress().equalsIgnoreCase(serverIP)) {
-                                                String server = getPluginInstance().getBungeeListener().getServerName(warp.getServerIPAddress());
-                                                if (server != null) {
-                                                    for (String command : warp.getCommands()) {
-                                                        if (command.toUpperCase().endsWith(":PLAYER"))
-                                                            getPluginInstance().getServer().dispatchCommand(player, command.replaceAll("(?i):PLAYER", "")
-                                                                    .replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
-                                                        else if (command.toUpperCase().endsWith(":CONSOLE"))
-                                                            getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
-                                                                    command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "")
-                                                                            .replace("{player}", player.getName()));
-                                                        else
-                                                            getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
-                                                                    command.replace("{player}", player.getName()));
-                                                    }
-
-                                                    getTeleportTempMap().remove(playerUniqueId);
-                                                    getPluginInstance().getManager().teleportCrossServer(player, warp.getServerIPAddress(), server, warp.getWarpLocation());
-                                                    getPluginInstance().getManager().updateCooldown(player, "warp");
-                                                    return;
-                                                }
-                                            }
-
-                                            if (warpLocation == null || warpLocation.getWorld() == null) {
-                                                getPluginInstance().getManager().sendActionBar(player, Objects.requireNonNull(getPluginInstance().getLangConfig()
-                                                        .getString("teleport-fail-message")).replace("{warp}", warp.getWarpName()));
-                                                getTeleportTempMap().remove(playerUniqueId);
-                                                return;
-                                            }
-
-                                            for (String command : warp.getCommands()) {
-                                                if (command.toUpperCase().endsWith(":PLAYER"))
-                                                    getPluginInstance().getServer().dispatchCommand(player, command
-                                                            .replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
-                                                else if (command.toUpperCase().endsWith(":CONSOLE"))
-                                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
-                                                            command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
-                                                else
-                                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), command.replace("{player}", player.getName()));
-                                            }
-
-                                        } else {
-                                            for (String command : warp.getCommands()) {
-                                                if (command.toUpperCase().endsWith(":PLAYER"))
-                                                    getPluginInstance().getServer().dispatchCommand(player, command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
-                                                else if (command.toUpperCase().endsWith(":CONSOLE"))
-                                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
-                                                            command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
-                                                else
-                                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), command.replace("{player}", player.getName()));
-                                            }
-                                        }
-                                        getTeleportTempMap().remove(playerUniqueId);
-                                        teleportPlayer(player, warpLocation);
-                                        getPluginInstance().getManager().updateCooldown(player, "warp");
-
-                                        // Warp teleport animation
-                                        if (warp.getAnimationSet() != null && warp.getAnimationSet().contains(":")) {
-                                            String[] themeArgs = warp.getAnimationSet().split(":");
-                                            String teleportTheme = themeArgs[2];
-                                            if (teleportTheme.contains("/")) {
-                                                String[] teleportThemeArgs = teleportTheme.split("/");
-                                                getAnimation().stopActiveAnimation(player);
-                                                getPluginInstance().getTeleportationHandler().getAnimation()
-                                                        .playAnimation(player, teleportThemeArgs[1],
-                                                                EnumContainer.Animation.valueOf(teleportThemeArgs[0]
-                                                                        .toUpperCase().replace(" ", "_").replace("-", "_")),
-                                                                1);
-                                            }
-                                        }
-
-                                        if (!teleportSound.equalsIgnoreCase("") && warpLocation.getWorld() != null)
-                                            warpLocation.getWorld().playSound(warpLocation, Sound.valueOf(teleportSound), 1, 1);
-
-                                        if (teleportTitle != null && teleportSubTitle != null)
-                                            getPluginInstance().getManager().sendTitle(player,
-                                                    teleportTitle.replace("{warp}", warp.getWarpName()),
-                                                    teleportSubTitle.replace("{warp}", warp.getWarpName()), 0, 5, 0);
-
-                                        getPluginInstance().getManager().sendActionBar(player,
-                                                Objects.requireNonNull(getPluginInstance().getConfig()
-                                                        .getString("teleportation-section.teleport-bar-message"))
-                                                        .replace("{warp}", warp.getWarpName()));
-
-                                        getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig()
-                                                .getString(".teleportation-engaged")).replace("{warp}", warp.getWarpName()).replace("{duration}",
-                                                String.valueOf(teleportTemp.getSeconds())), player);
-                                    }
-                                }
-                                break;
-                            case "rtp":
-                                if (teleportTemp.getTeleportValue() != null) {
-                                    getTeleportTempMap().remove(playerUniqueId);
-                                    World world = getPluginInstance().getServer().getWorld(teleportTemp.getTeleportValue());
-                                    randomlyTeleportPlayer(player, (world == null || world.getName().equalsIgnoreCase("")) ? player.getWorld() : world);
-
-                                    String randomTeleportDelayAnimation = getPluginInstance().getConfig().getString("special-effects-section.random-teleport-delay-animation");
-                                    if (randomTeleportDelayAnimation != null && randomTeleportDelayAnimation.contains(":")) {
-                                        String[] themeArgs = randomTeleportDelayAnimation.split(":");
-                                        String teleportTheme = themeArgs[1];
-                                        if (teleportTheme.contains("/")) {
-                                            String[] teleportThemeArgs = teleportTheme.split("/");
-                                            getAnimation().stopActiveAnimation(player);
-                                            getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(player, teleportThemeArgs[0],
-                                                    EnumContainer.Animation.valueOf(teleportThemeArgs[0].toUpperCase().replace(" ", "_").replace("-", "_")), 1);
-                                        }
-                                    }
-                                }
-                                break;
-                            case "tp":
-                                if (teleportTemp.getTeleportValue() != null) {
-
-                                    SerializableLocation serializableLocation = getPluginInstance().getManager().getLocationFromString(teleportTemp.getTeleportValue());
-                                    if (serializableLocation == null) return;
-
-                                    final Location toLocation = serializableLocation.asBukkitLocation();
-                                    if (toLocation == null) return;
-
-                                    BasicTeleportationEvent basicTeleportationEvent = new BasicTeleportationEvent(toLocation, player);
-                                    getPluginInstance().getServer().getPluginManager().callEvent(basicTeleportationEvent);
-                                    if (basicTeleportationEvent.isCancelled()) {
-                                        getAnimation().stopActiveAnimation(player);
-                                        getTeleportTempMap().remove(playerUniqueId);
-                                        return;
+
+                        if (warp.getOwner() != null)
+                            if (!warp.getOwner().toString().equalsIgnoreCase(player.getUniqueId().toString())
+                                    && !warp.getAssistants().contains(player.getUniqueId()))
+                                warp.setTraffic(warp.getTraffic() + 1);
+
+                        if (getPluginInstance().getSettings().useMySQL() && getPluginInstance().getDatabaseHandler() != null) {
+                            String serverIP = (getPluginInstance().getServer().getIp().equalsIgnoreCase("") || getPluginInstance().getServer().getIp().equalsIgnoreCase("0.0.0.0"))
+                                    ? getPluginInstance().getSettings().getDefaultIP() + ":" + getPluginInstance().getServer().getPort()
+                                    : (getPluginInstance().getServer().getIp().replace("localhost", "127.0.0.1") + ":" + getPluginInstance().getServer().getPort());
+
+                            if (!warp.getServerIPAddress().equalsIgnoreCase(serverIP)) {
+                                String server = getPluginInstance().getBungeeListener().getServerName(warp.getServerIPAddress());
+                                if (server != null) {
+                                    for (String command : warp.getCommands()) {
+                                        if (command.toUpperCase().endsWith(":PLAYER"))
+                                            getPluginInstance().getServer().dispatchCommand(player, command.replaceAll("(?i):PLAYER", "")
+                                                    .replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
+                                        else if (command.toUpperCase().endsWith(":CONSOLE"))
+                                            getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
+                                                    command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "")
+                                                            .replace("{player}", player.getName()));
+                                        else
+                                            getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
+                                                    command.replace("{player}", player.getName()));
                                     }
 
-                                    getTeleportTempMap().remove(playerUniqueId);
-                                    teleportPlayer(player, toLocation);
+                                    getPluginInstance().getManager().teleportCrossServer(player, warp.getServerIPAddress(), server, warp.getWarpLocation());
                                     getPluginInstance().getManager().updateCooldown(player, "warp");
+                                    return;
+                                }
+                            }
 
-                                    String teleportSound = Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.standalone-teleport"))
-                                            .toUpperCase().replace(" ", "_").replace("-", "_"),
-                                            animationSet = getPluginInstance().getConfig().getString("special-effects-section.standalone-teleport-animation");
-                                    if (!teleportSound.equalsIgnoreCase(""))
-                                        player.getWorld().playSound(player.getLocation(), Sound.valueOf(teleportSound), 1, 1);
-                                    if (animationSet != null && !animationSet.equalsIgnoreCase("") && animationSet.contains(":")) {
-                                        String[] themeArgs = animationSet.split(":");
-                                        getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(player);
-                                        getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(player, themeArgs[1],
-                                                EnumContainer.Animation.valueOf(themeArgs[0].toUpperCase().replace(" ", "_")
-                                                        .replace("-", "_")), 1);
-                                    }
+                            if (warpLocation == null || warpLocation.getWorld() == null) {
+                                getPluginInstance().getManager().sendActionBar(player, getPluginInstance().getManager().getTemplateHandler()
+                                        .getLangTemplate("teleport-fail-message"), getPluginInstance().getManager().getTemplateHandler().builder().set("{warp}", warp.getWarpName()));
+                                return;
+                            }
 
-                                    if (!getPluginInstance().getTeleportationCommands().getSpawnLocation().getWorldName().equals(serializableLocation.getWorldName())
-                                            && !(getPluginInstance().getTeleportationCommands().getSpawnLocation().getX() != serializableLocation.getX()
-                                            || getPluginInstance().getTeleportationCommands().getSpawnLocation().getY() != serializableLocation.getY())
-                                            || getPluginInstance().getTeleportationCommands().getSpawnLocation().getZ() != serializableLocation.getZ())
-                                        getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig()
-                                                .getString(".basic-teleportation-engaged")).replace("{world}", Objects.requireNonNull(toLocation.getWorld()).getName())
-                                                .replace("{x}", String.valueOf(toLocation.getBlockX())).replace("{y}", String.valueOf(toLocation.getBlockY())).replace("{z}",
-                                                        String.valueOf(toLocation.getBlockZ())).replace("{duration}", String.valueOf(teleportTemp.getSeconds())), player);
-                                }
-                            default:
-                                break;
+                            for (String command : warp.getCommands()) {
+                                if (command.toUpperCase().endsWith(":PLAYER"))
+                                    getPluginInstance().getServer().dispatchCommand(player, command
+                                            .replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
+                                else if (command.toUpperCase().endsWith(":CONSOLE"))
+                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
+                                            command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
+                                else
+                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), command.replace("{player}", player.getName()));
+                            }
+
+                        } else {
+                            for (String command : warp.getCommands()) {
+                                if (command.toUpperCase().endsWith(":PLAYER"))
+                                    getPluginInstance().getServer().dispatchCommand(player, command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
+                                else if (command.toUpperCase().endsWith(":CONSOLE"))
+                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(),
+                                            command.replaceAll("(?i):PLAYER", "").replaceAll("(?i):CONSOLE", "").replace("{player}", player.getName()));
+                                else
+                                    getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), command.replace("{player}", player.getName()));
+                            }
+                        }
+                        teleportPlayer(player, warpLocation);
+                        getPluginInstance().getManager().updateCooldown(player, "warp");
+
+                        // Warp teleport animation
+                        if (warp.getAnimationSet() != null && warp.getAnimationSet().contains(":")) {
+                            String[] themeArgs = warp.getAnimationSet().split(":");
+                            String teleportTheme = themeArgs[2];
+                            if (teleportTheme.contains("/")) {
+                                String[] teleportThemeArgs = teleportTheme.split("/");
+                                getAnimation().stopActiveAnimation(player);
+                                getPluginInstance().getTeleportationHandler().getAnimation()
+                                        .playAnimation(player, teleportThemeArgs[1],
+                                                EnumContainer.Animation.valueOf(teleportThemeArgs[0]
+                                                        .toUpperCase().replace(" ", "_").replace("-", "_")),
+                                                1);
+                            }
                         }
+
+                        final Sound teleportSound = getPluginInstance().getSettings().getTeleportSound();
+                        if (teleportSound != null && warpLocation.getWorld() != null)
+                            warpLocation.getWorld().playSound(warpLocation, teleportSound, 1, 1);
+
+                        final TemplateHandler templateHandler = getPluginInstance().getManager().getTemplateHandler();
+                        final TemplateBuilder builder = templateHandler.builder().set("{warp}", warp.getWarpName()).set("{duration}", teleportTemp.getSeconds());
+                        getPluginInstance().getManager().sendTitle(player, templateHandler.getConfigTemplate("teleportation-section.teleport-title"),
+                                templateHandler.getConfigTemplate("teleportation-section.teleport-sub-title"), builder, 0, 5, 0);
+                        getPluginInstance().getManager().sendActionBar(player, templateHandler.getConfigTemplate("teleportation-section.teleport-bar-message"), builder);
+                        getPluginInstance().getManager().sendCustomMessage(templateHandler.getLangTemplate("teleportation-engaged"), builder, player);
+                    }
+                }
+                break;
+            case "rtp":
+                if (teleportTemp.getTeleportValue() != null) {
+                    World world = getPluginInstance().getServer().getWorld(teleportTemp.getTeleportValue());
+                    randomlyTeleportPlayer(player, (world == null || world.getName().equalsIgnoreCase("")) ? player.getWorld() : world);
+
+                    final Settings.AnimationSetting delayAnimation = getPluginInstance().getSettings().getRandomTeleportDelayAnimation();
+                    if (delayAnimation != null) {
+                        getAnimation().stopActiveAnimation(player);
+                        getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(player, delayAnimation.getTheme(), delayAnimation.getAnimation(), 1);
+                    }
+                }
+                break;
+            case "tp":
+                if (teleportTemp.getTeleportValue() != null) {
+
+                    SerializableLocation serializableLocation = getPluginInstance().getManager().getLocationFromString(teleportTemp.getTeleportValue());
+                    if (serializableLocation == null) return;
+
+                    final Location toLocation = serializableLocation.asBukkitLocation();
+                    if (toLocation == null) return;
+
+                    BasicTeleportationEvent basicTeleportationEvent = new BasicTeleportationEvent(toLocation, player);
+                    getPluginInstance().getServer().getPluginManager().callEvent(basicTeleportationEvent);
+                    if (basicTeleportationEvent.isCancelled()) {
+                        getAnimation().stopActiveAnimation(player);
+                        return;
+                    }
+
+                    teleportPlayer(player, toLocation);
+                    getPluginInstance().getManager().updateCooldown(player, "warp");
+
+                    final Sound teleportSound = getPluginInstance().getSettings().getStandaloneTeleportSound();
+                    final Settings.AnimationSetting animationSetting = getPluginInstance().getSettings().getStandaloneTeleportAnimation();
+                    if (teleportSound != null)
+                        player.getWorld().playSound(player.getLocation(), teleportSound, 1, 1);
+                    if (animationSetting != null) {
+                        getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(player);
+                        getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(player, animationSetting.getTheme(),
+                                animationSetting.getAnimation(), 1);
                     }
+
+                    if (!getPluginInstance().getTeleportationCommands().getSpawnLocation().getWorldName().equals(serializableLocation.getWorldName())
+                            && !(getPluginInstance().getTeleportationCommands().getSpawnLocation().getX() != serializableLocation.getX()
+                            || getPluginInstance().getTeleportationCommands().getSpawnLocation().getY() != serializableLocation.getY())
+                            || getPluginInstance().getTeleportationCommands().getSpawnLocation().getZ() != serializableLocation.getZ())
+                        getPluginInstance().getManager().sendCustomMessage(getPluginInstance().getManager().getTemplateHandler().getLangTemplate("basic-teleportation-engaged"),
+                                getPluginInstance().getManager().getTemplateHandler().builder().set("{world}", Objects.requireNonNull(toLocation.getWorld()).getName())
+                                        .set("{x}", toLocation.getBlockX()).set("{y}", toLocation.getBlockY()).set("{z}", toLocation.getBlockZ())
+                                        .set("{duration}", teleportTemp.getSeconds()), player);
                 }
-            } else getTeleportTempMap().remove(playerUniqueId);
+            default:
+                break;
         }
     }
 
@@ -297,9 +385,76 @@ public class TeleportationHandler implements Runnable {
     }
 
     // teleportation temp stuff
+    /**
+     * Schedules a teleport for the player, replacing any teleport already pending. The teleport fires after the
+     * exact number of ticks and the countdown listeners are called for each of the last five seconds.
+     *
+     * @param player         The player.
+     * @param teleportTypeId The teleport type (warp, rtp, or tp).
+     * @param teleportValue  The warp name, world name, or location string.
+     * @param seconds        The delay in seconds.
+     */
     public void updateTeleportTemp(Player player, String teleportTypeId, String teleportValue, int seconds) {
-        getTeleportTempMap().put(player.getUniqueId(),
-                new TeleportTemp(getPluginInstance(), teleportTypeId, teleportValue, seconds));
+        removeTeleportTemp(player);
+
+        final UUID playerUniqueId = player.getUniqueId();
+        final TeleportTemp teleportTemp = new TeleportTemp(getPluginInstance(), teleportTypeId, teleportValue, seconds);
+        teleportTemp.setTeleportEntry(getTeleportWheel().schedule(seconds * 20L, () -> admit(() -> runTeleport(playerUniqueId, teleportTemp))));
+        if (seconds > 0) scheduleCountdown(playerUniqueId, teleportTemp, Math.min(5, seconds));
+        getTeleportTempMap().put(playerUniqueId, teleportTemp);
+        if (seconds > 0) prefetchDestinationChunk(playerUniqueId, teleportTemp);
+
+        // marks the warp's details as used, or starts loading them, so they are usually in memory when the teleport fires.
+        if (teleportTypeId.equalsIgnoreCase("warp") && teleportValue != null) {
+            final Warp warp = getPluginInstance().getManager().getWarp(teleportValue);
+            if (warp != null && !getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(Collections.singletonList(warp)))
+                getPluginInstance().getDatabaseHandler().getDetailsCache().loadAll(Collections.singletonList(warp));
+        }
+    }
+
+    /**
+     * Loads the destination chunk in the background during the delay and holds it with a chunk ticket until the
+     * teleport fires or is cancelled, so the player lands in an already loaded chunk.
+     */
+    private void prefetchDestinationChunk(UUID playerUniqueId, TeleportTemp teleportTemp) {
+        final Location destination = getDestinationLocation(teleportTemp);
+        if (destination == null || destination.getWorld() == null) return;
+
+        getPluginInstance().getManager().getChunk(destination.getWorld(), destination.getBlockX(), destination.getBlockZ()).thenAccept(chunk -> {
+            final Runnable holdTask = () -> {
+                if (chunk == null || getTeleportTempMap().get(playerUniqueId) != teleportTemp || teleportTemp.getDestinationChunk() != null)
+                    return;
+                if (getPluginInstance().getManager().getChunkTicketHandler().acquire(chunk)) teleportTemp.setDestinationChunk(chunk);
+            };
+
+            if (getPluginInstance().getServer().isPrimaryThread()) holdTask.run();
+            else getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), holdTask);
+        }).exceptionally(throwable -> {
+            getPluginInstance().log(Level.WARNING, "Unable to prefetch a teleport destination chunk (" + throwable.getMessage() + ").");
+            return null;
+        });
+    }
+
+    private void releaseDestinationChunk(TeleportTemp teleportTemp) {
+        if (teleportTemp.getDestinationChunk() == null) return;
+
+        getPluginInstance().getManager().getChunkTicketHandler().release(teleportTemp.getDestinationChunk());
+        teleportTemp.setDestinationChunk(null);
+    }
+
+    private Location getDestinationLocation(TeleportTemp teleportTemp) {
+        if (teleportTemp.getTeleportValue() == null) return null;
+
+        switch (teleportTemp.getTeleportTypeId().toLowerCase()) {
+            case "warp":
+                final Warp warp = getPluginInstance().getManager().getWarp(teleportTemp.getTeleportValue());
+                return (warp != null && warp.getWarpLocation() != null) ? warp.getWarpLocation().asBukkitLocation() : null;
+            case "tp":
+                final SerializableLocation serializableLocation = getPluginInstance().getManager().getLocationFromString(teleportTemp.getTeleportValue());
+                return (serializableLocation != null) ? serializableLocation.asBukkitLocation() : null;
+            default:
+                return null;
+        }
     }
 
     public boolean isTeleporting(Player player) {
@@ -308,17 +463,45 @@ public class TeleportationHandler implements Runnable {
     }
 
     public int getRemainingTime(Player player) {
-        if (!getTeleportTempMap().isEmpty() && getTeleportTempMap().containsKey(player.getUniqueId())) {
-            TeleportTemp teleportTemp = getTeleportTempMap().get(player.getUniqueId());
-            if (teleportTemp != null)
-                return teleportTemp.getSeconds();
+        TeleportTemp teleportTemp = getTeleportTempMap().get(player.getUniqueId());
+        if (teleportTemp == null) return 0;
+        return (int) ((getTeleportWheel().getRemainingTicks(teleportTemp.getTeleportEntry()) + 19) / 20);
+    }
+
+    public void removeTeleportTemp(Player player) {
+        TeleportTemp teleportTemp = getTeleportTempMap().remove(player.getUniqueId());
+        if (teleportTemp == null) return;
+
+        getTeleportWheel().cancel(teleportTemp.getTeleportEntry());
+        getTeleportWheel().cancel(teleportTemp.getCountdownEntry());
+        releaseDestinationChunk(teleportTemp);
+    }
+
+    /**
+     * Cancels every pending teleport and releases the destination chunks they hold, used before the handler is replaced.
+     */
+    public void shutdown() {
+        for (TeleportTemp teleportTemp : getTeleportTempMap().values()) {
+            getTeleportWheel().cancel(teleportTemp.getTeleportEntry());
+            getTeleportWheel().cancel(teleportTemp.getCountdownEntry());
+            releaseDestinationChunk(teleportTemp);
         }
 
-        return 0;
+        getTeleportTempMap().clear();
+        getAdmissionQueue().clear();
     }
 
-    public void removeTeleportTemp(Player player) {
-        getTeleportTempMap().remove(player.getUniqueId());
+    /**
+     * Adds a listener called on the main thread for each second of the last five seconds of a teleport delay.
+     *
+     * @param countdownListener The listener.
+     */
+    public void subscribeCountdown(CountdownListener countdownListener) {
+        if (!getCountdownListeners().contains(countdownListener)) getCountdownListeners().add(countdownListener);
+    }
+
+    public void unsubscribeCountdown(CountdownListener countdownListener) {
+        getCountdownListeners().remove(countdownListener);
     }
 
     /**
@@ -336,8 +519,7 @@ public class TeleportationHandler implements Runnable {
     public void teleportPlayer(Player player, Location location) {
         player.setVelocity(new Vector(0, 0, 0));
 
-        boolean teleportVehicle = getPluginInstance().getConfig().getBoolean("teleportation-section.teleport-vehicles");
-        if (player.getVehicle() != null && teleportVehicle) {
+        if (player.getVehicle() != null && getPluginInstance().getSettings().isTeleportVehicles()) {
             Entity entity = player.getVehicle();
             if (getPluginInstance().getServerVersion().startsWith("v1_11") || getPluginInstance().getServerVersion().startsWith("v1_12")
                     || getPluginInstance().getServerVersion().startsWith("v1_13") || getPluginInstance().getServerVersion().startsWith("v1_14")
@@ -366,40 +548,31 @@ public class TeleportationHandler implements Runnable {
         getRandomTeleportingPlayers().add(player.getUniqueId());
 
         Location basedLocation = player.getWorld().getName().equalsIgnoreCase(world.getName()) ? player.getLocation() : world.getSpawnLocation();
-        for (String line : getPluginInstance().getConfig().getStringList("random-teleport-section.forced-location-list"))
-            if (line.contains(":")) {
-                String[] lineArgs = line.split(":");
-                if ((lineArgs.length >= 2 && world.getName().equalsIgnoreCase(lineArgs[0]) && lineArgs[1].contains(","))) {
-                    String[] coordinateArgs = lineArgs[1].split(",");
-                    if (!getPluginInstance().getManager().isNotNumeric(coordinateArgs[0]) && !getPluginInstance().getManager().isNotNumeric(coordinateArgs[1])
-                            && !getPluginInstance().getManager().isNotNumeric(coordinateArgs[2]))
-                        basedLocation = new Location(world, Double.parseDouble(coordinateArgs[0]), Double.parseDouble(coordinateArgs[1]),
-                                Double.parseDouble(coordinateArgs[2]), player.getLocation().getYaw(), player.getLocation().getPitch());
-                    break;
-                }
-            }
+        final double[] forcedLocation = getPluginInstance().getSettings().getForcedLocation(world.getName());
+        if (forcedLocation != null)
+            basedLocation = new Location(world, forcedLocation[0], forcedLocation[1], forcedLocation[2], player.getLocation().getYaw(), player.getLocation().getPitch());
 
-        getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), new RandomTeleportation(getPluginInstance(), basedLocation.clone(), player, false));
+        // a pooled location skips the search entirely, the search only runs when the world's pool is empty.
+        final RandomTeleportation randomTeleportation = new RandomTeleportation(getPluginInstance(), basedLocation.clone(), player, false);
+        if (!randomTeleportation.completeFromPool()) submitSearch(player, randomTeleportation);
     }
 
     public void updateDestinationWithRandomLocation(Player player, Location baseLocation, World world) {
         getRandomTeleportingPlayers().add(player.getUniqueId());
 
         Location basedLocation = baseLocation.clone();
-        for (String line : getPluginInstance().getConfig().getStringList("random-teleport-section.forced-location-list"))
-            if (line.contains(":")) {
-                String[] lineArgs = line.split(":");
-                if ((lineArgs.length >= 2 && world.getName().equalsIgnoreCase(lineArgs[0]) && lineArgs[1].contains(","))) {
-                    String[] coordinateArgs = lineArgs[1].split(",");
-                    if (!getPluginInstance().getManager().isNotNumeric(coordinateArgs[0]) && !getPluginInstance().getManager().isNotNumeric(coordinateArgs[1])
-                            && !getPluginInstance().getManager().isNotNumeric(coordinateArgs[2]))
-                        basedLocation = new Location(world, Double.parseDouble(coordinateArgs[0]), Double.parseDouble(coordinateArgs[1]),
-                                Double.parseDouble(coordinateArgs[2]), player.getLocation().getYaw(), player.getLocation().getPitch());
-                    break;
-                }
-            }
+        final double[] forcedLocation = getPluginInstance().getSettings().getForcedLocation(world.getName());
+        if (forcedLocation != null)
+            basedLocation = new Location(world, forcedLocation[0], forcedLocation[1], forcedLocation[2], player.getLocation().getYaw(), player.getLocation().getPitch());
+
+        submitSearch(player, new RandomTeleportation(getPluginInstance(), basedLocation.clone(), player, true));
+    }
 
-        getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), new RandomTeleportation(getPluginInstance(), basedLocation.clone(), player, true));
+    private void submitSearch(Player player, RandomTeleportation randomTeleportation) {
+        final int queuePosition = getPluginInstance().getRandomTeleportHandler().submit(randomTeleportation);
+        if (queuePosition > 0)
+            getPluginInstance().getManager().sendCustomMessage(getPluginInstance().getManager().getTemplateHandler().getLangTemplate("random-teleport-queued"),
+                    getPluginInstance().getManager().getTemplateHandler().builder().set("{position}", queuePosition), player);
     }
 
     // group stuff
@@ -514,6 +687,30 @@ public class TeleportationHandler implements Runnable {
         this.teleportTempMap = teleportTempMap;
     }
 
+    private TimingWheel<Runnable> getTeleportWheel() {
+        return teleportWheel;
+    }
+
+    private void setTeleportWheel(TimingWheel<Runnable> teleportWheel) {
+        this.teleportWheel = teleportWheel;
+    }
+
+    private List<CountdownListener> getCountdownListeners() {
+        return countdownListeners;
+    }
+
+    private void setCountdownListeners(List<CountdownListener> countdownListeners) {
+        this.countdownListeners = countdownListeners;
+    }
+
+    private ArrayDeque<QueuedTeleport> getAdmissionQueue() {
+        return admissionQueue;
+    }
+
+    private void setAdmissionQueue(ArrayDeque<QueuedTeleport> admissionQueue) {
+        this.admissionQueue = admissionQueue;
+    }
+
     public Animation getAnimation() {
         return animation;
     }
@@ -553,4 +750,29 @@ public class TeleportationHandler implements Runnable {
     private void setRandom(Random random) {
         this.random = random;
     }
+
+    /**
+     * Called for each second of the last five seconds of a teleport delay.
+     */
+    public interface CountdownListener {
+        void onCountdown(Player player, TeleportTemp teleportTemp, int secondsLeft);
+    }
+
+    private static class QueuedTeleport {
+        private final Runnable task;
+        private final long queuedAt;
+
+        private QueuedTeleport(Runnable task, long queuedAt) {
+            this.task = task;
+            this.queuedAt = queuedAt;
+        }
+
+        private Runnable getTask() {
+            return task;
+        }
+
+        private long getQueuedAt() {
+            return queuedAt;
+        }
+    }
 }
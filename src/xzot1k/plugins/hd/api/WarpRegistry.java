@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.api;
+
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WarpRegistry {
+
+    private final ConcurrentHashMap<String, Warp> warpMap;
+    private final Map<String, Warp> warpMapView;
+    private final AtomicLong version, modifications;
+    private volatile Snapshot snapshot;
+
+    // secondary indexes, written under the index lock and read without it.
+    private final ConcurrentHashMap<UUID, Set<Warp>> ownerIndex, assistantIndex;
+    private final HashMap<Warp, UUID> indexedOwners;
+    private final HashMap<Warp, List<UUID>> indexedAssistants;
+    private final Object indexLock;
+
+    public WarpRegistry() {
+        warpMap = new ConcurrentHashMap<>();
+        warpMapView = Collections.unmodifiableMap(warpMap);
+        version = new AtomicLong();
+        modifications = new AtomicLong();
+        snapshot = new Snapshot(0, Collections.emptyList(), Collections.emptyList());
+
+        ownerIndex = new ConcurrentHashMap<>();
+        assistantIndex = new ConcurrentHashMap<>();
+        indexedOwners = new HashMap<>();
+        indexedAssistants = new HashMap<>();
+        indexLock = new Object();
+    }
+
+    /**
+     * Registers the warp under its current name, replacing any warp with the same name.
+     *
+     * @param warp The warp.
+     * @return The replaced warp or null.
+     */
+    public Warp register(Warp warp) {
+        synchronized (indexLock) {
+            final Warp previousWarp = warpMap.put(warp.getWarpName().toLowerCase(), warp);
+            if (previousWarp != warp) {
+                if (previousWarp != null) removeIndex(previousWarp);
+                addIndex(warp, null);
+                version.incrementAndGet();
+            }
+            return previousWarp;
+        }
+    }
+
+    /**
+     * Registers every warp in the map, publishing them as a single version.
+     *
+     * @param warps The warps keyed by their lower-case names.
+     */
+    public void registerAll(Map<String, Warp> warps) {
+        if (warps.isEmpty()) return;
+
+        synchronized (indexLock) {
+            for (Map.Entry<String, Warp> entry : warps.entrySet()) {
+                final Warp previousWarp = warpMap.put(entry.getKey(), entry.getValue());
+                if (previousWarp == entry.getValue()) continue;
+                if (previousWarp != null) removeIndex(previousWarp);
+                addIndex(entry.getValue(), null);
+            }
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the warp registered under the name.
+     *
+     * @param warpName The name of the warp (Case-insensitive).
+     * @return The removed warp or null.
+     */
+    public Warp unRegister(String warpName) {
+        synchronized (indexLock) {
+            final Warp removedWarp = warpMap.remove(warpName.toLowerCase());
+            if (removedWarp != null) {
+                removeIndex(removedWarp);
+                version.incrementAndGet();
+            }
+            return removedWarp;
+        }
+    }
+
+    /**
+     * Removes the warp only if it is still the one registered under its name.
+     *
+     * @param warp The warp.
+     * @return Whether the warp was removed.
+     */
+    public boolean unRegister(Warp warp) {
+        synchronized (indexLock) {
+            final boolean removed = warpMap.remove(warp.getWarpName().toLowerCase(), warp);
+            if (removed) {
+                removeIndex(warp);
+                version.incrementAndGet();
+            }
+            return removed;
+        }
+    }
+
+    public void clear() {
+        synchronized (indexLock) {
+            warpMap.clear();
+            ownerIndex.clear();
+            assistantIndex.clear();
+            indexedOwners.clear();
+            indexedAssistants.clear();
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Re-indexes the owner and loaded assistants of a registered warp (Called by the warp's setters).
+     *
+     * @param warp The warp.
+     */
+    public void reindex(Warp warp) {
+        synchronized (indexLock) {
+            if (warpMap.get(warp.getWarpName().toLowerCase()) != warp) return;
+
+            // released warps keep the assistants they had when they were last indexed.
+            final List<UUID> previousAssistants = indexedAssistants.get(warp);
+            removeIndex(warp);
+            addIndex(warp, previousAssistants);
+        }
+    }
+
+    private void addIndex(Warp warp, List<UUID> releasedAssistants) {
+        if (warp.getOwner() != null) {
+            indexedOwners.put(warp, warp.getOwner());
+            ownerIndex.computeIfAbsent(warp.getOwner(), uuid -> ConcurrentHashMap.newKeySet()).add(warp);
+        }
+
+        final List<UUID> loadedAssistants = warp.getLoadedAssistants(), assistants = (loadedAssistants != null) ? loadedAssistants : releasedAssistants;
+        if (assistants == null) return;
+
+        final List<UUID> assistantList = new ArrayList<>(assistants);
+        indexedAssistants.put(warp, assistantList);
+        for (int i = -1; ++i < assistantList.size(); )
+            assistantIndex.computeIfAbsent(assistantList.get(i), uuid -> ConcurrentHashMap.newKeySet()).add(warp);
+    }
+
+    private void removeIndex(Warp warp) {
+        final UUID owner = indexedOwners.remove(warp);
+        if (owner != null) removeFromIndex(ownerIndex, owner, warp);
+
+        final List<UUID> assistants = indexedAssistants.remove(warp);
+        if (assistants == null) return;
+        for (int i = -1; ++i < assistants.size(); ) removeFromIndex(assistantIndex, assistants.get(i), warp);
+    }
+
+    private void removeFromIndex(ConcurrentHashMap<UUID, Set<Warp>> index, UUID playerUniqueId, Warp warp) {
+        index.computeIfPresent(playerUniqueId, (uuid, warps) -> {
+            warps.remove(warp);
+            return warps.isEmpty() ? null : warps;
+        });
+    }
+
+    /**
+     * @param playerUniqueId The owner.
+     * @return A read-only live view of the warps owned by the player.
+     */
+    public Set<Warp> getOwnedWarps(UUID playerUniqueId) {
+        final Set<Warp> warps = ownerIndex.get(playerUniqueId);
+        return (warps != null) ? Collections.unmodifiableSet(warps) : Collections.emptySet();
+    }
+
+    /**
+     * Gets the warps the player is an indexed assistant of. Only assistants of warps whose details were in memory at
+     * some point are indexed, see Manager#getAssistedWarps for a lookup that covers released warps.
+     *
+     * @param playerUniqueId The assistant.
+     * @return A read-only live view of the warps.
+     */
+    public Set<Warp> getAssistedWarps(UUID playerUniqueId) {
+        final Set<Warp> warps = assistantIndex.get(playerUniqueId);
+        return (warps != null) ? Collections.unmodifiableSet(warps) : Collections.emptySet();
+    }
+
+    public Warp get(String warpName) {
+        return warpMap.get(warpName.toLowerCase());
+    }
+
+    public boolean contains(String warpName) {
+        return warpMap.containsKey(warpName.toLowerCase());
+    }
+
+    public int size() {
+        return warpMap.size();
+    }
+
+    public boolean isEmpty() {
+        return warpMap.isEmpty();
+    }
+
+    /**
+     * Gets an immutable view of every registered warp. The view is rebuilt at most once per change and shared by
+     * every reader until the next change.
+     *
+     * @return The current snapshot.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot.getVersion() == version.get()) return currentSnapshot;
+
+        synchronized (this) {
+            // the version is read before copying, a write landing during the copy only causes another rebuild.
+            final long currentVersion = version.get();
+            currentSnapshot = snapshot;
+            if (currentSnapshot.getVersion() == currentVersion) return currentSnapshot;
+
+            final List<String> warpNames = new ArrayList<>(warpMap.size());
+            final List<Warp> warps = new ArrayList<>(warpMap.size());
+            for (Map.Entry<String, Warp> entry : warpMap.entrySet()) {
+                warpNames.add(entry.getKey());
+                warps.add(entry.getValue());
+            }
+
+            currentSnapshot = new Snapshot(currentVersion, Collections.unmodifiableList(warps), Collections.unmodifiableList(warpNames));
+            snapshot = currentSnapshot;
+            return currentSnapshot;
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Records a change to a warp's fields, invalidating views sorted or filtered by them (Called by the warp setters of those fields).
+     */
+    public void markModified() {
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * @return A number that changes whenever a warp is registered, removed or changed.
+     */
+    public long getViewVersion() {
+        return version.get() + modifications.get();
+    }
+
+    /**
+     * @return A read-only live view of the registry keyed by lower-case warp names.
+     */
+    public Map<String, Warp> asMap() {
+        return warpMapView;
+    }
+
+    public static class Snapshot {
+        private final long version;
+        private final List<Warp> warps;
+        private final List<String> warpNames;
+
+        private Snapshot(long version, List<Warp> warps, List<String> warpNames) {
+            this.version = version;
+            this.warps = warps;
+            this.warpNames = warpNames;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Warp> getWarps() {
+            return warps;
+        }
+
+        /**
+         * @return The lower-case warp names in the same order as the warps.
+         */
+        public List<String> getWarpNames() {
+            return warpNames;
+        }
+
+        public int size() {
+            return warps.size();
+        }
+    }
+}
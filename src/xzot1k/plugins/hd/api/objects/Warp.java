@@ -10,25 +10,25 @@ import org.bukkit.OfflinePlayer;
 import xzot1k.plugins.hd.HyperDrive;
 import xzot1k.plugins.hd.api.EnumContainer;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.*;
-import java.util.logging.Level;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Warp implements Comparable<Warp> {
     private HyperDrive pluginInstance;
     private SerializableLocation warpLocation;
-    private String warpName, creationDate, iconTheme, animationSet, serverIPAddress, description;
+    private String warpName, creationDate, iconTheme, animationSet, serverIPAddress;
     private EnumContainer.Status status;
     private ChatColor displayNameColor, descriptionColor;
     private UUID owner;
-    private List<UUID> playerList, assistants, voters;
-    private List<String> commands;
+    // the description, commands and member lists, released in lazy mode while the warp is not in use.
+    private volatile WarpDetails details;
     private int traffic, likes, dislikes;
     private double usagePrice;
     private boolean enchantedLook, whiteListMode;
+    private final AtomicLong changeVersion = new AtomicLong(), savedVersion = new AtomicLong(-1);
+    private volatile long revision;
+    // set while a loader thread fills the warp from a row, nothing outside the warp is touched until it is marked saved.
+    private boolean hydrating;
 
     public Warp(String warpName, OfflinePlayer player, Location location) {
         setPluginInstance(HyperDrive.getPluginInstance());
@@ -53,15 +53,11 @@ public class Warp implements Comparable<Warp> {
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
         setStatus(EnumContainer.Status.valueOf(Objects.requireNonNull(getPluginInstance().getConfig().getString("warp-icon-section.default-status"))
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
-        setDescription(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
+        details = new WarpDetails(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
         setUsagePrice(0);
         setTraffic(0);
         setLikes(0);
         setDislikes(0);
-        setVoters(new ArrayList<>());
-        setPlayerList(new ArrayList<>());
-        setCommands(new ArrayList<>());
-        setAssistants(new ArrayList<>());
         setWhiteListMode(true);
         setIconEnchantedLook(false);
     }
@@ -88,15 +84,11 @@ public class Warp implements Comparable<Warp> {
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
         setStatus(EnumContainer.Status.valueOf(Objects.requireNonNull(getPluginInstance().getConfig().getString("warp-icon-section.default-status"))
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
-        setDescription(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
+        details = new WarpDetails(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
         setUsagePrice(0);
         setTraffic(0);
         setLikes(0);
         setDislikes(0);
-        setVoters(new ArrayList<>());
-        setPlayerList(new ArrayList<>());
-        setCommands(new ArrayList<>());
-        setAssistants(new ArrayList<>());
         setWhiteListMode(true);
         setIconEnchantedLook(false);
     }
@@ -124,15 +116,11 @@ public class Warp implements Comparable<Warp> {
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
         setStatus(EnumContainer.Status.valueOf(Objects.requireNonNull(getPluginInstance().getConfig().getString("warp-icon-section.default-status"))
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
-        setDescription(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
+        details = new WarpDetails(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
         setUsagePrice(0);
         setTraffic(0);
         setLikes(0);
         setDislikes(0);
-        setVoters(new ArrayList<>());
-        setPlayerList(new ArrayList<>());
-        setCommands(new ArrayList<>());
-        setAssistants(new ArrayList<>());
         setWhiteListMode(true);
         setIconEnchantedLook(false);
     }
@@ -159,26 +147,48 @@ public class Warp implements Comparable<Warp> {
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
         setStatus(EnumContainer.Status.valueOf(Objects.requireNonNull(getPluginInstance().getConfig().getString("warp-icon-section.default-status"))
                 .toUpperCase().replace(" ", "_").replace("-", "_")));
-        setDescription(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
+        details = new WarpDetails(getPluginInstance().getConfig().getString("warp-icon-section.default-description"));
         setUsagePrice(0);
         setTraffic(0);
         setLikes(0);
         setDislikes(0);
-        setVoters(new ArrayList<>());
-        setPlayerList(new ArrayList<>());
-        setCommands(new ArrayList<>());
-        setAssistants(new ArrayList<>());
         setWhiteListMode(true);
         setIconEnchantedLook(false);
     }
 
+    /**
+     * Builds a warp for a database row from defaults read once per load (Safe to call from loader threads). Until
+     * {@link #markSaved()} is called after the row's values are applied, the setters leave change tracking and the
+     * registry alone.
+     *
+     * @param warpName             The name of the warp.
+     * @param owner                The owner's unique id or null.
+     * @param serializableLocation The location of the warp.
+     * @param defaults             The defaults for columns the row may not hold.
+     */
+    public Warp(String warpName, UUID owner, SerializableLocation serializableLocation, Defaults defaults) {
+        setPluginInstance(HyperDrive.getPluginInstance());
+        hydrating = true;
+        details = new WarpDetails(defaults.getDescription());
+        setWarpName(warpName);
+        setCreationDate("");
+        setOwner(owner);
+        setWarpLocation(serializableLocation);
+        setServerIPAddress(defaults.getServerIPAddress());
+        setIconTheme(defaults.getIconTheme());
+        setAnimationSet(defaults.getAnimationSet());
+        setDisplayNameColor(defaults.getDisplayNameColor());
+        setDescriptionColor(defaults.getDescriptionColor());
+        setStatus(defaults.getStatus());
+        setWhiteListMode(true);
+    }
+
     public void register() {
-        getPluginInstance().getManager().getWarpMap().put(getWarpName().toLowerCase(), this);
+        getPluginInstance().getManager().getWarpRegistry().register(this);
     }
 
     public void unRegister() {
-        if (!getPluginInstance().getManager().getWarpMap().isEmpty())
-            getPluginInstance().getManager().getWarpMap().remove(getWarpName().toLowerCase());
+        getPluginInstance().getManager().getWarpRegistry().unRegister(this);
     }
 
     public String getLikeBar() {
@@ -206,73 +216,149 @@ public class Warp implements Comparable<Warp> {
     }
 
     public void deleteSaved(boolean async) {
-        if (!async) delete(getWarpName());
-        else
-            getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> delete(getWarpName()));
+        getPluginInstance().getDatabaseHandler().getWriteQueue().queueDelete(getWarpName());
+        if (!async) getPluginInstance().getDatabaseHandler().getWriteQueue().flush(Long.MAX_VALUE);
     }
 
-    private void delete(String warpName) {
-        try {
-            PreparedStatement preparedStatement = getPluginInstance().getDatabaseConnection().prepareStatement("delete from warps where name = '" + warpName + "'");
-            preparedStatement.executeUpdate();
-            preparedStatement.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            getPluginInstance().log(Level.WARNING, "There was an issue deleting the warp " + getWarpName() + " from the database (" + e.getMessage() + ").");
-        }
+    public void save(boolean async) {
+        getPluginInstance().getDatabaseHandler().getWriteQueue().queueSave(this);
+        if (!async) getPluginInstance().getDatabaseHandler().getWriteQueue().flush(Long.MAX_VALUE);
     }
 
-    public void save(boolean async) {
-        if (async)
-            getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), (Runnable) this::save);
-        else save();
-    }
-
-    private void save() {
-        try {
-            setWarpName(getWarpName().replace("§", "").replaceAll("[.,?:;'\"\\\\|`~!@#$%^&*()+=/<>]", ""));
-
-            StringBuilder commands = new StringBuilder(), playerList = new StringBuilder(), assistants = new StringBuilder(), voters = new StringBuilder();
-            for (int j = -1; ++j < getCommands().size(); )
-                commands.append(getCommands().get(j)).append(",");
-            for (int j = -1; ++j < getPlayerList().size(); )
-                playerList.append(getPlayerList().get(j).toString()).append(",");
-            for (int j = -1; ++j < getAssistants().size(); )
-                assistants.append(getAssistants().get(j).toString()).append(",");
-            for (int j = -1; ++j < getVoters().size(); )
-                voters.append(getVoters().get(j).toString()).append(",");
-
-            final String locationString = (getWarpLocation().getWorldName() + "," + getWarpLocation().getX() + "," + getWarpLocation().getY() + "," + getWarpLocation().getZ() + ","
-                    + getWarpLocation().getYaw() + "," + getWarpLocation().getPitch()), owner = (getOwner() != null ? getOwner().toString() : "");
-
-            Statement statement = getPluginInstance().getDatabaseConnection().createStatement();
-            ResultSet rs = statement.executeQuery("select * from warps where name = '" + getWarpName() + "';");
-
-            final boolean warpExists = rs.next();
-            rs.close();
-            statement.close();
-
-            final String syntax = warpExists ? "update warps set location = '" + locationString + "', status = '" + getStatus().name() + "', "
-                    + "creation_date = '" + getCreationDate() + "', icon_theme = '" + getIconTheme() + "', animation_set = '" + getAnimationSet() + "', description_color = '" + getDescriptionColor().name() + "', "
-                    + "name_color = '" + getDisplayNameColor().name() + "', description = '" + getDescription() + "', commands = '" + commands.toString() + "', owner = '" + (getOwner() != null ? getOwner().toString() : "")
-                    + "', player_list = '" + playerList.toString() + "', " + "assistants = '" + assistants.toString() + "', traffic = " + getTraffic() + ", usage_price = " + getUsagePrice() + ", enchanted_look = " + (hasIconEnchantedLook() ? 1 : 0)
-                    + ", server_ip = '" + getServerIPAddress().replace("localhost", "127.0.0.1") + "', likes = " + getLikes() + ", dislikes = " + getDislikes() + ", voters = '" + voters.toString() + "', "
-                    + "white_list_mode = " + (isWhiteListMode() ? 1 : 0) + " where name = '" + getWarpName().replace("'", "") + "';"
-
-                    : "insert into warps(name, location, status, creation_date, icon_theme, animation_set, description_color, name_color, description, commands, owner, player_list, assistants, traffic, usage_price, "
-                    + "enchanted_look, server_ip, likes, dislikes, voters, white_list_mode) values ('" + getWarpName().replace("'", "") + "', '" + locationString + "', '" + getStatus().toString()
-                    + "', '" + getCreationDate() + "', '" + getIconTheme() + "', '" + getAnimationSet() + "', '" + getDescriptionColor().name() + "', '" + getDisplayNameColor().name()
-                    + "', '" + getDescription() + "', '" + commands.toString() + "', '" + (getOwner() != null ? getOwner().toString() : "") + "', '" + playerList.toString() + "', '" + assistants.toString()
-                    + "', " + getTraffic() + ", " + getUsagePrice() + ", " + (hasIconEnchantedLook() ? 1 : 0) + ", '" + getServerIPAddress().replace("localhost", "127.0.0.1")
-                    + "', " + getLikes() + ", " + getDislikes() + ", '" + voters.toString() + "', " + (isWhiteListMode() ? 1 : 0) + ");";
-
-            PreparedStatement preparedStatement = getPluginInstance().getDatabaseConnection().prepareStatement(syntax);
-            preparedStatement.execute();
-            preparedStatement.close();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            getPluginInstance().log(Level.WARNING, "There was an issue saving the warp '" + getWarpName() + "' to the database (" + e.getMessage() + ").");
-        }
+    /**
+     * Records a like or dislike vote, appending a single vote row instead of rewriting every voter.
+     *
+     * @param playerUniqueId The voter.
+     */
+    public void addVote(UUID playerUniqueId) {
+        if (getVoters().contains(playerUniqueId)) return;
+
+        getVoters().add(playerUniqueId);
+        if (getPluginInstance().getDatabaseHandler() != null)
+            getPluginInstance().getDatabaseHandler().getWriteQueue().queueVote(getWarpName(), playerUniqueId);
+    }
+
+    /**
+     * Adds an assistant, keeping the assistant index of the registry up to date.
+     *
+     * @param playerUniqueId The assistant.
+     * @return Whether the player was not already an assistant.
+     */
+    public boolean addAssistant(UUID playerUniqueId) {
+        if (getAssistants().contains(playerUniqueId)) return false;
+
+        getAssistants().add(playerUniqueId);
+        markViewChanged();
+        reindex();
+        return true;
+    }
+
+    /**
+     * Removes an assistant, keeping the assistant index of the registry up to date.
+     *
+     * @param playerUniqueId The assistant.
+     * @return Whether the player was an assistant.
+     */
+    public boolean removeAssistant(UUID playerUniqueId) {
+        if (!getAssistants().remove(playerUniqueId)) return false;
+
+        markViewChanged();
+        reindex();
+        return true;
+    }
+
+    private void reindex() {
+        if (!hydrating && getPluginInstance().getManager() != null) getPluginInstance().getManager().getWarpRegistry().reindex(this);
+    }
+
+    /**
+     * Flags the warp as changed so the next auto-save writes it to the database.
+     */
+    public void markChanged() {
+        if (!hydrating) changeVersion.incrementAndGet();
+    }
+
+    // only fields the list menus filter or sort by invalidate their cached views, traffic is left to the featured view's expiry.
+    private void markViewChanged() {
+        markChanged();
+        if (!hydrating && getPluginInstance().getManager() != null) getPluginInstance().getManager().getWarpRegistry().markModified();
+    }
+
+    /**
+     * Marks the warp as in sync with the database (Used after loading it).
+     */
+    public void markSaved() {
+        hydrating = false;
+        markSaved(getChangeVersion());
+    }
+
+    /**
+     * Marks the given change version as written to the database.
+     *
+     * @param version The change version captured before the write.
+     */
+    public void markSaved(long version) {
+        savedVersion.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Copies the fields of a warp freshly read from the database onto this warp and marks it as in sync (Main thread only).
+     * Nothing is copied if the warp changed since the given version was captured, the local change is saved over the row instead.
+     *
+     * @param source  The detached warp read from the database.
+     * @param version The change version captured before the row was read.
+     * @return Whether the fields were copied.
+     */
+    public boolean applyRemote(Warp source, long version) {
+        if (getChangeVersion() != version) return false;
+
+        warpLocation = source.warpLocation;
+        status = source.status;
+        creationDate = source.creationDate;
+        iconTheme = source.iconTheme;
+        animationSet = source.animationSet;
+        descriptionColor = source.descriptionColor;
+        displayNameColor = source.displayNameColor;
+        owner = source.owner;
+        traffic = source.traffic;
+        usagePrice = source.usagePrice;
+        enchantedLook = source.enchantedLook;
+        likes = source.likes;
+        dislikes = source.dislikes;
+        serverIPAddress = source.serverIPAddress;
+        whiteListMode = source.whiteListMode;
+        revision = source.revision;
+
+        // released details are left alone, they are read fresh from the row once the warp is used again.
+        if (details != null) details = source.details;
+
+        // the copy bypasses the setters, so the saved version stays at the captured one and the warp is clean.
+        markSaved(version);
+        if (getPluginInstance().getManager() != null) getPluginInstance().getManager().getWarpRegistry().markModified();
+        reindex();
+        return true;
+    }
+
+    /**
+     * @return Whether the warp has changed since it was last saved or loaded.
+     */
+    public boolean isDirty() {
+        return getChangeVersion() != savedVersion.get();
+    }
+
+    public long getChangeVersion() {
+        return changeVersion.get();
+    }
+
+    /**
+     * @return The database row revision this warp was last loaded or saved at.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
     }
 
     /**
@@ -284,11 +370,64 @@ public class Warp implements Comparable<Warp> {
         if (getPluginInstance().getManager().doesWarpExist(newName)) return;
 
         unRegister();
-        final String finalWarpName = getWarpName();
-        getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> delete(finalWarpName));
+        final String oldName = getWarpName();
         setWarpName(newName);
         register();
-        save(true);
+        getPluginInstance().getDatabaseHandler().getWriteQueue().queueRename(oldName, this);
+    }
+
+    /**
+     * Gets the heavy fields of the warp, loading them through the detail cache if they were released. The main thread
+     * never waits for them, it gets empty details while they load (See WarpDetailsCache#whenLoaded).
+     *
+     * @return The details of the warp.
+     */
+    public WarpDetails getDetails() {
+        final WarpDetails currentDetails = details;
+        if (getPluginInstance().getDatabaseHandler() == null) return currentDetails;
+
+        if (currentDetails != null) {
+            getPluginInstance().getDatabaseHandler().getDetailsCache().touch(this);
+            return currentDetails;
+        }
+
+        return getPluginInstance().getDatabaseHandler().getDetailsCache().load(this);
+    }
+
+    public void setDetails(WarpDetails details) {
+        this.details = details;
+        if (details != null) reindex();
+    }
+
+    public boolean hasDetails() {
+        return details != null;
+    }
+
+    /**
+     * @return The assistants without loading released details (Null if the details are released).
+     */
+    public List<UUID> getLoadedAssistants() {
+        final WarpDetails currentDetails = details;
+        return (currentDetails != null) ? currentDetails.getAssistants() : null;
+    }
+
+    /**
+     * @return The player list without loading released details (Null if the details are released).
+     */
+    public List<UUID> getLoadedPlayerList() {
+        final WarpDetails currentDetails = details;
+        return (currentDetails != null) ? currentDetails.getPlayerList() : null;
+    }
+
+    /**
+     * Drops the heavy fields so only the index fields stay in memory (Warps with unsaved changes keep them).
+     *
+     * @return Whether the details were released.
+     */
+    public boolean releaseDetails() {
+        if (isDirty()) return false;
+        details = null;
+        return true;
     }
 
     // getters & setters
@@ -298,10 +437,12 @@ public class Warp implements Comparable<Warp> {
 
     public void setWarpLocation(Location warpLocation) {
         this.warpLocation = new SerializableLocation(warpLocation);
+        markChanged();
     }
 
     public void setWarpLocation(SerializableLocation warpLocation) {
         this.warpLocation = warpLocation;
+        markChanged();
     }
 
     public String getWarpName() {
@@ -310,6 +451,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setWarpName(String warpName) {
         this.warpName = warpName;
+        markViewChanged();
     }
 
     private HyperDrive getPluginInstance() {
@@ -326,14 +468,16 @@ public class Warp implements Comparable<Warp> {
 
     public void setDisplayNameColor(ChatColor displayNameColor) {
         this.displayNameColor = displayNameColor;
+        markChanged();
     }
 
     public String getDescription() {
-        return description;
+        return getDetails().getDescription();
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        getDetails().setDescription(description);
+        markChanged();
     }
 
     public EnumContainer.Status getStatus() {
@@ -342,6 +486,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setStatus(EnumContainer.Status status) {
         this.status = status;
+        markViewChanged();
     }
 
     public UUID getOwner() {
@@ -350,6 +495,8 @@ public class Warp implements Comparable<Warp> {
 
     public void setOwner(UUID owner) {
         this.owner = owner;
+        markViewChanged();
+        reindex();
     }
 
     public double getUsagePrice() {
@@ -358,6 +505,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setUsagePrice(double usagePrice) {
         this.usagePrice = usagePrice;
+        markChanged();
     }
 
     public boolean hasIconEnchantedLook() {
@@ -366,22 +514,26 @@ public class Warp implements Comparable<Warp> {
 
     public void setIconEnchantedLook(boolean enchantedLook) {
         this.enchantedLook = enchantedLook;
+        markChanged();
     }
 
     public List<String> getCommands() {
-        return commands;
+        return getDetails().getCommands();
     }
 
     public void setCommands(List<String> commands) {
-        this.commands = commands;
+        getDetails().setCommands(commands);
+        markChanged();
     }
 
     public List<UUID> getAssistants() {
-        return assistants;
+        return getDetails().getAssistants();
     }
 
     public void setAssistants(List<UUID> assistants) {
-        this.assistants = assistants;
+        getDetails().setAssistants(assistants);
+        markViewChanged();
+        reindex();
     }
 
     public String getCreationDate() {
@@ -390,6 +542,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setCreationDate(String creationDate) {
         this.creationDate = creationDate;
+        markChanged();
     }
 
     public String getIconTheme() {
@@ -398,6 +551,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setIconTheme(String iconTheme) {
         this.iconTheme = iconTheme;
+        markChanged();
     }
 
     public String getAnimationSet() {
@@ -406,6 +560,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setAnimationSet(String animationSet) {
         this.animationSet = animationSet;
+        markChanged();
     }
 
     public String getServerIPAddress() {
@@ -422,6 +577,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setServerIPAddress(String serverIPAddress) {
         this.serverIPAddress = serverIPAddress;
+        markChanged();
     }
 
     public ChatColor getDescriptionColor() {
@@ -430,6 +586,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setDescriptionColor(ChatColor descriptionColor) {
         this.descriptionColor = descriptionColor;
+        markChanged();
     }
 
     public int getTraffic() {
@@ -438,6 +595,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setTraffic(int traffic) {
         this.traffic = traffic;
+        markChanged();
     }
 
     public int getLikes() {
@@ -446,6 +604,7 @@ public class Warp implements Comparable<Warp> {
 
     public void setLikes(int likes) {
         this.likes = likes;
+        markViewChanged();
     }
 
     public int getDislikes() {
@@ -454,22 +613,25 @@ public class Warp implements Comparable<Warp> {
 
     public void setDislikes(int dislikes) {
         this.dislikes = dislikes;
+        markViewChanged();
     }
 
     public List<UUID> getVoters() {
-        return voters;
+        return getDetails().getVoters();
     }
 
     public void setVoters(List<UUID> voters) {
-        this.voters = voters;
+        getDetails().setVoters(voters);
+        markChanged();
     }
 
     public List<UUID> getPlayerList() {
-        return playerList;
+        return getDetails().getPlayerList();
     }
 
     public void setPlayerList(List<UUID> playerList) {
-        this.playerList = playerList;
+        getDetails().setPlayerList(playerList);
+        markChanged();
     }
 
     public boolean isWhiteListMode() {
@@ -478,10 +640,69 @@ public class Warp implements Comparable<Warp> {
 
     public void setWhiteListMode(boolean whiteListMode) {
         this.whiteListMode = whiteListMode;
+        markChanged();
     }
 
     @Override
     public int compareTo(Warp warp) {
         return warp.getWarpName().compareToIgnoreCase(getWarpName());
     }
+
+    /**
+     * The configured defaults for new warps, read once so loading many rows does not go through the configuration per row.
+     */
+    public static class Defaults {
+        private final String description, iconTheme, animationSet, serverIPAddress;
+        private final ChatColor displayNameColor, descriptionColor;
+        private final EnumContainer.Status status;
+
+        public Defaults(HyperDrive pluginInstance) {
+            description = pluginInstance.getConfig().getString("warp-icon-section.default-description");
+            String defaultMaterial = pluginInstance.getConfig().getString("warp-icon-section.default-icon-material");
+            iconTheme = (defaultMaterial != null ? defaultMaterial : "");
+            List<String> animationSetList = pluginInstance.getConfig().getStringList("special-effects-section.warp-animation-list");
+            animationSet = (animationSetList.size() > 0 ? animationSetList.get(0) : "");
+
+            if (!pluginInstance.getServer().getIp().equalsIgnoreCase(""))
+                serverIPAddress = (pluginInstance.getServer().getIp().contains("localhost") ? "127.0.0.1" : pluginInstance.getServer().getIp())
+                        + ":" + pluginInstance.getServer().getPort();
+            else
+                serverIPAddress = pluginInstance.getConfig().getString("mysql-connection.default-ip") + ":" + pluginInstance.getServer().getPort();
+
+            displayNameColor = ChatColor.valueOf(Objects.requireNonNull(pluginInstance.getConfig().getString("warp-icon-section.default-name-color"))
+                    .toUpperCase().replace(" ", "_").replace("-", "_"));
+            descriptionColor = ChatColor.valueOf(Objects.requireNonNull(pluginInstance.getConfig().getString("warp-icon-section.default-description-color"))
+                    .toUpperCase().replace(" ", "_").replace("-", "_"));
+            status = EnumContainer.Status.valueOf(Objects.requireNonNull(pluginInstance.getConfig().getString("warp-icon-section.default-status"))
+                    .toUpperCase().replace(" ", "_").replace("-", "_"));
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getIconTheme() {
+            return iconTheme;
+        }
+
+        public String getAnimationSet() {
+            return animationSet;
+        }
+
+        public String getServerIPAddress() {
+            return serverIPAddress;
+        }
+
+        public ChatColor getDisplayNameColor() {
+            return displayNameColor;
+        }
+
+        public ChatColor getDescriptionColor() {
+            return descriptionColor;
+        }
+
+        public EnumContainer.Status getStatus() {
+            return status;
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.api.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class WarpDetails {
+    private String description;
+    private List<String> commands;
+    private List<UUID> playerList, assistants, voters;
+
+    public WarpDetails(String description) {
+        setDescription(description);
+        setCommands(new ArrayList<>());
+        setPlayerList(new ArrayList<>());
+        setAssistants(new ArrayList<>());
+        setVoters(new ArrayList<>());
+    }
+
+    // getters & setters
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    public void setCommands(List<String> commands) {
+        this.commands = commands;
+    }
+
+    public List<UUID> getPlayerList() {
+        return playerList;
+    }
+
+    public void setPlayerList(List<UUID> playerList) {
+        this.playerList = playerList;
+    }
+
+    public List<UUID> getAssistants() {
+        return assistants;
+    }
+
+    public void setAssistants(List<UUID> assistants) {
+        this.assistants = assistants;
+    }
+
+    public List<UUID> getVoters() {
+        return voters;
+    }
+
+    public void setVoters(List<UUID> voters) {
+        this.voters = voters;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import xzot1k.plugins.hd.HyperDrive;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.logging.Level;
+
+/**
+ * Keeps chunks loaded with plugin chunk tickets. Bukkit only holds one ticket per plugin and chunk, so the tickets are
+ * counted here and the real ticket is removed once the last holder releases it. Main thread only.
+ */
+public class ChunkTicketHandler {
+    private HyperDrive pluginInstance;
+    private HashMap<String, Integer> ticketCountMap;
+    private boolean ticketMethodExists;
+
+    public ChunkTicketHandler(HyperDrive pluginInstance) {
+        setPluginInstance(pluginInstance);
+        setTicketCountMap(new HashMap<>());
+
+        setTicketMethodExists(false);
+        for (Method method : World.class.getMethods())
+            if (method.getName().equals("addPluginChunkTicket")) {
+                setTicketMethodExists(true);
+                break;
+            }
+    }
+
+    /**
+     * Adds a hold on the chunk, keeping it loaded until it is released (Does nothing on versions without chunk tickets).
+     *
+     * @param chunk The chunk.
+     * @return Whether a hold was added and must be released.
+     */
+    public boolean acquire(Chunk chunk) {
+        if (!ticketMethodExists() || chunk == null) return false;
+
+        final String key = getKey(chunk);
+        final Integer count = getTicketCountMap().get(key);
+        if (count == null) {
+            try {
+                chunk.addPluginChunkTicket(getPluginInstance());
+            } catch (Exception e) {
+                getPluginInstance().log(Level.WARNING, "Unable to add a chunk ticket (" + e.getMessage() + ").");
+                return false;
+            }
+        }
+
+        getTicketCountMap().put(key, (count == null) ? 1 : count + 1);
+        return true;
+    }
+
+    /**
+     * Releases a hold added by acquire.
+     *
+     * @param chunk The chunk.
+     */
+    public void release(Chunk chunk) {
+        if (chunk == null) return;
+
+        final String key = getKey(chunk);
+        final Integer count = getTicketCountMap().get(key);
+        if (count == null) return;
+
+        if (count > 1) {
+            getTicketCountMap().put(key, count - 1);
+            return;
+        }
+
+        getTicketCountMap().remove(key);
+        try {
+            chunk.removePluginChunkTicket(getPluginInstance());
+        } catch (Exception e) {
+            getPluginInstance().log(Level.WARNING, "Unable to remove a chunk ticket (" + e.getMessage() + ").");
+        }
+    }
+
+    private String getKey(Chunk chunk) {
+        return chunk.getWorld().getName() + ":" + chunk.getX() + ":" + chunk.getZ();
+    }
+
+    /**
+     * @return The amount of chunks currently held.
+     */
+    public int getTicketCount() {
+        return getTicketCountMap().size();
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private HashMap<String, Integer> getTicketCountMap() {
+        return ticketCountMap;
+    }
+
+    private void setTicketCountMap(HashMap<String, Integer> ticketCountMap) {
+        this.ticketCountMap = ticketCountMap;
+    }
+
+    public boolean ticketMethodExists() {
+        return ticketMethodExists;
+    }
+
+    private void setTicketMethodExists(boolean ticketMethodExists) {
+        this.ticketMethodExists = ticketMethodExists;
+    }
+}
@@ -22,6 +22,7 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.*;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 import xzot1k.plugins.hd.HyperDrive;
@@ -32,9 +33,10 @@ import xzot1k.plugins.hd.api.objects.Warp;
 import xzot1k.plugins.hd.core.objects.Destination;
 import xzot1k.plugins.hd.core.objects.GroupTemp;
 import xzot1k.plugins.hd.core.objects.InteractionModule;
+import xzot1k.plugins.hd.core.objects.MenuDefinition;
+import xzot1k.plugins.hd.core.objects.MenuHolder;
+import xzot1k.plugins.hd.core.objects.Settings;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 
 public class Listeners implements Listener {
@@ -46,40 +48,31 @@ public class Listeners implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onClick(InventoryClickEvent e) {
-        if (e.getWhoClicked() instanceof Player) {
-            Player player = (Player) e.getWhoClicked();
-            if (player.isSleeping()) return;
+        final InventoryHolder inventoryHolder = e.getInventory().getHolder();
+        if (!(inventoryHolder instanceof MenuHolder) || !(e.getWhoClicked() instanceof Player)) return;
 
-            String inventoryName;
+        Player player = (Player) e.getWhoClicked();
+        if (player.isSleeping()) return;
 
-            try {
-                if (getPluginInstance().getServerVersion().startsWith("v1_14") || getPluginInstance().getServerVersion().startsWith("v1_15"))
-                    inventoryName = e.getView().getTitle();
-                else {
-                    Method method = e.getInventory().getClass().getMethod("getName");
-                    inventoryName = (String) method.invoke(e.getInventory());
-                }
-            } catch (NoSuchMethodException | IllegalStateException | IllegalAccessException | InvocationTargetException ex) {
-                return;
-            }
-
-            if (ChatColor.stripColor(inventoryName).equalsIgnoreCase(ChatColor.stripColor(getPluginInstance()
-                    .getManager().colorText(getPluginInstance().getMenusConfig().getString("list-menu-section.title")))))
-                runListMenuClick(player, e);
-            else if (ChatColor.stripColor(inventoryName).contains(ChatColor.stripColor(getPluginInstance().getManager()
-                    .colorText(getPluginInstance().getMenusConfig().getString("edit-menu-section.title")))))
-                runEditMenuClick(player, inventoryName, e);
-            else if (ChatColor.stripColor(inventoryName).contains(ChatColor.stripColor(getPluginInstance().getManager()
-                    .colorText(getPluginInstance().getMenusConfig().getString("like-menu-section.title")))))
-                runLikeMenuClick(player, inventoryName, e);
-            else if (ChatColor.stripColor(inventoryName).equalsIgnoreCase(ChatColor.stripColor(getPluginInstance()
-                    .getManager().colorText(getPluginInstance().getMenusConfig().getString("ps-menu-section.title")))))
-                runPlayerSelectionClick(player, e);
-            else {
-                String menuId = getPluginInstance().getManager().getMenuId(inventoryName);
-                if (menuId != null)
-                    runCustomMenuClick(player, menuId, e);
-            }
+        final MenuHolder menuHolder = (MenuHolder) inventoryHolder;
+        switch (menuHolder.getMenuDefinition().getMenuType()) {
+            case LIST:
+                runListMenuClick(player, menuHolder.getMenuDefinition(), e);
+                break;
+            case EDIT:
+                runEditMenuClick(player, menuHolder, e);
+                break;
+            case LIKE:
+                runLikeMenuClick(player, menuHolder, e);
+                break;
+            case PLAYER_SELECTION:
+                runPlayerSelectionClick(player, menuHolder.getMenuDefinition(), e);
+                break;
+            case CUSTOM:
+                runCustomMenuClick(player, menuHolder.getMenuDefinition(), e);
+                break;
+            default:
+                break;
         }
     }
 
@@ -415,7 +408,7 @@ public class Listeners implements Listener {
                 if (!getPluginInstance().getManager().initiateEconomyCharge(e.getPlayer(), interactionModule.getPassedChargeAmount()))
                     return;
 
-                warp.getAssistants().add(offlinePlayer.getUniqueId());
+                warp.addAssistant(offlinePlayer.getUniqueId());
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("give-assistant"))
                                 .replace("{warp}", warp.getWarpName()).replace("{player}", Objects.requireNonNull(offlinePlayer.getName())),
@@ -459,7 +452,7 @@ public class Listeners implements Listener {
                     return;
                 }
 
-                warp.getAssistants().remove(offlinePlayer.getUniqueId());
+                warp.removeAssistant(offlinePlayer.getUniqueId());
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("remove-assistant"))
                         .replace("{warp}", warp.getWarpName()).replace("{player}", Objects.requireNonNull(offlinePlayer.getName())), e.getPlayer());
@@ -502,6 +495,7 @@ public class Listeners implements Listener {
                 }
 
                 warp.getPlayerList().add(offlinePlayer.getUniqueId());
+                warp.markChanged();
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("add-list"))
                         .replace("{warp}", warp.getWarpName()).replace("{player}", Objects.requireNonNull(offlinePlayer.getName())), e.getPlayer());
@@ -544,6 +538,7 @@ public class Listeners implements Listener {
                 }
 
                 warp.getPlayerList().remove(offlinePlayer.getUniqueId());
+                warp.markChanged();
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects
                         .requireNonNull(getPluginInstance().getLangConfig().getString("remove-list"))
@@ -587,6 +582,7 @@ public class Listeners implements Listener {
                 }
 
                 warp.getCommands().add(enteredCommand);
+                warp.markChanged();
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("add-command"))
                         .replace("{warp}", warp.getWarpName()).replace("{command}", enteredCommand), e.getPlayer());
@@ -631,6 +627,7 @@ public class Listeners implements Listener {
                 }
 
                 warp.getCommands().remove(index - 1);
+                warp.markChanged();
                 getPluginInstance().getManager().clearChatInteraction(e.getPlayer());
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("remove-command"))
                         .replace("{warp}", warp.getWarpName()).replace("{index}", String.valueOf(index)), e.getPlayer());
@@ -643,9 +640,7 @@ public class Listeners implements Listener {
         if ((e.getFrom().getBlockX() != Objects.requireNonNull(e.getTo()).getBlockX()) || (e.getFrom().getBlockY() != e.getTo().getBlockY())
                 || (e.getFrom().getBlockZ() != e.getTo().getBlockZ()) || !Objects.requireNonNull(e.getFrom().getWorld())
                 .getName().equalsIgnoreCase(Objects.requireNonNull(e.getTo().getWorld()).getName())) {
-            boolean moveCancellation = getPluginInstance().getConfig()
-                    .getBoolean("teleportation-section.move-cancellation");
-            if (moveCancellation) {
+            if (getPluginInstance().getSettings().isMoveCancellation()) {
                 GroupTemp groupTemp = getPluginInstance().getTeleportationHandler()
                         .getGroupTemp(e.getPlayer().getUniqueId());
                 if (groupTemp != null && !groupTemp.isCancelled()) {
@@ -732,8 +727,7 @@ public class Listeners implements Listener {
     public void onDamage(EntityDamageEvent e) {
         if (e.getEntity() instanceof Player) {
             Player player = (Player) e.getEntity();
-            boolean damageCancellation = getPluginInstance().getConfig().getBoolean("teleportation-section.damage-cancellation");
-            if (damageCancellation) {
+            if (getPluginInstance().getSettings().isDamageCancellation()) {
                 getPluginInstance().getTeleportationCommands().getTpaSentMap().remove(player.getUniqueId());
                 getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(player);
 
@@ -801,45 +795,38 @@ public class Listeners implements Listener {
 
     @EventHandler
     public void onTeleport(PlayerJoinEvent e) {
-        if (getPluginInstance().getConfig().getBoolean("general-section.force-spawn"))
+        getPluginInstance().getDatabaseHandler().getDetailsCache().refreshMemberWarps(e.getPlayer().getUniqueId());
+
+        final Settings settings = getPluginInstance().getSettings();
+        if (settings.isForceSpawn())
             if (!e.getPlayer().hasPlayedBefore() && getPluginInstance().getTeleportationCommands().getFirstJoinLocation() != null) {
                 e.getPlayer().setVelocity(new Vector(0, 0, 0));
                 e.getPlayer().teleport(getPluginInstance().getTeleportationCommands().getFirstJoinLocation().asBukkitLocation(), PlayerTeleportEvent.TeleportCause.PLUGIN);
 
-                String teleportSound = Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.teleport"))
-                        .toUpperCase().replace(" ", "_").replace("-", "_"),
-                        animationSet = getPluginInstance().getConfig().getString("special-effects-section.standalone-teleport-animation");
-                if (!teleportSound.equalsIgnoreCase(""))
-                    e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), Sound.valueOf(teleportSound), 1, 1);
-                if (animationSet != null && !animationSet.equalsIgnoreCase("") && animationSet.contains(":")) {
-                    String[] themeArgs = animationSet.split(":");
+                if (settings.getTeleportSound() != null)
+                    e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), settings.getTeleportSound(), 1, 1);
+                if (settings.getStandaloneTeleportAnimation() != null) {
                     getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(e.getPlayer());
-                    getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), themeArgs[1],
-                            EnumContainer.Animation.valueOf(themeArgs[0].toUpperCase().replace(" ", "_")
-                                    .replace("-", "_")), 1);
+                    getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), settings.getStandaloneTeleportAnimation().getTheme(),
+                            settings.getStandaloneTeleportAnimation().getAnimation(), 1);
                 }
 
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("teleport-first-join-spawn"))
                         .replace("{player}", e.getPlayer().getName()), e.getPlayer());
 
-                List<String> commandList = getPluginInstance().getConfig().getStringList("general-section.first-join-commands");
+                List<String> commandList = settings.getFirstJoinCommands();
                 for (int i = -1; ++i < commandList.size(); )
                     getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), commandList.get(i).replace("{player}", e.getPlayer().getName()));
-            } else if (!getPluginInstance().getConfig().getBoolean("general-section.force-only-first-join") && getPluginInstance().getTeleportationCommands().getSpawnLocation() != null) {
+            } else if (!settings.isForceOnlyFirstJoin() && getPluginInstance().getTeleportationCommands().getSpawnLocation() != null) {
                 e.getPlayer().setVelocity(new Vector(0, 0, 0));
                 e.getPlayer().teleport(getPluginInstance().getTeleportationCommands().getSpawnLocation().asBukkitLocation(), PlayerTeleportEvent.TeleportCause.PLUGIN);
 
-                String teleportSound = Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.teleport"))
-                        .toUpperCase().replace(" ", "_").replace("-", "_"),
-                        animationSet = getPluginInstance().getConfig().getString("special-effects-section.standalone-teleport-animation");
-                if (!teleportSound.equalsIgnoreCase(""))
-                    e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), Sound.valueOf(teleportSound), 1, 1);
-                if (animationSet != null && !animationSet.equalsIgnoreCase("") && animationSet.contains(":")) {
-                    String[] themeArgs = animationSet.split(":");
+                if (settings.getTeleportSound() != null)
+                    e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), settings.getTeleportSound(), 1, 1);
+                if (settings.getStandaloneTeleportAnimation() != null) {
                     getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(e.getPlayer());
-                    getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), themeArgs[1],
-                            EnumContainer.Animation.valueOf(themeArgs[0].toUpperCase().replace(" ", "_")
-                                    .replace("-", "_")), 1);
+                    getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), settings.getStandaloneTeleportAnimation().getTheme(),
+                            settings.getStandaloneTeleportAnimation().getAnimation(), 1);
                 }
 
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("teleport-spawn"))
@@ -854,23 +841,19 @@ public class Listeners implements Listener {
 
     @EventHandler
     public void onRespawn(PlayerRespawnEvent e) {
-        if (getPluginInstance().getConfig().getBoolean("general-section.force-death-spawn") && getPluginInstance().getTeleportationCommands().getSpawnLocation() != null) {
+        final Settings settings = getPluginInstance().getSettings();
+        if (settings.isForceDeathSpawn() && getPluginInstance().getTeleportationCommands().getSpawnLocation() != null) {
             e.getPlayer().setVelocity(new Vector(0, 0, 0));
 
             Location location = getPluginInstance().getTeleportationCommands().getSpawnLocation().asBukkitLocation();
             e.setRespawnLocation(location);
 
-            String teleportSound = Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.global-sounds.teleport"))
-                    .toUpperCase().replace(" ", "_").replace("-", "_"),
-                    animationSet = getPluginInstance().getConfig().getString("special-effects-section.standalone-teleport-animation");
-            if (!teleportSound.equalsIgnoreCase(""))
-                e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), Sound.valueOf(teleportSound), 1, 1);
-            if (animationSet != null && !animationSet.equalsIgnoreCase("") && animationSet.contains(":")) {
-                String[] themeArgs = animationSet.split(":");
+            if (settings.getTeleportSound() != null)
+                e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), settings.getTeleportSound(), 1, 1);
+            if (settings.getStandaloneTeleportAnimation() != null) {
                 getPluginInstance().getTeleportationHandler().getAnimation().stopActiveAnimation(e.getPlayer());
-                getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), themeArgs[1],
-                        EnumContainer.Animation.valueOf(themeArgs[0].toUpperCase().replace(" ", "_")
-                                .replace("-", "_")), 1);
+                getPluginInstance().getTeleportationHandler().getAnimation().playAnimation(e.getPlayer(), settings.getStandaloneTeleportAnimation().getTheme(),
+                        settings.getStandaloneTeleportAnimation().getAnimation(), 1);
             }
 
             getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("teleport-spawn"))
@@ -927,6 +910,13 @@ public class Listeners implements Listener {
                 return;
             }
 
+            // the warp's released details are loaded first, the sign is used once they are in memory.
+            final Warp signWarp = getPluginInstance().getManager().getWarp(sign.getLine(2));
+            if (signWarp != null && !getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(Collections.singletonList(signWarp))) {
+                getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(Collections.singletonList(signWarp), () -> onInteract(e));
+                return;
+            }
+
             String warpName;
             Warp warp;
             switch (secondLine.toLowerCase().replace("_", " ").replace("-", " ")) {
@@ -1107,42 +1097,62 @@ public class Listeners implements Listener {
 
     @EventHandler
     public void onCommand(PlayerCommandPreprocessEvent e) {
-        List<String> commandStrings = getPluginInstance().getConfig().getStringList("general-section.custom-alias-commands");
-        for (int i = -1; ++i < commandStrings.size(); ) {
-            String commandString = commandStrings.get(i);
-            if (!commandString.contains(":")) continue;
-
-            String[] args = commandString.split(":");
-            if (e.getMessage().equalsIgnoreCase(args[0]) && args[2].equalsIgnoreCase("player"))
-                e.setMessage(args[1].replace("{player}", e.getPlayer().getName()));
-            else if (e.getMessage().equalsIgnoreCase(args[0]) && args[2].equalsIgnoreCase("console")) {
+        List<Settings.AliasCommand> aliasCommands = getPluginInstance().getSettings().getAliasCommands();
+        for (int i = -1; ++i < aliasCommands.size(); ) {
+            Settings.AliasCommand aliasCommand = aliasCommands.get(i);
+            if (!e.getMessage().equalsIgnoreCase(aliasCommand.getAlias())) continue;
+
+            if (!aliasCommand.isConsole())
+                e.setMessage(aliasCommand.getCommand().replace("{player}", e.getPlayer().getName()));
+            else {
                 e.setCancelled(true);
-                getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), args[1].replace("{player}", e.getPlayer().getName()));
+                getPluginInstance().getServer().dispatchCommand(getPluginInstance().getServer().getConsoleSender(), aliasCommand.getCommand().replace("{player}", e.getPlayer().getName()));
             }
         }
     }
 
     @EventHandler
     public void onQuit(PlayerQuitEvent e) {
-        getPluginInstance().getManager().getPaging().getWarpPageMap().remove(e.getPlayer().getUniqueId());
+        getPluginInstance().getManager().getPaging().resetWarpPages(e.getPlayer());
         getPluginInstance().getManager().getPaging().getPlayerSelectedMap().remove(e.getPlayer().getUniqueId());
-        getPluginInstance().getManager().getPaging().getCurrentPageMap().remove(e.getPlayer().getUniqueId());
         getPluginInstance().getTeleportationCommands().getToggledPlayers().remove(e.getPlayer().getUniqueId());
         getPluginInstance().getTeleportationCommands().getTpaHereSentPlayers().remove(e.getPlayer().getUniqueId());
+        getPluginInstance().getDatabaseHandler().getDetailsCache().forgetMemberWarps(e.getPlayer().getUniqueId());
     }
 
     // methods
-    private void runListMenuClick(Player player, InventoryClickEvent e) {
+    // the icons are built once the page's details are loaded, unless the player moved on to another page in the meantime.
+    private void fillWarpSlots(Player player, Inventory inventory, List<Integer> warpSlots, List<Warp> pageWarpList) {
+        final int currentPage = getPluginInstance().getManager().getPaging().getCurrentPage(player);
+        getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(pageWarpList, () -> {
+            if (getPluginInstance().getManager().getPaging().getCurrentPage(player) != currentPage) return;
+
+            for (int i = -1; ++i < warpSlots.size(); ) {
+                inventory.setItem(warpSlots.get(i), null);
+                if (pageWarpList.size() >= 1) {
+                    Warp warp = pageWarpList.get(0);
+                    inventory.setItem(warpSlots.get(i), getPluginInstance().getManager().buildWarpIcon(player, warp));
+                    pageWarpList.remove(warp);
+                }
+            }
+        });
+    }
+
+    private void runListMenuClick(Player player, MenuDefinition menuDefinition, InventoryClickEvent e) {
         if (e.getCurrentItem() != null && Objects.requireNonNull(e.getClickedInventory()).getType() != InventoryType.PLAYER) {
             e.setCancelled(true);
             if (e.getClick() == ClickType.DOUBLE_CLICK || e.getClick() == ClickType.CREATIVE) return;
 
-            List<Integer> warpSlots = getPluginInstance().getMenusConfig().getIntegerList("list-menu-section.warp-slots");
-            if (warpSlots.contains(e.getSlot()) && e.getCurrentItem() != null && e.getCurrentItem().hasItemMeta()) {
+            List<Integer> warpSlots = menuDefinition.getContentSlots();
+            if (menuDefinition.isContentSlot(e.getSlot()) && e.getCurrentItem() != null && e.getCurrentItem().hasItemMeta()) {
                 ClickType clickType = e.getClick();
                 String warpName = ChatColor
                         .stripColor(Objects.requireNonNull(e.getCurrentItem().getItemMeta()).getDisplayName());
                 Warp warp = getPluginInstance().getManager().getWarp(warpName);
+                if (warp != null && !getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(Collections.singletonList(warp))) {
+                    getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(Collections.singletonList(warp), () -> runListMenuClick(player, menuDefinition, e));
+                    return;
+                }
 
                 if (warp != null) {
 
@@ -1380,14 +1390,11 @@ public class Listeners implements Listener {
                 return;
             }
 
-            String itemId = getPluginInstance().getManager().getIdFromSlot("list-menu-section", e.getSlot());
-            if (itemId != null) {
-                if (getPluginInstance().getMenusConfig().getBoolean("list-menu-section.items." + itemId + ".click-sound")) {
-                    String soundName = getPluginInstance().getMenusConfig().getString("list-menu-section.items." + itemId + ".sound-name");
-                    if (soundName != null && !soundName.equalsIgnoreCase(""))
-                        player.playSound(player.getLocation(),
-                                Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_")), 1, 1);
-                }
+            MenuDefinition.MenuItem menuItem = menuDefinition.getItem(e.getSlot());
+            if (menuItem != null) {
+                String itemId = menuItem.getItemId();
+                if (menuItem.getClickSound() != null)
+                    player.playSound(player.getLocation(), menuItem.getClickSound(), 1, 1);
 
                 ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection("list-menu-section.items." + itemId);
                 if (cs != null && cs.getKeys(false).contains("permission")) {
@@ -1413,7 +1420,6 @@ public class Listeners implements Listener {
                     }
 
                     final double itemUsageCost = getPluginInstance().getMenusConfig().getDouble("list-menu-section.items." + itemId + ".usage-cost");
-                    HashMap<Integer, List<Warp>> warpPageMap;
                     int currentPage;
                     List<Warp> pageWarpList;
                     switch (action) {
@@ -1465,79 +1471,41 @@ public class Listeners implements Listener {
 
                             getPluginInstance().getManager().getPaging().resetWarpPages(player);
                             String currentStatus = getPluginInstance().getManager().getCurrentFilterStatus("list-menu-section", e.getInventory());
-                            warpPageMap = getPluginInstance().getManager().getPaging().getWarpPages(player, "list-menu-section", currentStatus);
-                            getPluginInstance().getManager().getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
+                            getPluginInstance().getManager().getPaging().setWarpFilter(player, "list-menu-section", currentStatus);
                             currentPage = getPluginInstance().getManager().getPaging().getCurrentPage(player);
-                            pageWarpList = new ArrayList<>();
-                            if (warpPageMap != null && !warpPageMap.isEmpty() && warpPageMap.containsKey(currentPage))
-                                pageWarpList = new ArrayList<>(warpPageMap.get(currentPage));
+                            pageWarpList = getPluginInstance().getManager().getPaging().getWarpPage(player, currentPage);
 
                             if (!pageWarpList.isEmpty())
-                                for (int i = -1; ++i < warpSlots.size(); ) {
-                                    int warpSlot = warpSlots.get(i);
-                                    e.getInventory().setItem(warpSlot, null);
-
-                                    if (pageWarpList.size() >= 1) {
-                                        Warp warp = pageWarpList.get(0);
-                                        e.getInventory().setItem(warpSlots.get(i),
-                                                getPluginInstance().getManager().buildWarpIcon(player, warp));
-                                        pageWarpList.remove(warp);
-                                    }
-                                }
+                                fillWarpSlots(player, e.getInventory(), warpSlots, pageWarpList);
                             else
                                 getPluginInstance().getManager().sendCustomMessage(
                                         getPluginInstance().getLangConfig().getString("refresh-fail"), player);
 
                             break;
                         case "next-page":
+                            getPluginInstance().getManager().getPaging().setWarpFilter(player, "list-menu-section",
+                                    getPluginInstance().getManager().getCurrentFilterStatus("list-menu-section", e.getInventory()));
                             if (getPluginInstance().getManager().getPaging().hasNextWarpPage(player) && getPluginInstance().getManager().initiateEconomyCharge(player, itemUsageCost)) {
-                                warpPageMap = getPluginInstance().getManager().getPaging().getWarpPages(player, "list-menu-section",
-                                        getPluginInstance().getManager().getCurrentFilterStatus("list-menu-section", e.getInventory()));
-                                getPluginInstance().getManager().getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
                                 currentPage = getPluginInstance().getManager().getPaging().getCurrentPage(player);
-                                pageWarpList = new ArrayList<>();
-                                if (warpPageMap != null && !warpPageMap.isEmpty() && warpPageMap.containsKey(currentPage + 1))
-                                    pageWarpList = new ArrayList<>(warpPageMap.get(currentPage + 1));
+                                pageWarpList = getPluginInstance().getManager().getPaging().getWarpPage(player, currentPage + 1);
 
                                 if (!pageWarpList.isEmpty()) {
                                     getPluginInstance().getManager().getPaging().updateCurrentWarpPage(player, true);
-                                    for (int i = -1; ++i < warpSlots.size(); ) {
-                                        e.getInventory().setItem(warpSlots.get(i), null);
-                                        if (pageWarpList.size() >= 1) {
-                                            Warp warp = pageWarpList.get(0);
-                                            e.getInventory().setItem(warpSlots.get(i),
-                                                    getPluginInstance().getManager().buildWarpIcon(player, warp));
-                                            pageWarpList.remove(warp);
-                                        }
-                                    }
+                                    fillWarpSlots(player, e.getInventory(), warpSlots, pageWarpList);
                                 }
                             } else
                                 getPluginInstance().getManager().sendCustomMessage(getPluginInstance().getLangConfig().getString("no-next-page"), player);
                             break;
                         case "previous-page":
+                            getPluginInstance().getManager().getPaging().setWarpFilter(player, "list-menu-section",
+                                    getPluginInstance().getManager().getCurrentFilterStatus("list-menu-section", e.getInventory()));
                             if (getPluginInstance().getManager().getPaging().hasPreviousWarpPage(player) && getPluginInstance().getManager().initiateEconomyCharge(player, itemUsageCost)) {
-                                warpPageMap = getPluginInstance().getManager().getPaging().getCurrentWarpPages(player) == null ? getPluginInstance().getManager().getPaging().getWarpPages(player,
-                                        "list-menu-section", getPluginInstance().getManager().getCurrentFilterStatus("list-menu-section", e.getInventory()))
-                                        : getPluginInstance().getManager().getPaging().getCurrentWarpPages(player);
-                                getPluginInstance().getManager().getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
-
                                 currentPage = getPluginInstance().getManager().getPaging().getCurrentPage(player);
-                                pageWarpList = new ArrayList<>();
-                                if (warpPageMap != null && !warpPageMap.isEmpty()
-                                        && warpPageMap.containsKey(currentPage - 1))
-                                    pageWarpList = new ArrayList<>(warpPageMap.get(currentPage - 1));
+                                pageWarpList = getPluginInstance().getManager().getPaging().getWarpPage(player, currentPage - 1);
 
                                 if (!pageWarpList.isEmpty()) {
                                     getPluginInstance().getManager().getPaging().updateCurrentWarpPage(player, false);
-                                    for (int i = -1; ++i < warpSlots.size(); ) {
-                                        e.getInventory().setItem(warpSlots.get(i), null);
-                                        if (pageWarpList.size() >= 1) {
-                                            Warp warp = pageWarpList.get(0);
-                                            e.getInventory().setItem(warpSlots.get(i),
-                                                    getPluginInstance().getManager().buildWarpIcon(player, warp));
-                                            pageWarpList.remove(warp);
-                                        }
-                                    }
+                                    fillWarpSlots(player, e.getInventory(), warpSlots, pageWarpList);
                                 }
                             } else
                                 getPluginInstance().getManager().sendCustomMessage(getPluginInstance().getLangConfig().getString("no-previous-page"), player);
@@ -1586,21 +1554,12 @@ public class Listeners implements Listener {
                                 }
 
                                 getPluginInstance().getManager().getPaging().resetWarpPages(player);
-                                warpPageMap = getPluginInstance().getManager().getPaging().getWarpPages(player, "list-menu-section", nextStatus);
-                                getPluginInstance().getManager().getPaging().getWarpPageMap().put(player.getUniqueId(), warpPageMap);
+                                getPluginInstance().getManager().getPaging().setWarpFilter(player, "list-menu-section", nextStatus);
                                 currentPage = getPluginInstance().getManager().getPaging().getCurrentPage(player);
-                                pageWarpList = new ArrayList<>();
-                                if (warpPageMap != null && !warpPageMap.isEmpty() && warpPageMap.containsKey(currentPage))
-                                    pageWarpList = new ArrayList<>(warpPageMap.get(currentPage));
+                                pageWarpList = getPluginInstance().getManager().getPaging().getWarpPage(player, currentPage);
 
                                 if (!pageWarpList.isEmpty())
-                                    for (int i = -1; ++i < warpSlots.size(); ) {
-                                        if (pageWarpList.size() >= 1) {
-                                            Warp warp = pageWarpList.get(0);
-                                            e.getInventory().setItem(warpSlots.get(i), getPluginInstance().getManager().buildWarpIcon(player, warp));
-                                            pageWarpList.remove(warp);
-                                        }
-                                    }
+                                    fillWarpSlots(player, e.getInventory(), warpSlots, pageWarpList);
                             }
 
                             break;
@@ -1628,27 +1587,30 @@ public class Listeners implements Listener {
         }
     }
 
-    private void runEditMenuClick(Player player, String inventoryName, InventoryClickEvent e) {
+    private void runEditMenuClick(Player player, MenuHolder menuHolder, InventoryClickEvent e) {
         if (e.getCurrentItem() != null && Objects.requireNonNull(e.getClickedInventory()).getType() != InventoryType.PLAYER) {
             e.setCancelled(true);
             if (e.getClick() == ClickType.DOUBLE_CLICK || e.getClick() == ClickType.CREATIVE) return;
 
-            String itemId = getPluginInstance().getManager().getIdFromSlot("edit-menu-section", e.getSlot());
-            if (itemId != null) {
-                if (getPluginInstance().getMenusConfig().getBoolean("edit-menu-section.items." + itemId + ".click-sound")) {
-                    String soundName = getPluginInstance().getMenusConfig().getString("edit-menu-section.items." + itemId + ".sound-name");
-                    if (soundName != null && !soundName.equalsIgnoreCase(""))
-                        player.playSound(player.getLocation(),
-                                Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_")), 1, 1);
-                }
+            // the warp's released details are loaded first, the click is handled once they are in memory.
+            final Warp menuWarp = getPluginInstance().getManager().getWarp(menuHolder.getWarpName());
+            if (menuWarp != null && !getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(Collections.singletonList(menuWarp))) {
+                getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(Collections.singletonList(menuWarp), () -> runEditMenuClick(player, menuHolder, e));
+                return;
+            }
+
+            MenuDefinition.MenuItem menuItem = menuHolder.getMenuDefinition().getItem(e.getSlot());
+            if (menuItem != null) {
+                String itemId = menuItem.getItemId();
+                if (menuItem.getClickSound() != null)
+                    player.playSound(player.getLocation(), menuItem.getClickSound(), 1, 1);
 
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("edit-menu-section.items." + itemId + ".click-message"))
                         .replace("{player}", player.getName()).replace("{item-id}", itemId), player);
 
-                String clickAction = getPluginInstance().getMenusConfig().getString("edit-menu-section.items." + itemId + ".click-action"),
+                String clickAction = menuItem.getClickAction(),
                         toggleFormat = getPluginInstance().getConfig().getString("general-section.option-toggle-format"),
-                        warpName = Objects.requireNonNull(ChatColor.stripColor(inventoryName)).replace(ChatColor.stripColor(getPluginInstance().getManager().colorText(
-                                getPluginInstance().getMenusConfig().getString("edit-menu-section.title"))), "");
+                        warpName = menuHolder.getWarpName();
                 Warp warp = getPluginInstance().getManager().getWarp(warpName);
 
                 ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection("edit-menu-section.items." + itemId);
@@ -2079,26 +2041,28 @@ public class Listeners implements Listener {
         }
     }
 
-    private void runLikeMenuClick(Player player, String inventoryName, InventoryClickEvent e) {
+    private void runLikeMenuClick(Player player, MenuHolder menuHolder, InventoryClickEvent e) {
         if (e.getCurrentItem() != null && Objects.requireNonNull(e.getClickedInventory()).getType() != InventoryType.PLAYER) {
             e.setCancelled(true);
             if (e.getClick() == ClickType.DOUBLE_CLICK || e.getClick() == ClickType.CREATIVE) return;
 
-            String itemId = getPluginInstance().getManager().getIdFromSlot("like-menu-section", e.getSlot());
-            if (itemId != null) {
-                if (getPluginInstance().getConfig().getBoolean("like-menu-section.items." + itemId + ".click-sound")) {
-                    String soundName = getPluginInstance().getMenusConfig().getString("like-menu-section.items." + itemId + ".sound-name");
-                    if (soundName != null && !soundName.equalsIgnoreCase(""))
-                        player.playSound(player.getLocation(),
-                                Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_")), 1, 1);
-                }
+            // the warp's released details are loaded first, the click is handled once they are in memory.
+            final Warp menuWarp = getPluginInstance().getManager().getWarp(menuHolder.getWarpName());
+            if (menuWarp != null && !getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(Collections.singletonList(menuWarp))) {
+                getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(Collections.singletonList(menuWarp), () -> runLikeMenuClick(player, menuHolder, e));
+                return;
+            }
+
+            MenuDefinition.MenuItem menuItem = menuHolder.getMenuDefinition().getItem(e.getSlot());
+            if (menuItem != null) {
+                String itemId = menuItem.getItemId();
+                if (menuItem.getClickSound() != null)
+                    player.playSound(player.getLocation(), menuItem.getClickSound(), 1, 1);
 
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("like-menu-section.items." + itemId + ".click-message"))
                         .replace("{player}", player.getName()).replace("{item-id}", itemId), player);
 
-                String clickAction = getPluginInstance().getMenusConfig().getString("like-menu-section.items." + itemId + ".click-action"),
-                        warpName = Objects.requireNonNull(ChatColor.stripColor(inventoryName)).replace(ChatColor.stripColor(getPluginInstance().getManager().colorText(
-                                getPluginInstance().getMenusConfig().getString("like-menu-section.title"))), "");
+                String clickAction = menuItem.getClickAction(), warpName = menuHolder.getWarpName();
                 Warp warp = getPluginInstance().getManager().getWarp(warpName);
 
                 ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection("like-menu-section.items." + itemId);
@@ -2175,7 +2139,7 @@ public class Listeners implements Listener {
 
                             if (!getPluginInstance().getManager().initiateEconomyCharge(player, itemUsageCost)) return;
                             warp.setLikes(warp.getLikes() + 1);
-                            warp.getVoters().add(player.getUniqueId());
+                            warp.addVote(player.getUniqueId());
                             getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("liked-message"))
                                     .replace("{warp}", warp.getWarpName()), player);
                             break;
@@ -2188,7 +2152,7 @@ public class Listeners implements Listener {
 
                             if (!getPluginInstance().getManager().initiateEconomyCharge(player, itemUsageCost)) return;
                             warp.setDislikes(warp.getDislikes() + 1);
-                            warp.getVoters().add(player.getUniqueId());
+                            warp.addVote(player.getUniqueId());
                             getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getLangConfig().getString("disliked-message"))
                                     .replace("{warp}", warp.getWarpName()), player);
                             break;
@@ -2200,14 +2164,14 @@ public class Listeners implements Listener {
         }
     }
 
-    private void runPlayerSelectionClick(Player player, InventoryClickEvent e) {
+    private void runPlayerSelectionClick(Player player, MenuDefinition menuDefinition, InventoryClickEvent e) {
         if (e.getCurrentItem() != null && Objects.requireNonNull(e.getClickedInventory()).getType() != InventoryType.PLAYER) {
             e.setCancelled(true);
             if (e.getClick() == ClickType.DOUBLE_CLICK || e.getClick() == ClickType.CREATIVE)
                 return;
 
-            List<Integer> playerSlots = getPluginInstance().getMenusConfig().getIntegerList("ps-menu-section.player-slots");
-            if (playerSlots.contains(e.getSlot()) && e.getCurrentItem() != null && e.getCurrentItem().hasItemMeta()) {
+            List<Integer> playerSlots = menuDefinition.getContentSlots();
+            if (menuDefinition.isContentSlot(e.getSlot()) && e.getCurrentItem() != null && e.getCurrentItem().hasItemMeta()) {
                 String soundName = getPluginInstance().getMenusConfig().getString("ps-menu-section.player-click-sound");
                 if (soundName != null && !soundName.equalsIgnoreCase(""))
                     player.getWorld().playSound(player.getLocation(),
@@ -2233,14 +2197,11 @@ public class Listeners implements Listener {
                 return;
             }
 
-            String itemId = getPluginInstance().getManager().getIdFromSlot("ps-menu-section", e.getSlot());
-            if (itemId != null) {
-                if (getPluginInstance().getMenusConfig().getBoolean("ps-menu-section.items." + itemId + ".click-sound")) {
-                    String soundName = getPluginInstance().getMenusConfig().getString("ps-menu-section.items." + itemId + ".sound-name");
-                    if (soundName != null && !soundName.equalsIgnoreCase(""))
-                        player.playSound(player.getLocation(),
-                                Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_")), 1, 1);
-                }
+            MenuDefinition.MenuItem menuItem = menuDefinition.getItem(e.getSlot());
+            if (menuItem != null) {
+                String itemId = menuItem.getItemId();
+                if (menuItem.getClickSound() != null)
+                    player.playSound(player.getLocation(), menuItem.getClickSound(), 1, 1);
 
                 ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection("ps-menu-section.items." + itemId);
                 if (cs != null && cs.getKeys(false).contains("permission")) {
@@ -2256,7 +2217,7 @@ public class Listeners implements Listener {
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("ps-menu-section.items." + itemId + ".click-message"))
                         .replace("{player}", player.getName()).replace("{item-id}", itemId), player);
 
-                String clickAction = getPluginInstance().getMenusConfig().getString("ps-menu-section.items." + itemId + ".click-action");
+                String clickAction = menuItem.getClickAction();
                 if (clickAction != null) {
                     String action = clickAction, value = "";
                     if (clickAction.contains(":")) {
@@ -2435,26 +2396,24 @@ public class Listeners implements Listener {
         }
     }
 
-    private void runCustomMenuClick(Player player, String menuId, InventoryClickEvent e) {
+    private void runCustomMenuClick(Player player, MenuDefinition menuDefinition, InventoryClickEvent e) {
         if (e.getCurrentItem() != null && Objects.requireNonNull(e.getClickedInventory()).getType() != InventoryType.PLAYER) {
             e.setCancelled(true);
             if (e.getClick() == ClickType.DOUBLE_CLICK || e.getClick() == ClickType.CREATIVE)
                 return;
 
-            String itemId = getPluginInstance().getManager().getIdFromSlot("custom-menu-section." + menuId, e.getSlot());
-            if (itemId != null) {
-                if (getPluginInstance().getMenusConfig().getBoolean("custom-menu-section." + menuId + "." + itemId + ".click-sound")) {
-                    String soundName = getPluginInstance().getMenusConfig().getString("custom-menu-section." + menuId + ".items." + itemId + ".sound-name");
-                    if (soundName != null && !soundName.equalsIgnoreCase(""))
-                        player.playSound(player.getLocation(), Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_")), 1, 1);
-                }
+            MenuDefinition.MenuItem menuItem = menuDefinition.getItem(e.getSlot());
+            if (menuItem != null) {
+                String itemId = menuItem.getItemId(), menuPath = menuDefinition.getMenuPath();
+                if (menuItem.getClickSound() != null)
+                    player.playSound(player.getLocation(), menuItem.getClickSound(), 1, 1);
 
-                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString("custom-menu-section." + menuId + ".items." + itemId + ".click-message"))
+                getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance().getMenusConfig().getString(menuPath + ".items." + itemId + ".click-message"))
                         .replace("{player}", player.getName()).replace("{item-id}", itemId), player);
 
-                ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection("custom-menu-section." + menuId + ".items." + itemId);
+                ConfigurationSection cs = getPluginInstance().getMenusConfig().getConfigurationSection(menuPath + ".items." + itemId);
                 if (cs != null && cs.getKeys(false).contains("permission")) {
-                    String permission = getPluginInstance().getMenusConfig().getString("custom-menu-section." + menuId + ".items." + itemId + ".permission");
+                    String permission = getPluginInstance().getMenusConfig().getString(menuPath + ".items." + itemId + ".permission");
                     if (permission != null && !permission.equalsIgnoreCase("") && !player.hasPermission(permission)) {
                         getPluginInstance().getManager().sendCustomMessage(
                                 getPluginInstance().getLangConfig().getString("no-permission"), player);
@@ -2462,8 +2421,8 @@ public class Listeners implements Listener {
                     }
                 }
 
-                double itemUsageCost = getPluginInstance().getMenusConfig().getDouble("custom-menu-section." + menuId + ".items." + itemId + ".usage-cost");
-                String clickAction = getPluginInstance().getMenusConfig().getString("custom-menu-section." + menuId + ".items." + itemId + ".click-action");
+                double itemUsageCost = getPluginInstance().getMenusConfig().getDouble(menuPath + ".items." + itemId + ".usage-cost");
+                String clickAction = menuItem.getClickAction();
                 if (clickAction != null) {
                     String action = clickAction, value = "";
                     if (clickAction.contains(":")) {
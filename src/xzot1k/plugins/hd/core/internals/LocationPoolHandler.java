@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.core.objects.RandomTeleportRules;
+import xzot1k.plugins.hd.core.objects.RegionSampler;
+import xzot1k.plugins.hd.core.objects.Settings;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps a pool of safe random teleport locations per world, filled a little at a time in the background so random
+ * teleports can usually skip the search. Pools are kept for the worlds in the bounds list and any world a random
+ * teleport was requested in. The pools are only touched on the main thread.
+ */
+public class LocationPoolHandler implements Runnable {
+    /**
+     * Returned by getSafeY when only the column is unsafe, or when the column's biome is blocked so the rest of the
+     * chunk most likely is as well.
+     */
+    public static final int UNSAFE_COLUMN = -1, UNSAFE_CHUNK = -2;
+
+    private HyperDrive pluginInstance;
+    private HashMap<String, ArrayDeque<int[]>> poolMap;
+    private Set<String> fillingWorlds;
+    private RegionSampler regionSampler;
+    private boolean snapshotTypesExist;
+
+    public LocationPoolHandler(HyperDrive pluginInstance) {
+        setPluginInstance(pluginInstance);
+        setPoolMap(new HashMap<>());
+        setFillingWorlds(new HashSet<>());
+        setRegionSampler(new RegionSampler(getPluginInstance().getSettings().getUnsafeChunkCacheSize(), getPluginInstance().getSettings().getUnsafeChunkExpiry()));
+
+        // legacy snapshots only expose numeric block ids, those servers check the blocks on the main thread instead.
+        setSnapshotTypesExist(false);
+        for (Method method : ChunkSnapshot.class.getMethods())
+            if (method.getName().equals("getBlockType")) {
+                setSnapshotTypesExist(true);
+                break;
+            }
+
+        final List<String> boundsList = getPluginInstance().getConfig().getStringList("random-teleport-section.bounds-radius-list");
+        for (int i = -1; ++i < boundsList.size(); ) {
+            final String boundsLine = boundsList.get(i);
+            if (boundsLine != null && boundsLine.contains(":"))
+                getPoolMap().put(boundsLine.split(":")[0].toLowerCase(), new ArrayDeque<>());
+        }
+    }
+
+    @Override
+    public void run() {
+        final Settings settings = getPluginInstance().getSettings();
+        if (settings.getLocationPoolSize() <= 0) return;
+
+        for (Map.Entry<String, ArrayDeque<int[]>> entry : getPoolMap().entrySet()) {
+            if (entry.getValue().size() >= settings.getLocationPoolSize() || getFillingWorlds().contains(entry.getKey())
+                    || settings.isForbiddenWorld(entry.getKey()))
+                continue;
+
+            final World world = getPluginInstance().getServer().getWorld(entry.getKey());
+            if (world != null) fill(world, entry.getValue());
+        }
+    }
+
+    // loads one random candidate chunk and keeps the location if it turns out safe.
+    private void fill(World world, ArrayDeque<int[]> pool) {
+        final String worldName = world.getName().toLowerCase();
+        final Location centerLocation = getCenterLocation(world);
+        final int boundsRadius = getPluginInstance().getManager().getBounds(world);
+        final int[] candidate = getRegionSampler().sample(worldName, centerLocation.getBlockX(), centerLocation.getBlockZ(), boundsRadius);
+        final int x = candidate[0], z = candidate[1], ring = candidate[2];
+        if (Math.abs(x) >= boundsRadius || Math.abs(z) >= boundsRadius || getRegionSampler().isUnsafe(worldName, x, z)) {
+            getRegionSampler().record(worldName, ring, false);
+            return;
+        }
+
+        getFillingWorlds().add(worldName);
+        getPluginInstance().getManager().getChunk(world, x, z).whenComplete((chunk, throwable) -> runOnMainThread(() -> {
+            getFillingWorlds().remove(worldName);
+            if (throwable != null || chunk == null || pool.size() >= getPluginInstance().getSettings().getLocationPoolSize()) return;
+
+            if (!snapshotTypesExist()) {
+                final int safeY = getSafeY(world, x, z);
+                recordResult(worldName, x, z, ring, safeY);
+                if (safeY > 0) pool.add(new int[]{x, safeY, z});
+                return;
+            }
+
+            // the column is checked against the snapshot off the main thread.
+            final ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, true, false);
+            final boolean nether = (world.getEnvironment() == World.Environment.NETHER);
+            getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
+                final int safeY = getSafeY(snapshot, nether, x, z);
+                recordResult(worldName, x, z, ring, safeY);
+                if (safeY > 0) runOnMainThread(() -> {
+                    if (pool.size() < getPluginInstance().getSettings().getLocationPoolSize()) pool.add(new int[]{x, safeY, z});
+                });
+            });
+        }));
+    }
+
+    /**
+     * Feeds the outcome of a candidate back into the region sampler.
+     *
+     * @param worldName The world name.
+     * @param x         The x-axis block coordinate.
+     * @param z         The z-axis block coordinate.
+     * @param ring      The ring the candidate was sampled from.
+     * @param safeY     The result of getSafeY (UNSAFE_CHUNK also remembers the chunk as unsafe).
+     */
+    public void recordResult(String worldName, int x, int z, int ring, int safeY) {
+        getRegionSampler().record(worldName, ring, safeY > 0);
+        if (safeY == UNSAFE_CHUNK) getRegionSampler().markUnsafe(worldName, x, z);
+    }
+
+    /**
+     * Loads the chunk containing the coordinates and takes a snapshot of it on the main thread.
+     *
+     * @param world The world.
+     * @param x     The x-axis block coordinate.
+     * @param z     The z-axis block coordinate.
+     * @return The snapshot once taken (Null when the chunk could not be loaded).
+     */
+    public CompletableFuture<ChunkSnapshot> getSnapshot(World world, int x, int z) {
+        final CompletableFuture<ChunkSnapshot> snapshotFuture = new CompletableFuture<>();
+        getPluginInstance().getManager().getChunk(world, x, z).whenComplete((chunk, throwable) -> runOnMainThread(() -> {
+            if (throwable != null) snapshotFuture.completeExceptionally(throwable);
+            else snapshotFuture.complete((chunk != null) ? chunk.getChunkSnapshot(true, true, false) : null);
+        }));
+        return snapshotFuture;
+    }
+
+    private void runOnMainThread(Runnable task) {
+        if (getPluginInstance().getServer().isPrimaryThread()) task.run();
+        else getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), task);
+    }
+
+    /**
+     * Takes a pooled location for the player, skipping any that the player's hooks do not allow.
+     *
+     * @param world  The world.
+     * @param player The player being teleported.
+     * @return The location or null if the pool has none to offer.
+     */
+    public Location poll(World world, Player player) {
+        final ArrayDeque<int[]> pool = getPoolMap().computeIfAbsent(world.getName().toLowerCase(), worldName -> new ArrayDeque<>());
+
+        int[] coordinates;
+        while ((coordinates = pool.poll()) != null) {
+            if (getPluginInstance().getHookChecker().isLocationHookSafe(player, new Location(world, coordinates[0], coordinates[1], coordinates[2])))
+                return new Location(world, coordinates[0] + 0.5, coordinates[1] + 2, coordinates[2] + 0.5,
+                        player.getLocation().getYaw(), player.getLocation().getPitch());
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the y-axis coordinate of the block a random teleport could land on, ignoring hooks. Only reads the snapshot,
+     * so it is safe to call from any thread.
+     *
+     * @param snapshot The snapshot of the chunk containing the coordinates.
+     * @param nether   Whether the chunk is in a nether world.
+     * @param x        The x-axis block coordinate.
+     * @param z        The z-axis block coordinate.
+     * @return The y-axis coordinate, UNSAFE_COLUMN, or UNSAFE_CHUNK.
+     */
+    public int getSafeY(ChunkSnapshot snapshot, boolean nether, int x, int z) {
+        final RandomTeleportRules rules = getPluginInstance().getSettings().getRandomTeleportRules();
+        final int chunkX = x & 15, chunkZ = z & 15;
+        if (rules.isBlockedBiome(snapshot.getBiome(chunkX, chunkZ))) return UNSAFE_CHUNK;
+
+        final int highestY = getHighestY(rules, snapshot, nether, chunkX, chunkZ);
+        if (highestY <= 0 || highestY + 2 > 255 || rules.isForbidden(snapshot.getBlockType(chunkX, highestY, chunkZ), snapshot.getData(chunkX, highestY, chunkZ)))
+            return UNSAFE_COLUMN;
+
+        if (!rules.isAir(snapshot.getBlockType(chunkX, highestY + 1, chunkZ)) || !rules.isAir(snapshot.getBlockType(chunkX, highestY + 2, chunkZ)))
+            return UNSAFE_COLUMN;
+
+        return highestY;
+    }
+
+    private int getHighestY(RandomTeleportRules rules, ChunkSnapshot snapshot, boolean nether, int chunkX, int chunkZ) {
+        if (nether) {
+            // walks down keeping track of how many air blocks are directly above, so each block is read once.
+            int airAbove = 0;
+            for (int i = 129; --i > 0; ) {
+                if (rules.isAir(snapshot.getBlockType(chunkX, i, chunkZ))) {
+                    airAbove++;
+                    continue;
+                }
+
+                if (i < 127 && airAbove >= 2) return i;
+                airAbove = 0;
+            }
+            return -1;
+        }
+
+        // the snapshot heightmap points at the first free block above the surface, unlike World#getHighestBlockYAt on 1.15+.
+        int highestY = Math.min(255, snapshot.getHighestBlockYAt(chunkX, chunkZ) - 1);
+        while (highestY > 0 && rules.isAir(snapshot.getBlockType(chunkX, highestY, chunkZ))) highestY--;
+        return highestY;
+    }
+
+    /**
+     * Gets the y-axis coordinate of the block a random teleport could land on, ignoring hooks. Reads the world, so
+     * it must be called on the main thread.
+     *
+     * @param world The world.
+     * @param x     The x-axis coordinate.
+     * @param z     The z-axis coordinate.
+     * @return The y-axis coordinate, UNSAFE_COLUMN, or UNSAFE_CHUNK.
+     */
+    public int getSafeY(World world, int x, int z) {
+        final RandomTeleportRules rules = getPluginInstance().getSettings().getRandomTeleportRules();
+        final int highestY = getHighestY(rules, world, x, z);
+        if (highestY <= 0) return UNSAFE_COLUMN;
+
+        final Block foundBlock = world.getBlockAt(x, highestY, z);
+        if (rules.isBlockedBiome(foundBlock.getBiome())) return UNSAFE_CHUNK;
+        if (rules.isForbidden(foundBlock.getType(), foundBlock.getData())) return UNSAFE_COLUMN;
+
+        final Block relativeUp = foundBlock.getRelative(BlockFace.UP);
+        if (!rules.isAir(relativeUp.getType()) || !rules.isAir(relativeUp.getRelative(BlockFace.UP).getType()))
+            return UNSAFE_COLUMN;
+
+        return highestY;
+    }
+
+    private Location getCenterLocation(World world) {
+        final double[] forcedLocation = getPluginInstance().getSettings().getForcedLocation(world.getName());
+        return (forcedLocation != null) ? new Location(world, forcedLocation[0], forcedLocation[1], forcedLocation[2]) : world.getSpawnLocation();
+    }
+
+    private int getHighestY(RandomTeleportRules rules, World world, int x, int z) {
+        if (world.getEnvironment() == World.Environment.NETHER) {
+            int airAbove = 0;
+            for (int i = 129; --i > 0; ) {
+                if (rules.isAir(world.getBlockAt(x, i, z).getType())) {
+                    airAbove++;
+                    continue;
+                }
+
+                if (i < 127 && airAbove >= 2) return i;
+                airAbove = 0;
+            }
+            return -1;
+        }
+
+        return world.getHighestBlockYAt(x, z);
+    }
+
+    /**
+     * @return The amount of pooled locations per world and chunks remembered as unsafe.
+     */
+    public String getPoolSummary() {
+        final StringBuilder summary = new StringBuilder("(");
+        for (Map.Entry<String, ArrayDeque<int[]>> entry : getPoolMap().entrySet()) {
+            if (summary.length() > 1) summary.append(", ");
+            summary.append(entry.getKey()).append(": ").append(entry.getValue().size());
+        }
+
+        return summary.append(summary.length() > 1 ? ", " : "").append("Unsafe Chunks: ").append(getRegionSampler().getUnsafeCount()).append(")").toString();
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private HashMap<String, ArrayDeque<int[]>> getPoolMap() {
+        return poolMap;
+    }
+
+    private void setPoolMap(HashMap<String, ArrayDeque<int[]>> poolMap) {
+        this.poolMap = poolMap;
+    }
+
+    private Set<String> getFillingWorlds() {
+        return fillingWorlds;
+    }
+
+    private void setFillingWorlds(Set<String> fillingWorlds) {
+        this.fillingWorlds = fillingWorlds;
+    }
+
+    public RegionSampler getRegionSampler() {
+        return regionSampler;
+    }
+
+    private void setRegionSampler(RegionSampler regionSampler) {
+        this.regionSampler = regionSampler;
+    }
+
+    /**
+     * @return Whether chunk snapshots expose block types, otherwise columns must be checked with getSafeY(World, int, int).
+     */
+    public boolean snapshotTypesExist() {
+        return snapshotTypesExist;
+    }
+
+    private void setSnapshotTypesExist(boolean snapshotTypesExist) {
+        this.snapshotTypesExist = snapshotTypesExist;
+    }
+}
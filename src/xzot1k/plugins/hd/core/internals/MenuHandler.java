@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals;
+
+import org.bukkit.inventory.Inventory;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.EnumContainer;
+import xzot1k.plugins.hd.core.objects.MenuDefinition;
+import xzot1k.plugins.hd.core.objects.MenuHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MenuHandler {
+    private HyperDrive pluginInstance;
+    private Map<String, MenuDefinition> menuDefinitionMap;
+
+    public MenuHandler(HyperDrive pluginInstance) {
+        setPluginInstance(pluginInstance);
+        setMenuDefinitionMap(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Drops every compiled menu, they are compiled again from the reloaded file on first use. Menus that are
+     * still open keep the definition they were built with.
+     */
+    public void clear() {
+        getMenuDefinitionMap().clear();
+    }
+
+    /**
+     * Gets the compiled menu definition.
+     *
+     * @param menuType The type of menu.
+     * @param menuId   The custom menu id (Ignored for the other menus).
+     * @return The definition.
+     */
+    public MenuDefinition getMenu(EnumContainer.MenuType menuType, String menuId) {
+        final String menuPath = getMenuPath(menuType, menuId);
+        MenuDefinition menuDefinition = getMenuDefinitionMap().get(menuPath);
+        if (menuDefinition != null) return menuDefinition;
+
+        menuDefinition = new MenuDefinition(getPluginInstance().getMenusConfig(), menuType, menuPath,
+                (menuType == EnumContainer.MenuType.CUSTOM) ? menuId : null);
+        getMenuDefinitionMap().put(menuPath, menuDefinition);
+        return menuDefinition;
+    }
+
+    /**
+     * Creates an inventory tagged with a MenuHolder for the menu.
+     *
+     * @param menuDefinition The menu definition.
+     * @param title          The colored inventory title.
+     * @param warpName       The warp the menu belongs to (Can be null).
+     * @return The inventory.
+     */
+    public Inventory createInventory(MenuDefinition menuDefinition, String title, String warpName) {
+        final MenuHolder menuHolder = new MenuHolder(menuDefinition, warpName);
+        final Inventory inventory = getPluginInstance().getServer().createInventory(menuHolder, menuDefinition.getSize(), title);
+        menuHolder.setInventory(inventory);
+        return inventory;
+    }
+
+    private String getMenuPath(EnumContainer.MenuType menuType, String menuId) {
+        switch (menuType) {
+            case LIST:
+                return "list-menu-section";
+            case EDIT:
+                return "edit-menu-section";
+            case LIKE:
+                return "like-menu-section";
+            case PLAYER_SELECTION:
+                return "ps-menu-section";
+            default:
+                return "custom-menus-section." + menuId;
+        }
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private Map<String, MenuDefinition> getMenuDefinitionMap() {
+        return menuDefinitionMap;
+    }
+
+    private void setMenuDefinitionMap(Map<String, MenuDefinition> menuDefinitionMap) {
+        this.menuDefinitionMap = menuDefinitionMap;
+    }
+}
@@ -8,20 +8,27 @@ import org.bukkit.OfflinePlayer;
 import xzot1k.plugins.hd.HyperDrive;
 import xzot1k.plugins.hd.api.EnumContainer;
 import xzot1k.plugins.hd.api.objects.Warp;
+import xzot1k.plugins.hd.core.objects.Settings;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Paging {
+    // traffic changes on every warp use without invalidating views, so the featured view is rebuilt after this long instead.
+    private static final long FEATURED_VIEW_EXPIRY = 10000;
+
     private HyperDrive pluginInstance;
     private HashMap<UUID, HashMap<Integer, List<UUID>>> playerSelectionPageMap;
     private HashMap<UUID, List<UUID>> playerSelectedMap;
-    private HashMap<UUID, HashMap<Integer, List<Warp>>> warpPageMap;
+    private Map<UUID, WarpCursor> warpCursorMap;
+    private Map<String, WarpView> warpViewMap;
     private HashMap<UUID, Integer> currentPageMap;
     private Random random;
 
     public Paging(HyperDrive pluginInstance) {
         setPluginInstance(pluginInstance);
-        setWarpPageMap(new HashMap<>());
+        setWarpCursorMap(new ConcurrentHashMap<>());
+        setWarpViewMap(new ConcurrentHashMap<>());
         setCurrentPageMap(new HashMap<>());
         setPlayerSelectionPageMap(new HashMap<>());
         setPlayerSelectedMap(new HashMap<>());
@@ -43,7 +50,7 @@ public class Paging {
 
     public void resetPlayerSelectionPages(OfflinePlayer player) {
         if (!getPlayerSelectionPageMap().isEmpty())
-            getWarpPageMap().remove(player.getUniqueId());
+            getPlayerSelectionPageMap().remove(player.getUniqueId());
         if (!getCurrentPageMap().isEmpty())
             getCurrentPageMap().remove(player.getUniqueId());
     }
@@ -171,198 +178,216 @@ public class Paging {
 
     // warp paging
     public void resetWarpPages(OfflinePlayer player) {
-        getWarpPageMap().remove(player.getUniqueId());
+        getWarpCursorMap().remove(player.getUniqueId());
         getCurrentPageMap().remove(player.getUniqueId());
     }
 
+    /**
+     * Points the player's warp pages at the filter, keeping the current page number (Use resetWarpPages to start over).
+     *
+     * @param player   The player.
+     * @param menuPath The menu the pages are shown in (Determines the page size).
+     * @param status   The filter status, either a status name or one of the status formats.
+     */
+    public void setWarpFilter(OfflinePlayer player, String menuPath, String status) {
+        final String filter = getWarpFilter(status);
+        final WarpCursor currentCursor = getWarpCursorMap().get(player.getUniqueId());
+        if (currentCursor != null && currentCursor.getMenuPath().equals(menuPath) && currentCursor.getFilter().equals(filter)) return;
+
+        final int pageSize = getPluginInstance().getMenusConfig().getIntegerList(menuPath + ".warp-slots").size();
+        getWarpCursorMap().put(player.getUniqueId(), new WarpCursor(menuPath, filter, pageSize));
+    }
+
     public void updateCurrentWarpPage(OfflinePlayer player, boolean isNext) {
-        int currentPage = getCurrentPage(player);
-        HashMap<Integer, List<Warp>> currentPages = getCurrentWarpPages(player);
-        if (currentPages != null)
-            if (!currentPages.isEmpty() && currentPages.containsKey(isNext ? currentPage + 1 : currentPage - 1))
-                getCurrentPageMap().put(player.getUniqueId(), isNext ? currentPage + 1 : currentPage - 1);
-            else
-                getCurrentPageMap().put(player.getUniqueId(), 1);
+        final WarpCursor cursor = getWarpCursorMap().get(player.getUniqueId());
+        if (cursor == null) return;
+
+        final int currentPage = getCurrentPage(player), targetPage = isNext ? currentPage + 1 : currentPage - 1;
+        getCurrentPageMap().put(player.getUniqueId(), hasWarpPage(player, cursor, targetPage) ? targetPage : 1);
     }
 
-    public HashMap<Integer, List<Warp>> getCurrentWarpPages(OfflinePlayer player) {
-        if (!getWarpPageMap().isEmpty() && getWarpPageMap().containsKey(player.getUniqueId()))
-            return getWarpPageMap().get(player.getUniqueId());
-        return null;
+    /**
+     * Slices a page from the shared sorted view of the player's current filter.
+     *
+     * @param player The player.
+     * @param page   The page number (Starts at 1).
+     * @return A new list holding the warps on the page (Empty if the page does not exist).
+     */
+    public List<Warp> getWarpPage(OfflinePlayer player, int page) {
+        final WarpCursor cursor = getWarpCursorMap().get(player.getUniqueId());
+        if (cursor == null || page < 1 || cursor.getPageSize() <= 0) return new ArrayList<>();
+
+        final List<Warp> warpView = getWarpView(player, cursor);
+        final int fromIndex = (page - 1) * cursor.getPageSize();
+        if (fromIndex >= warpView.size()) return new ArrayList<>();
+        return new ArrayList<>(warpView.subList(fromIndex, Math.min(warpView.size(), fromIndex + cursor.getPageSize())));
     }
 
     public boolean hasNextWarpPage(OfflinePlayer player) {
-        if (!getWarpPageMap().isEmpty() && getWarpPageMap().containsKey(player.getUniqueId()))
-            return getWarpPageMap().get(player.getUniqueId()).containsKey(getCurrentPage(player) + 1);
-        return false;
+        final WarpCursor cursor = getWarpCursorMap().get(player.getUniqueId());
+        return cursor != null && hasWarpPage(player, cursor, getCurrentPage(player) + 1);
     }
 
     public boolean hasPreviousWarpPage(OfflinePlayer player) {
-        if (!getWarpPageMap().isEmpty() && getWarpPageMap().containsKey(player.getUniqueId()))
-            return getWarpPageMap().get(player.getUniqueId()).containsKey(getCurrentPage(player) - 1);
-        return false;
+        final WarpCursor cursor = getWarpCursorMap().get(player.getUniqueId());
+        return cursor != null && hasWarpPage(player, cursor, getCurrentPage(player) - 1);
     }
 
-    public HashMap<Integer, List<Warp>> getWarpPages(OfflinePlayer player, String menuPath, String status) {
-        String ownedFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.own-status-format"),
-                publicFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.public-status-format"),
-                privateFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.private-status-format"),
-                adminFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.admin-status-format"),
-                featuredFormat = getPluginInstance().getMenusConfig().getString("list-menu-section.featured-status-format");
-
-        switch (status.toLowerCase()) {
-            case "public":
-                status = publicFormat;
-                break;
-            case "private":
-                status = privateFormat;
-                break;
-            case "admin":
-                status = adminFormat;
-                break;
-            case "featured":
-                status = featuredFormat;
-                break;
-            default:
-                break;
-        }
-
-        int slotCount = getPluginInstance().getMenusConfig().getIntegerList(menuPath + ".warp-slots").size();
-        List<Warp> warpList = !getPluginInstance().getManager().getWarpMap().isEmpty() ? new ArrayList<>(getPluginInstance().getManager().getWarpMap().values()) : new ArrayList<>();
-        warpList.sort(Warp::compareTo);
-
-        if (status != null)
-            warpSort(warpList, status.equals(featuredFormat));
-
-        HashMap<Integer, List<Warp>> finalMap = new HashMap<>();
-        int currentPage = 1, trafficThreshold = getPluginInstance().getMenusConfig().getInt("list-menu-section.traffic-threshold");
-        List<Warp> currentWarpList = new ArrayList<>();
-        for (int i = -1; ++i < warpList.size(); ) {
-            Warp warp = warpList.get(i);
-            if (warp != null && status != null) {
-                if (status.equalsIgnoreCase(featuredFormat)) {
-                    if (warp.getTraffic() >= trafficThreshold)
-                        if (currentWarpList.size() < slotCount)
-                            currentWarpList.add(warp);
-                        else {
-                            finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                            currentWarpList.clear();
-                            currentPage += 1;
-                        }
+    private boolean hasWarpPage(OfflinePlayer player, WarpCursor cursor, int page) {
+        return page >= 1 && cursor.getPageSize() > 0 && ((page - 1) * cursor.getPageSize()) < getWarpView(player, cursor).size();
+    }
 
-                    continue;
-                } else if (status.equalsIgnoreCase(ownedFormat)) {
-                    if (warp.getOwner().toString().equalsIgnoreCase(player.getUniqueId().toString())
-                            || warp.getAssistants().contains(player.getUniqueId()))
-                        if (currentWarpList.size() < slotCount)
-                            currentWarpList.add(warp);
-                        else {
-                            finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                            currentWarpList.clear();
-                            currentPage += 1;
-                        }
+    private String getWarpFilter(String status) {
+        if (status == null) return "all";
 
-                    continue;
-                } else if (status.equalsIgnoreCase(publicFormat)) {
-                    if (warp.getStatus() == EnumContainer.Status.PUBLIC)
-                        if (currentWarpList.size() < slotCount)
-                            currentWarpList.add(warp);
-                        else {
-                            finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                            currentWarpList.clear();
-                            currentPage += 1;
-                        }
+        final Settings settings = getPluginInstance().getSettings();
+        if (status.equalsIgnoreCase("public") || status.equalsIgnoreCase(settings.getPublicStatusFormat())) return "public";
+        else if (status.equalsIgnoreCase("private") || status.equalsIgnoreCase(settings.getPrivateStatusFormat())) return "private";
+        else if (status.equalsIgnoreCase("admin") || status.equalsIgnoreCase(settings.getAdminStatusFormat())) return "admin";
+        else if (status.equalsIgnoreCase("featured") || status.equalsIgnoreCase(settings.getFeaturedStatusFormat())) return "featured";
+        else if (status.equalsIgnoreCase(settings.getOwnStatusFormat())) return "own";
+        return "rated";
+    }
 
-                    continue;
-                } else if (status.equalsIgnoreCase(privateFormat)) {
-                    if (warp.getStatus() == EnumContainer.Status.PRIVATE)
-                        if (currentWarpList.size() < slotCount)
-                            currentWarpList.add(warp);
-                        else {
-                            finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                            currentWarpList.clear();
-                            currentPage += 1;
-                        }
+    private List<Warp> getWarpView(OfflinePlayer player, WarpCursor cursor) {
+        final long viewVersion = getPluginInstance().getManager().getWarpRegistry().getViewVersion();
 
-                    continue;
-                } else if (status.equalsIgnoreCase(adminFormat)) {
-                    if (warp.getStatus() == EnumContainer.Status.ADMIN)
-                        if (currentWarpList.size() < slotCount)
-                            currentWarpList.add(warp);
-                        else {
-                            finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                            currentWarpList.clear();
-                            currentPage += 1;
-                        }
+        // the owned view only holds the player's warps, so it is kept on the cursor instead of being shared.
+        if (cursor.getFilter().equals("own")) {
+            if (cursor.getOwnedView() == null || cursor.getOwnedViewVersion() != viewVersion) {
+                final List<Warp> ownedView = new ArrayList<>(getPluginInstance().getManager().getManagedWarps(player.getUniqueId()));
+                ownedView.sort(getWarpComparator(false));
+                cursor.setOwnedView(Collections.unmodifiableList(ownedView), viewVersion);
+            }
 
-                    continue;
-                }
+            return cursor.getOwnedView();
+        }
 
-                if (currentWarpList.size() < slotCount)
-                    currentWarpList.add(warp);
-                else {
-                    finalMap.put(currentPage, new ArrayList<>(currentWarpList));
-                    currentWarpList.clear();
-                    currentPage += 1;
-                }
+        final WarpView currentView = getWarpViewMap().get(cursor.getFilter());
+        if (currentView != null && currentView.getVersion() == viewVersion && (!cursor.getFilter().equals("featured")
+                || System.currentTimeMillis() - currentView.getCreatedAt() < FEATURED_VIEW_EXPIRY)) return currentView.getWarps();
+
+        final List<Warp> warpView = buildWarpView(cursor.getFilter());
+        getWarpViewMap().put(cursor.getFilter(), new WarpView(viewVersion, warpView));
+        return warpView;
+    }
+
+    private List<Warp> buildWarpView(String filter) {
+        final int trafficThreshold = getPluginInstance().getMenusConfig().getInt("list-menu-section.traffic-threshold");
+        final List<Warp> warps = getPluginInstance().getManager().getWarpRegistry().getSnapshot().getWarps(), warpView = new ArrayList<>();
+        for (int i = -1; ++i < warps.size(); ) {
+            final Warp warp = warps.get(i);
+            switch (filter) {
+                case "public":
+                    if (warp.getStatus() == EnumContainer.Status.PUBLIC) warpView.add(warp);
+                    break;
+                case "private":
+                    if (warp.getStatus() == EnumContainer.Status.PRIVATE) warpView.add(warp);
+                    break;
+                case "admin":
+                    if (warp.getStatus() == EnumContainer.Status.ADMIN) warpView.add(warp);
+                    break;
+                case "featured":
+                    if (warp.getTraffic() >= trafficThreshold) warpView.add(warp);
+                    break;
+                default:
+                    warpView.add(warp);
+                    break;
             }
         }
 
-        if (currentWarpList.size() > 0)
-            finalMap.put(currentPage, currentWarpList);
-        return finalMap;
+        if (filter.equals("all")) warpView.sort(Warp::compareTo);
+        else warpView.sort(getWarpComparator(filter.equals("featured")));
+        return Collections.unmodifiableList(warpView);
     }
 
-    private void warpSort(List<Warp> warpList, boolean sortAsFeatured) {
-        warpSort(warpList, 0, warpList.size() - 1, sortAsFeatured);
+    private Comparator<Warp> getWarpComparator(boolean sortAsFeatured) {
+        final Comparator<Warp> comparator = sortAsFeatured ? Comparator.comparingInt(Warp::getTraffic).reversed()
+                : Comparator.comparingDouble(this::getLikeRatio).reversed();
+        return comparator.thenComparing(Warp::compareTo);
     }
 
-    private void warpSort(List<Warp> warpList, int low, int high, boolean sortAsFeatured) {
-        if (low < (high + 1)) {
-            int p = warpPartition(warpList, low, high, sortAsFeatured);
-            warpSort(warpList, low, (p - 1), sortAsFeatured);
-            warpSort(warpList, (p + 1), high, sortAsFeatured);
-        }
+    private double getLikeRatio(Warp warp) {
+        final double maxVotes = Math.max(warp.getLikes(), warp.getDislikes()), minVotes = Math.min(warp.getLikes(), warp.getDislikes());
+        return (maxVotes == 0) ? 0 : (minVotes / maxVotes);
     }
 
-    private int warpPartition(List<Warp> warpList, int low, int high, boolean sortAsFeatured) {
-        warpSwapIndex(warpList, low, (getRandom().nextInt((high - low) + 1) + low));
-        int border = (low + 1);
-        for (int i = border - 1; ++i <= high; ) {
-            Warp warpAtHigh = warpList.get(i), warpAtLow = warpList.get(low);
-
-            if (sortAsFeatured) {
-                if (!((warpAtHigh.getTraffic() > warpAtLow.getTraffic())))
-                    continue;
-            } else {
-                double maxRatioMax = Math.max(warpAtHigh.getLikes(), warpAtHigh.getDislikes()), maxRatioMin = Math.min(warpAtHigh.getLikes(), warpAtHigh.getDislikes()),
-                        minRatioMax = Math.max(warpAtLow.getLikes(), warpAtLow.getDislikes()), minRatioMin = Math.min(warpAtHigh.getLikes(), warpAtHigh.getDislikes());
-                if ((maxRatioMax == 0 && maxRatioMin == 0) || (minRatioMax == 0 && minRatioMin == 0)) continue;
-
-                double maxRatio = (maxRatioMin / maxRatioMax), minRatio = (minRatioMin / minRatioMax);
-                if (!(maxRatio > minRatio)) continue;
-            }
+    private static class WarpView {
+        private final long version, createdAt;
+        private final List<Warp> warps;
 
-            warpSwapIndex(warpList, i, border++);
+        private WarpView(long version, List<Warp> warps) {
+            this.version = version;
+            this.warps = warps;
+            this.createdAt = System.currentTimeMillis();
         }
 
-        warpSwapIndex(warpList, low, border - 1);
-        return border - 1;
+        private long getVersion() {
+            return version;
+        }
+
+        private long getCreatedAt() {
+            return createdAt;
+        }
+
+        private List<Warp> getWarps() {
+            return warps;
+        }
     }
 
-    private void warpSwapIndex(List<Warp> warpList, int index1, int index2) {
-        Warp temp = warpList.get(index1);
-        warpList.set(index1, warpList.get(index2));
-        warpList.set(index2, temp);
+    private static class WarpCursor {
+        private final String menuPath, filter;
+        private final int pageSize;
+        private List<Warp> ownedView;
+        private long ownedViewVersion;
+
+        private WarpCursor(String menuPath, String filter, int pageSize) {
+            this.menuPath = menuPath;
+            this.filter = filter;
+            this.pageSize = pageSize;
+        }
+
+        private String getMenuPath() {
+            return menuPath;
+        }
+
+        private String getFilter() {
+            return filter;
+        }
+
+        private int getPageSize() {
+            return pageSize;
+        }
+
+        private List<Warp> getOwnedView() {
+            return ownedView;
+        }
+
+        private long getOwnedViewVersion() {
+            return ownedViewVersion;
+        }
+
+        private void setOwnedView(List<Warp> ownedView, long ownedViewVersion) {
+            this.ownedView = ownedView;
+            this.ownedViewVersion = ownedViewVersion;
+        }
     }
 
     // getters & setters
-    public HashMap<UUID, HashMap<Integer, List<Warp>>> getWarpPageMap() {
-        return warpPageMap;
+    private Map<UUID, WarpCursor> getWarpCursorMap() {
+        return warpCursorMap;
+    }
+
+    private void setWarpCursorMap(Map<UUID, WarpCursor> warpCursorMap) {
+        this.warpCursorMap = warpCursorMap;
+    }
+
+    private Map<String, WarpView> getWarpViewMap() {
+        return warpViewMap;
     }
 
-    private void setWarpPageMap(HashMap<UUID, HashMap<Integer, List<Warp>>> warpPageMap) {
-        this.warpPageMap = warpPageMap;
+    private void setWarpViewMap(Map<String, WarpView> warpViewMap) {
+        this.warpViewMap = warpViewMap;
     }
 
     public HashMap<UUID, Integer> getCurrentPageMap() {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals;
+
+import org.bukkit.entity.Player;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.RandomTeleportation;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs random teleport searches on a fixed amount of worker threads. Searches wait in a first come, first served
+ * queue and are only handed to a worker while their world is below its limit of concurrent searches, a search that
+ * has to wait for its world does not hold up the searches behind it.
+ */
+public class RandomTeleportHandler {
+    private HyperDrive pluginInstance;
+    private ThreadPoolExecutor executor;
+    private final ArrayDeque<QueuedSearch> searchQueue;
+    private final HashMap<String, Integer> worldSearchMap;
+    private final int threadCount;
+    private int activeSearches, maxQueueDepth;
+    private long completedSearches, totalWaitTime, totalSearchTime, maxSearchTime;
+
+    public RandomTeleportHandler(HyperDrive pluginInstance) {
+        setPluginInstance(pluginInstance);
+        searchQueue = new ArrayDeque<>();
+        worldSearchMap = new HashMap<>();
+        threadCount = Math.max(1, getPluginInstance().getConfig().getInt("random-teleport-section.search-threads", 2));
+
+        final AtomicInteger threadCounter = new AtomicInteger();
+        setExecutor(new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "HyperDrive-RTP-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Queues the search.
+     *
+     * @param randomTeleportation The search.
+     * @return The search's position in the queue or 0 if it started right away.
+     */
+    public synchronized int submit(RandomTeleportation randomTeleportation) {
+        final QueuedSearch queuedSearch = new QueuedSearch(randomTeleportation, System.nanoTime());
+        searchQueue.add(queuedSearch);
+        maxQueueDepth = Math.max(maxQueueDepth, searchQueue.size());
+        dispatch();
+
+        int position = 0;
+        for (QueuedSearch search : searchQueue) {
+            position++;
+            if (search == queuedSearch) return position;
+        }
+
+        return 0;
+    }
+
+    // hands queued searches to free workers in queue order, skipping searches whose world is at its limit.
+    private void dispatch() {
+        final int maxPerWorld = getPluginInstance().getSettings().getMaxSearchesPerWorld();
+        final Iterator<QueuedSearch> iterator = searchQueue.iterator();
+        while (activeSearches < threadCount && iterator.hasNext()) {
+            final QueuedSearch queuedSearch = iterator.next();
+            final String worldName = queuedSearch.getWorldName();
+            final int worldSearches = worldSearchMap.getOrDefault(worldName, 0);
+            if (maxPerWorld > 0 && worldSearches >= maxPerWorld) continue;
+
+            iterator.remove();
+            activeSearches++;
+            worldSearchMap.put(worldName, worldSearches + 1);
+
+            try {
+                getExecutor().execute(() -> run(queuedSearch));
+            } catch (RejectedExecutionException e) {
+                // only happens once the workers are shut down.
+                activeSearches--;
+                return;
+            }
+        }
+    }
+
+    private void run(QueuedSearch queuedSearch) {
+        final long startTime = System.nanoTime();
+        try {
+            final Player player = queuedSearch.getRandomTeleportation().getPlayer();
+            if (player.isOnline()) queuedSearch.getRandomTeleportation().run();
+            else getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(),
+                    () -> getPluginInstance().getTeleportationHandler().getRandomTeleportingPlayers().remove(player.getUniqueId()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            getPluginInstance().log(Level.WARNING, "A random teleportation search failed to run.");
+        } finally {
+            synchronized (this) {
+                finish(queuedSearch, startTime);
+                dispatch();
+            }
+        }
+    }
+
+    private void finish(QueuedSearch queuedSearch, long startTime) {
+        final long currentTime = System.nanoTime(), searchTime = currentTime - startTime;
+        completedSearches++;
+        totalWaitTime += startTime - queuedSearch.getQueuedAt();
+        totalSearchTime += searchTime;
+        maxSearchTime = Math.max(maxSearchTime, searchTime);
+
+        activeSearches--;
+        final int worldSearches = worldSearchMap.getOrDefault(queuedSearch.getWorldName(), 1) - 1;
+        if (worldSearches <= 0) worldSearchMap.remove(queuedSearch.getWorldName());
+        else worldSearchMap.put(queuedSearch.getWorldName(), worldSearches);
+    }
+
+    /**
+     * Stops the workers. Running searches are interrupted and queued searches are dropped.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            searchQueue.clear();
+        }
+        getExecutor().shutdownNow();
+    }
+
+    /**
+     * @return The amount of searches waiting for a worker.
+     */
+    public synchronized int getQueueDepth() {
+        return searchQueue.size();
+    }
+
+    /**
+     * @return A readable summary of the random teleport queue's current state.
+     */
+    public synchronized String getMetricsSummary() {
+        return "(Threads: " + threadCount + ", Active: " + activeSearches + ", Queued: " + searchQueue.size() + ", Max Queued: " + maxQueueDepth
+                + ", Completed: " + completedSearches + ", Avg Wait: " + (completedSearches > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitTime / completedSearches) : 0)
+                + "ms, Avg Search: " + (completedSearches > 0 ? TimeUnit.NANOSECONDS.toMillis(totalSearchTime / completedSearches) : 0)
+                + "ms, Max Search: " + TimeUnit.NANOSECONDS.toMillis(maxSearchTime) + "ms)";
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private void setExecutor(ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    private static class QueuedSearch {
+        private final RandomTeleportation randomTeleportation;
+        private final String worldName;
+        private final long queuedAt;
+
+        private QueuedSearch(RandomTeleportation randomTeleportation, long queuedAt) {
+            this.randomTeleportation = randomTeleportation;
+            this.worldName = (randomTeleportation.getBaseLocationWorld() != null) ? randomTeleportation.getBaseLocationWorld().getName() : "";
+            this.queuedAt = queuedAt;
+        }
+
+        private RandomTeleportation getRandomTeleportation() {
+            return randomTeleportation;
+        }
+
+        private String getWorldName() {
+            return worldName;
+        }
+
+        private long getQueuedAt() {
+            return queuedAt;
+        }
+    }
+}
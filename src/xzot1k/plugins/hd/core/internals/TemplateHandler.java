@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.core.objects.Template;
+import xzot1k.plugins.hd.core.objects.TemplateBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TemplateHandler {
+    private HyperDrive pluginInstance;
+    private Map<String, Template> templateMap;
+    private Map<String, List<Template>> templateListMap;
+    private ThreadLocal<TemplateBuilder> builderLocal;
+
+    public TemplateHandler(HyperDrive pluginInstance) {
+        setPluginInstance(pluginInstance);
+        setTemplateMap(new ConcurrentHashMap<>());
+        setTemplateListMap(new ConcurrentHashMap<>());
+        setBuilderLocal(ThreadLocal.withInitial(TemplateBuilder::new));
+    }
+
+    /**
+     * Drops every compiled template, they are compiled again from the reloaded files on first use.
+     */
+    public void clear() {
+        getTemplateMap().clear();
+        getTemplateListMap().clear();
+    }
+
+    /**
+     * Gets the cleared builder of the current thread. The builder is reused, so it should not be held onto.
+     *
+     * @return The builder.
+     */
+    public TemplateBuilder builder() {
+        return getBuilderLocal().get().clear();
+    }
+
+    public Template getLangTemplate(String path) {
+        return getTemplate("lang:", getPluginInstance().getLangConfig(), path);
+    }
+
+    public Template getConfigTemplate(String path) {
+        return getTemplate("config:", getPluginInstance().getConfig(), path);
+    }
+
+    public Template getMenuTemplate(String path) {
+        return getTemplate("menus:", getPluginInstance().getMenusConfig(), path);
+    }
+
+    public List<Template> getMenuTemplateList(String path) {
+        final String key = "menus:" + path;
+        List<Template> templates = getTemplateListMap().get(key);
+        if (templates != null) return templates;
+
+        final List<String> lines = getPluginInstance().getMenusConfig().getStringList(path);
+        templates = new ArrayList<>(lines.size());
+        for (int i = -1; ++i < lines.size(); ) templates.add(Template.compile(lines.get(i)));
+
+        templates = Collections.unmodifiableList(templates);
+        getTemplateListMap().put(key, templates);
+        return templates;
+    }
+
+    private Template getTemplate(String source, FileConfiguration configuration, String path) {
+        final String key = source + path;
+        Template template = getTemplateMap().get(key);
+        if (template != null) return template;
+
+        template = Template.compile(configuration.getString(path));
+        getTemplateMap().put(key, template);
+        return template;
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private Map<String, Template> getTemplateMap() {
+        return templateMap;
+    }
+
+    private void setTemplateMap(Map<String, Template> templateMap) {
+        this.templateMap = templateMap;
+    }
+
+    private Map<String, List<Template>> getTemplateListMap() {
+        return templateListMap;
+    }
+
+    private void setTemplateListMap(Map<String, List<Template>> templateListMap) {
+        this.templateListMap = templateListMap;
+    }
+
+    private ThreadLocal<TemplateBuilder> getBuilderLocal() {
+        return builderLocal;
+    }
+
+    private void setBuilderLocal(ThreadLocal<TemplateBuilder> builderLocal) {
+        this.builderLocal = builderLocal;
+    }
+}
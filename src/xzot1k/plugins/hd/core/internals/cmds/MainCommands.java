@@ -41,6 +41,20 @@ public class MainCommands implements CommandExecutor {
 
     @Override
     public boolean onCommand(CommandSender commandSender, Command command, String label, String[] args) {
+        // released details of the warps named in the arguments are loaded first, the command runs again once they are in memory.
+        if (command.getName().equalsIgnoreCase("warps")) {
+            final List<Warp> namedWarps = new ArrayList<>();
+            for (int i = -1; ++i < args.length; ) {
+                final Warp warp = getPluginInstance().getManager().getWarp(args[i]);
+                if (warp != null) namedWarps.add(warp);
+            }
+
+            if (!getPluginInstance().getDatabaseHandler().getDetailsCache().isLoaded(namedWarps)) {
+                getPluginInstance().getDatabaseHandler().getDetailsCache().whenLoaded(namedWarps, () -> onCommand(commandSender, command, label, args));
+                return true;
+            }
+        }
+
         switch (command.getName().toLowerCase()) {
             case "hyperdrive":
 
@@ -453,12 +467,7 @@ public class MainCommands implements CommandExecutor {
                 setIP = args[2].toLowerCase().replace("current",
                         getPluginInstance().getServer().getIp() + ":" + getPluginInstance().getServer().getPort());
 
-        List<Warp> foundWarps = new ArrayList<>(), warps;
-        Collection<Warp> warpCollection = getPluginInstance().getManager().getWarpMap().values();
-        if (warpCollection instanceof List)
-            warps = (List<Warp>) warpCollection;
-        else
-            warps = new ArrayList<>(warpCollection);
+        List<Warp> foundWarps = new ArrayList<>(), warps = getPluginInstance().getManager().getWarpRegistry().getSnapshot().getWarps();
 
         for (int i = -1; ++i < warps.size(); ) {
             Warp warp = warps.get(i);
@@ -583,13 +592,13 @@ public class MainCommands implements CommandExecutor {
         }
 
         if (!(commandSender instanceof Player)) {
-            String warpList = new ArrayList<>(getPluginInstance().getManager().getWarpMap().keySet()).toString()
+            String warpList = getPluginInstance().getManager().getWarpRegistry().getSnapshot().getWarpNames().toString()
                     .replace("[", "").replace("]", "");
             commandSender.sendMessage(getPluginInstance().getManager()
                     .colorText(Objects
                             .requireNonNull(getPluginInstance().getLangConfig().getString("warp-list"))
                             .replace("{list}", warpList).replace("{count}",
-                                    String.valueOf(getPluginInstance().getManager().getWarpMap().keySet().size()))));
+                                    String.valueOf(getPluginInstance().getManager().getWarpRegistry().size()))));
             return;
         }
 
@@ -600,7 +609,7 @@ public class MainCommands implements CommandExecutor {
                 .sendCustomMessage(
                         Objects.requireNonNull(getPluginInstance().getLangConfig().getString("warp-list"))
                                 .replace("{list}", warpList).replace("{count}",
-                                String.valueOf(getPluginInstance().getManager().getWarpMap().keySet().size())),
+                                String.valueOf(getPluginInstance().getManager().getWarpRegistry().size())),
                         player);
     }
 
@@ -835,6 +844,10 @@ public class MainCommands implements CommandExecutor {
         String[] infoLines = {"&e&m-------------------------", "", "&7Plugin Name: &dHyperDrive",
                 "&7Version: &a" + getPluginInstance().getDescription().getVersion(), "&7Author(s): &bXZot1K", "",
                 "&7Testing Accommodation(s): &cSikatsu&7, &6JarFiles&7, &dHRZNzero", "",
+                "&7Database Queue: &f" + (getPluginInstance().getDatabaseHandler() != null ? getPluginInstance().getDatabaseHandler().getMetricsSummary() : "N/A"),
+                "&7Teleport Queue: &f" + (getPluginInstance().getTeleportationHandler() != null ? getPluginInstance().getTeleportationHandler().getQueueMetricsSummary() : "N/A"),
+                "&7RTP Location Pools: &f" + (getPluginInstance().getLocationPoolHandler() != null ? getPluginInstance().getLocationPoolHandler().getPoolSummary() : "N/A"),
+                "&7RTP Search Queue: &f" + (getPluginInstance().getRandomTeleportHandler() != null ? getPluginInstance().getRandomTeleportHandler().getMetricsSummary() : "N/A"), "",
                 "&e&m-------------------------"};
         for (int i = -1; ++i < infoLines.length; ) {
             String infoLine = infoLines[i];
@@ -856,7 +869,7 @@ public class MainCommands implements CommandExecutor {
         getPluginInstance().getManager().setSimpleDateFormat(new SimpleDateFormat(Objects.requireNonNull(getPluginInstance().getConfig().getString("general-section.date-format"))));
         getPluginInstance().getServer().getScheduler().runTaskAsynchronously(getPluginInstance(), () -> {
             getPluginInstance().saveWarps(false);
-            getPluginInstance().getManager().getWarpMap().clear();
+            getPluginInstance().getManager().getWarpRegistry().clear();
             getPluginInstance().loadWarps();
             getPluginInstance().startTasks();
         });
@@ -442,7 +442,7 @@ public class TeleportationCommands implements CommandExecutor {
             return;
         }
 
-        if (getPluginInstance().getConfig().getBoolean("mysql-connection-section.use-mysql") && getPluginInstance().getDatabaseConnection() == null) {
+        if (getPluginInstance().getConfig().getBoolean("mysql-connection-section.use-mysql") && getPluginInstance().getDatabaseHandler() == null) {
             if (commandSender instanceof Player)
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance()
                         .getLangConfig().getString("mysql-disabled")), (Player) commandSender);
@@ -523,7 +523,7 @@ public class TeleportationCommands implements CommandExecutor {
             return;
         }
 
-        if (getPluginInstance().getConfig().getBoolean("mysql-connection-section.use-mysql") && getPluginInstance().getDatabaseConnection() == null) {
+        if (getPluginInstance().getConfig().getBoolean("mysql-connection-section.use-mysql") && getPluginInstance().getDatabaseHandler() == null) {
             if (commandSender instanceof Player)
                 getPluginInstance().getManager().sendCustomMessage(Objects.requireNonNull(getPluginInstance()
                         .getLangConfig().getString("mysql-disabled")), (Player) commandSender);
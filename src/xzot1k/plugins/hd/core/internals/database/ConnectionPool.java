@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPool {
+
+    private final String url, username, password;
+    private final int size;
+    private final BlockingQueue<Connection> idleConnections;
+    private final List<Connection> connections;
+    private final ConcurrentHashMap<Connection, HashMap<String, PreparedStatement>> statementCache;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String username, String password, int size) throws SQLException {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.size = Math.max(1, size);
+        idleConnections = new ArrayBlockingQueue<>(this.size);
+        connections = new ArrayList<>();
+        statementCache = new ConcurrentHashMap<>();
+
+        for (int i = -1; ++i < this.size; ) {
+            Connection connection = createConnection();
+            connections.add(connection);
+            idleConnections.add(connection);
+        }
+    }
+
+    private Connection createConnection() throws SQLException {
+        return (username == null) ? DriverManager.getConnection(url) : DriverManager.getConnection(url, username, password);
+    }
+
+    /**
+     * Takes an idle connection, replacing it first if it has gone stale.
+     *
+     * @param timeoutMillis The longest time to wait for a connection.
+     * @return The connection (Must be handed back using release).
+     * @throws SQLException When the pool is closed, exhausted past the timeout, or the reconnect fails.
+     */
+    public Connection borrow(long timeoutMillis) throws SQLException {
+        if (closed) throw new SQLException("The connection pool has been closed.");
+
+        Connection connection;
+        try {
+            connection = idleConnections.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.");
+        }
+
+        if (connection == null)
+            throw new SQLException("No database connection became available within " + timeoutMillis + "ms.");
+
+        try {
+            if (connection.isClosed() || !connection.isValid(2)) connection = replace(connection);
+        } catch (SQLException e) {
+            idleConnections.offer(connection);
+            throw e;
+        }
+
+        return connection;
+    }
+
+    public void release(Connection connection) {
+        if (connection == null) return;
+
+        try {
+            if (!connection.getAutoCommit()) connection.setAutoCommit(true);
+        } catch (SQLException ignored) {
+        }
+
+        if (closed) closeQuietly(connection);
+        else idleConnections.offer(connection);
+    }
+
+    private synchronized Connection replace(Connection connection) throws SQLException {
+        discardStatements(connection);
+        closeQuietly(connection);
+
+        Connection newConnection = createConnection();
+        connections.remove(connection);
+        connections.add(newConnection);
+        return newConnection;
+    }
+
+    /**
+     * Gets a prepared statement cached for the passed connection (Statements must only be used by the borrowing thread).
+     *
+     * @param connection The borrowed connection.
+     * @param syntax     The SQL syntax.
+     * @return The cached statement.
+     * @throws SQLException When the statement fails to prepare.
+     */
+    public PreparedStatement prepare(Connection connection, String syntax) throws SQLException {
+        HashMap<String, PreparedStatement> statements = statementCache.computeIfAbsent(connection, c -> new HashMap<>());
+        PreparedStatement preparedStatement = statements.get(syntax);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = connection.prepareStatement(syntax);
+            statements.put(syntax, preparedStatement);
+        }
+
+        return preparedStatement;
+    }
+
+    private void discardStatements(Connection connection) {
+        HashMap<String, PreparedStatement> statements = statementCache.remove(connection);
+        if (statements != null)
+            for (PreparedStatement preparedStatement : statements.values())
+                try {
+                    preparedStatement.close();
+                } catch (SQLException ignored) {
+                }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    public synchronized void close() {
+        closed = true;
+        for (Connection connection : connections) {
+            discardStatements(connection);
+            closeQuietly(connection);
+        }
+
+        connections.clear();
+        idleConnections.clear();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,776 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import org.bukkit.ChatColor;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.EnumContainer;
+import xzot1k.plugins.hd.api.objects.SerializableLocation;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+public class DatabaseHandler {
+
+    private static final String[] WARP_COLUMNS = {"name", "location", "status", "creation_date", "icon_theme", "animation_set", "description_color",
+            "name_color", "description", "commands", "owner", "player_list", "assistants", "traffic", "usage_price", "enchanted_look", "server_ip", "likes",
+            "dislikes", "voters", "white_list_mode"};
+
+    private HyperDrive pluginInstance;
+    private ConnectionPool connectionPool;
+    private ThreadPoolExecutor executor;
+    private WarpWriteQueue writeQueue;
+    private WarpSyncHandler syncHandler;
+    private TransferHandler transferHandler;
+    private WarpMemberHandler memberHandler;
+    private WarpDetailsCache detailsCache;
+    private final ThreadLocal<Connection> currentConnection;
+    private boolean useMySQL;
+    private int batchSize;
+    private long queueWarningTime, lastQueueWarning;
+    private String warpUpsertSyntax;
+
+    private final AtomicLong submittedTasks, completedTasks, failedTasks, totalWaitTime, maxWaitTime;
+
+    public DatabaseHandler(HyperDrive pluginInstance, boolean useMySQL, ConnectionPool connectionPool) {
+        setPluginInstance(pluginInstance);
+        setUseMySQL(useMySQL);
+        setConnectionPool(connectionPool);
+        currentConnection = new ThreadLocal<>();
+        submittedTasks = new AtomicLong();
+        completedTasks = new AtomicLong();
+        failedTasks = new AtomicLong();
+        totalWaitTime = new AtomicLong();
+        maxWaitTime = new AtomicLong();
+
+        // one worker per pooled connection so a worker never waits on another for a connection.
+        final AtomicInteger threadCounter = new AtomicInteger();
+        setExecutor(new ThreadPoolExecutor(connectionPool.getSize(), connectionPool.getSize(), 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "HyperDrive-Database-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+
+        setBatchSize(Math.max(1, getPluginInstance().getConfig().getInt("general-section.save-batch-size", 500)));
+        setQueueWarningTime(getPluginInstance().getConfig().getLong("mysql-connection.queue-warning-time", 1000));
+        setWarpUpsertSyntax(buildUpsertSyntax());
+        setWriteQueue(new WarpWriteQueue(pluginInstance, this));
+        setSyncHandler(new WarpSyncHandler(pluginInstance, this));
+        setTransferHandler(new TransferHandler(pluginInstance, this));
+        setMemberHandler(new WarpMemberHandler(pluginInstance, this));
+        setDetailsCache(new WarpDetailsCache(pluginInstance, this));
+    }
+
+    /**
+     * Queues the database work on the database executor.
+     *
+     * @param task The work to run with a pooled connection.
+     * @return The future completed with the result of the work.
+     */
+    public <T> CompletableFuture<T> submit(DatabaseTask<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long queuedAt = System.nanoTime();
+        submittedTasks.incrementAndGet();
+
+        try {
+            getExecutor().execute(() -> {
+                recordWaitTime(System.nanoTime() - queuedAt);
+                try {
+                    future.complete(runWithConnection(task));
+                    completedTasks.incrementAndGet();
+                } catch (Throwable e) {
+                    failedTasks.incrementAndGet();
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failedTasks.incrementAndGet();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Queues the database work on the database executor, logging any failure.
+     *
+     * @param task The work to run with a pooled connection.
+     * @return A future completed once the work finished or failed, including when it never got to run.
+     */
+    public CompletableFuture<?> execute(DatabaseTask<?> task) {
+        return submit(task).whenComplete((result, throwable) -> {
+            if (throwable == null) return;
+            Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+            cause.printStackTrace();
+            getPluginInstance().log(Level.WARNING, "There was an issue communicating with the database (" + cause.getMessage() + ").");
+        });
+    }
+
+    /**
+     * Runs the database work on the database executor and waits for it (Runs in place when already on a database thread).
+     *
+     * @param task The work to run with a pooled connection.
+     * @return The result of the work.
+     * @throws SQLException When the work fails.
+     */
+    public <T> T await(DatabaseTask<T> task) throws SQLException {
+        final Connection connection = currentConnection.get();
+        if (connection != null) return task.run(connection);
+
+        try {
+            return submit(task).join();
+        } catch (CompletionException | CancellationException e) {
+            if (e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+            throw new SQLException(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * @return Whether the current thread is a database worker running a task.
+     */
+    public boolean isDatabaseThread() {
+        return currentConnection.get() != null;
+    }
+
+    private <T> T runWithConnection(DatabaseTask<T> task) throws SQLException {
+        final Connection connection = getConnectionPool().borrow(30000);
+        currentConnection.set(connection);
+        try {
+            return task.run(connection);
+        } finally {
+            currentConnection.remove();
+            getConnectionPool().release(connection);
+        }
+    }
+
+    private void recordWaitTime(long waitTime) {
+        totalWaitTime.addAndGet(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+        final long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitTime), currentTime = System.currentTimeMillis();
+        if (getQueueWarningTime() > 0 && waitMillis >= getQueueWarningTime() && currentTime - lastQueueWarning >= 60000) {
+            lastQueueWarning = currentTime;
+            getPluginInstance().log(Level.WARNING, "Database work waited " + waitMillis + "ms in the queue. " + getMetricsSummary());
+        }
+    }
+
+    /**
+     * Stops accepting work, waits for queued work to finish, and closes the pool.
+     *
+     * @param timeoutMillis The longest time to wait for queued work.
+     */
+    public void shutdown(long timeoutMillis) {
+        getExecutor().shutdown();
+        try {
+            if (!getExecutor().awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                final int droppedTasks = getExecutor().shutdownNow().size();
+                getPluginInstance().log(Level.WARNING, "The database queue did not finish in time (" + droppedTasks + " task(s) dropped).");
+            }
+        } catch (InterruptedException e) {
+            getExecutor().shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        getConnectionPool().close();
+    }
+
+    /**
+     * @return A readable summary of the database queue's current state.
+     */
+    public String getMetricsSummary() {
+        final long completed = completedTasks.get() + failedTasks.get();
+        return "(Pool: " + getConnectionPool().getSize() + ", Active: " + getExecutor().getActiveCount() + ", Queued: " + getQueueDepth()
+                + ", Completed: " + completedTasks.get() + ", Failed: " + failedTasks.get() + ", Avg Wait: "
+                + (completed > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitTime.get() / completed) : 0) + "ms, Max Wait: "
+                + TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get()) + "ms, Pending Writes: " + getWriteQueue().getPendingCount()
+                + ", Coalesced Writes: " + getWriteQueue().getCoalescedWrites() + ")";
+    }
+
+    /**
+     * Upserts all passed warps in batches, committing one transaction per batch.
+     *
+     * @param connection The borrowed connection.
+     * @param warps      The warps to save.
+     * @return The amount of warps that were written.
+     * @throws SQLException When a batch fails (Earlier batches stay committed, the failed and remaining ones are not written).
+     */
+    public int saveWarps(Connection connection, Collection<Warp> warps) throws SQLException {
+        if (warps.isEmpty()) return 0;
+
+        int savedCount = 0;
+        try {
+            connection.setAutoCommit(false);
+            PreparedStatement preparedStatement = getConnectionPool().prepare(connection, getWarpUpsertSyntax());
+
+            List<Warp> batchWarps = new ArrayList<>();
+            List<Long> batchVersions = new ArrayList<>();
+            for (Warp warp : warps) {
+                if (warp == null || warp.getWarpLocation() == null) continue;
+
+                sanitizeName(warp);
+                final long version = warp.getChangeVersion();
+                try {
+                    bindWarp(preparedStatement, warp);
+                } catch (Exception e) {
+                    getPluginInstance().log(Level.WARNING, "The warp '" + warp.getWarpName() + "' was skipped during saving due to invalid data (" + e.getMessage() + ").");
+                    continue;
+                }
+
+                preparedStatement.addBatch();
+                batchVersions.add(version);
+                batchWarps.add(warp);
+
+                if (batchWarps.size() >= getBatchSize()) {
+                    savedCount += flushBatch(connection, preparedStatement, batchWarps, batchVersions);
+                    batchWarps.clear();
+                    batchVersions.clear();
+                }
+            }
+
+            if (!batchWarps.isEmpty())
+                savedCount += flushBatch(connection, preparedStatement, batchWarps, batchVersions);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        return savedCount;
+    }
+
+    private int flushBatch(Connection connection, PreparedStatement preparedStatement, List<Warp> batchWarps, List<Long> batchVersions) throws SQLException {
+        try {
+            preparedStatement.executeBatch();
+            getMemberHandler().saveMembers(connection, batchWarps);
+
+            // a saved warp is alive again, so any tombstone left by an earlier delete must not reach other servers.
+            PreparedStatement tombstoneStatement = getConnectionPool().prepare(connection, "delete from warp_tombstones where name = ?");
+            for (int i = -1; ++i < batchWarps.size(); ) {
+                tombstoneStatement.setString(1, batchWarps.get(i).getWarpName());
+                tombstoneStatement.addBatch();
+            }
+
+            tombstoneStatement.executeBatch();
+
+            // read inside the transaction, the upserted rows stay locked so no other server's write can slip in between.
+            final HashMap<Warp, Long> revisions = readRevisions(connection, batchWarps);
+            connection.commit();
+
+            for (int i = -1; ++i < batchWarps.size(); ) {
+                final Warp warp = batchWarps.get(i);
+                final Long revision = revisions.get(warp);
+                if (revision != null) warp.setRevision(revision);
+                warp.markSaved(batchVersions.get(i));
+            }
+
+            return batchWarps.size();
+        } catch (SQLException e) {
+            try {
+                preparedStatement.clearBatch();
+                connection.rollback();
+            } catch (SQLException ignored) {
+            }
+
+            // the caller requeues the writes, so the warps stay dirty and are retried.
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the warp row with the given name.
+     *
+     * @param connection The borrowed connection.
+     * @param warpName   The name of the warp.
+     * @throws SQLException When the delete fails.
+     */
+    public void deleteWarp(Connection connection, String warpName) throws SQLException {
+        PreparedStatement preparedStatement = getConnectionPool().prepare(connection, "delete from warps where name = ?");
+        preparedStatement.setString(1, warpName);
+        preparedStatement.executeUpdate();
+    }
+
+    // pulls the database side revisions back so the sync poll does not re-apply the server's own writes.
+    private HashMap<Warp, Long> readRevisions(Connection connection, List<Warp> warps) throws SQLException {
+        StringBuilder placeholders = new StringBuilder();
+        HashMap<String, Warp> warpMap = new HashMap<>();
+        for (int i = -1; ++i < warps.size(); ) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+            warpMap.put(warps.get(i).getWarpName().toLowerCase(), warps.get(i));
+        }
+
+        HashMap<Warp, Long> revisions = new HashMap<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement("select name, revision from warps where name in (" + placeholders + ")")) {
+            for (int i = -1; ++i < warps.size(); )
+                preparedStatement.setString(i + 1, warps.get(i).getWarpName());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    Warp warp = warpMap.get(resultSet.getString("name").toLowerCase());
+                    if (warp != null) revisions.put(warp, resultSet.getLong("revision"));
+                }
+            }
+        }
+
+        return revisions;
+    }
+
+    /**
+     * Deletes the warp rows with the given names in a single transaction.
+     *
+     * @param connection The borrowed connection.
+     * @param warpNames  The names of the warps.
+     * @throws SQLException When the delete fails (Nothing is deleted).
+     */
+    public void deleteWarps(Connection connection, Collection<String> warpNames) throws SQLException {
+        if (warpNames.isEmpty()) return;
+
+        try {
+            connection.setAutoCommit(false);
+            PreparedStatement preparedStatement = getConnectionPool().prepare(connection, "delete from warps where name = ?"),
+                    tombstoneStatement = getConnectionPool().prepare(connection, isUseMySQL()
+                            ? "insert into warp_tombstones (name, deleted_at) values (?, " + getTimestampSyntax() + ") on duplicate key update deleted_at = values(deleted_at)"
+                            : "insert or replace into warp_tombstones (name, deleted_at) values (?, " + getTimestampSyntax() + ")");
+            for (String warpName : warpNames) {
+                preparedStatement.setString(1, warpName);
+                preparedStatement.addBatch();
+                tombstoneStatement.setString(1, warpName);
+                tombstoneStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+            tombstoneStatement.executeBatch();
+            getMemberHandler().deleteMembers(connection, warpNames);
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Adds the synchronization columns, tombstone table, and indexes when they are missing.
+     *
+     * @param connection The borrowed connection.
+     * @throws SQLException When the schema could not be updated.
+     */
+    public void updateSchema(Connection connection) throws SQLException {
+        addColumnIfMissing(connection, "warps", "revision", "bigint default 0");
+        addColumnIfMissing(connection, "warps", "updated_at", "bigint default 0");
+        createIndexIfMissing(connection, "warps", "warps_updated_at", "updated_at");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("create table if not exists warp_tombstones (name varchar(100), deleted_at bigint, primary key (name))");
+        }
+        createIndexIfMissing(connection, "warp_tombstones", "warp_tombstones_deleted_at", "deleted_at");
+        getMemberHandler().updateSchema(connection);
+    }
+
+    void addColumnIfMissing(Connection connection, String table, String column, String definition) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getColumns(null, null, table, column)) {
+            if (resultSet.next()) return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("alter table " + table + " add column " + column + " " + definition);
+        }
+    }
+
+    void createIndexIfMissing(Connection connection, String table, String index, String column) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (resultSet.next())
+                if (index.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("create index " + index + " on " + table + " (" + column + ")");
+        }
+    }
+
+    /**
+     * @return The SQL expression for the database clock in milliseconds (All servers share the database clock).
+     */
+    public String getTimestampSyntax() {
+        return isUseMySQL() ? "(unix_timestamp() * 1000)" : "(cast(strftime('%s', 'now') as integer) * 1000)";
+    }
+
+    /**
+     * Reads the current database clock.
+     *
+     * @param connection The borrowed connection.
+     * @return The database time in milliseconds.
+     * @throws SQLException When the query fails.
+     */
+    public long getDatabaseTime(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("select " + getTimestampSyntax())) {
+            return resultSet.next() ? resultSet.getLong(1) : System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Loads the named warps using as few "in" queries as the batch size allows.
+     *
+     * @param connection The borrowed connection.
+     * @param warpNames  The names of the warps.
+     * @return The warps, detached from the registry (Registered warps are never touched here).
+     * @throws SQLException When a query fails.
+     */
+    public List<Warp> loadWarps(Connection connection, Collection<String> warpNames) throws SQLException {
+        final Warp.Defaults defaults = new Warp.Defaults(getPluginInstance());
+        List<Warp> warps = new ArrayList<>();
+        List<String> names = new ArrayList<>(warpNames);
+        for (int start = 0; start < names.size(); start += getBatchSize()) {
+            final List<String> chunk = names.subList(start, Math.min(names.size(), start + getBatchSize()));
+
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = -1; ++i < chunk.size(); ) placeholders.append(i == 0 ? "?" : ", ?");
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement("select * from warps where name in (" + placeholders + ")")) {
+                for (int i = -1; ++i < chunk.size(); ) preparedStatement.setString(i + 1, chunk.get(i));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Warp warp = readWarp(readRow(resultSet), defaults);
+                        if (warp != null) warps.add(warp);
+                    }
+                }
+            }
+        }
+
+        HashMap<String, Warp> loadedWarps = new HashMap<>();
+        for (int i = -1; ++i < warps.size(); ) loadedWarps.put(warps.get(i).getWarpName().toLowerCase(), warps.get(i));
+        getMemberHandler().loadMembers(connection, loadedWarps, false);
+        return warps;
+    }
+
+    /**
+     * Copies the current row into a map of lower-case column names to their text values, so it can be parsed after the result set moved on.
+     *
+     * @param resultSet The result set positioned on a row.
+     * @return The row values.
+     * @throws SQLException When a column could not be read.
+     */
+    public HashMap<String, String> readRow(ResultSet resultSet) throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final HashMap<String, String> row = new HashMap<>();
+        for (int i = 0; ++i <= metaData.getColumnCount(); )
+            row.put(metaData.getColumnLabel(i).toLowerCase(), resultSet.getString(i));
+        return row;
+    }
+
+    /**
+     * Builds a warp from a copied warps row (Safe to call from any thread).
+     *
+     * @param row      The row values keyed by lower-case column name.
+     * @param defaults The defaults for columns the row does not hold, read once per load.
+     * @return The warp or null if the row has no usable name or location.
+     */
+    public Warp readWarp(Map<String, String> row, Warp.Defaults defaults) {
+        String warpName = row.get("name");
+        if (warpName == null || warpName.equalsIgnoreCase("")) return null;
+        warpName = warpName.replaceAll("[.,?:;'\"\\\\|`~!@#$%^&*()+=/<>]", "");
+
+        SerializableLocation serializableLocation = readLocation(row.get("location"));
+        if (serializableLocation == null) return null;
+
+        UUID uuid = null;
+        String ownerId = row.get("owner");
+        if (ownerId != null && !ownerId.equalsIgnoreCase(""))
+            uuid = UUID.fromString(ownerId);
+
+        Warp warp = new Warp(warpName, uuid, serializableLocation, defaults);
+        readWarpData(row, warp);
+        return warp;
+    }
+
+    // applies a copied warps row onto a warp that is not registered yet and marks it as in sync.
+    private void readWarpData(Map<String, String> row, Warp warp) {
+        try {
+            SerializableLocation serializableLocation = readLocation(row.get("location"));
+            if (serializableLocation != null) warp.setWarpLocation(serializableLocation);
+
+            String statusString = row.get("status");
+            if (statusString == null) statusString = EnumContainer.Status.PUBLIC.name();
+
+            EnumContainer.Status status = EnumContainer.Status.valueOf(statusString.toUpperCase().replace(" ", "_").replace("-", "_"));
+            warp.setStatus(status);
+            warp.setCreationDate(row.get("creation_date"));
+            warp.setIconTheme(row.get("icon_theme").replace(":", ","));
+            warp.setAnimationSet(row.get("animation_set"));
+
+            String descriptionColor = row.get("description_color");
+            if (descriptionColor != null && !descriptionColor.equalsIgnoreCase(""))
+                warp.setDescriptionColor(ChatColor.valueOf(descriptionColor.toUpperCase().replace(" ", "_").replace("-", "_")));
+            String nameColor = row.get("name_color");
+            if (nameColor != null && !nameColor.equalsIgnoreCase(""))
+                warp.setDisplayNameColor(ChatColor.valueOf(nameColor.toUpperCase().replace(" ", "_").replace("-", "_")));
+
+            // released details are left alone, they are read fresh from the row once the warp is used again.
+            if (warp.hasDetails()) {
+                if (row.containsKey("description")) warp.setDescription(readDescription(row.get("description")));
+                if (row.containsKey("commands")) {
+                    List<String> commands = readCommands(row.get("commands"));
+                    if (commands != null) warp.setCommands(commands);
+                }
+            }
+
+            String ownerId = row.get("owner");
+            if (ownerId != null && !ownerId.equalsIgnoreCase(""))
+                warp.setOwner(UUID.fromString(ownerId));
+
+            warp.setTraffic((int) readNumber(row.get("traffic")));
+            warp.setUsagePrice(readNumber(row.get("usage_price")));
+            warp.setIconEnchantedLook(readNumber(row.get("enchanted_look")) >= 1);
+            warp.setLikes((int) readNumber(row.get("likes")));
+            warp.setDislikes((int) readNumber(row.get("dislikes")));
+            warp.setServerIPAddress(row.get("server_ip").replace("localhost", "127.0.0.1"));
+            warp.setWhiteListMode(readNumber(row.get("white_list_mode")) >= 1);
+            warp.setRevision((long) readNumber(row.get("revision")));
+        } catch (Exception e) {
+            e.printStackTrace();
+            getPluginInstance().log(Level.INFO, "There was an issue loading the warp " + warp.getWarpName() + "'s data aside it's location.");
+        }
+
+        warp.markSaved();
+    }
+
+    public String readDescription(String descriptionString) {
+        return ChatColor.stripColor(getPluginInstance().getManager().colorText(descriptionString.replace(",", "").trim().replaceAll("\\s+", " ")));
+    }
+
+    /**
+     * @param commandsString The stored commands column.
+     * @return The commands or null when the column holds none.
+     */
+    public List<String> readCommands(String commandsString) {
+        if (!commandsString.contains(",")) return null;
+
+        List<String> commands = new ArrayList<>();
+        String[] commandsStringArgs = commandsString.split(",");
+        for (int i = -1; ++i < commandsStringArgs.length; )
+            commands.add(commandsStringArgs[i]);
+        return commands;
+    }
+
+    // numeric columns are copied as text, so null (Unset) reads as zero like ResultSet.getInt.
+    private double readNumber(String value) {
+        return (value == null || value.isEmpty()) ? 0 : Double.parseDouble(value);
+    }
+
+    private SerializableLocation readLocation(String locationString) {
+        if (locationString == null || !locationString.contains(",")) return null;
+
+        try {
+            String[] locationStringArgs = locationString.split(",");
+            return new SerializableLocation(locationStringArgs[0], Double.parseDouble(locationStringArgs[1]), Double.parseDouble(locationStringArgs[2]),
+                    Double.parseDouble(locationStringArgs[3]), Float.parseFloat(locationStringArgs[4]), Float.parseFloat(locationStringArgs[5]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private void sanitizeName(Warp warp) {
+        final String sanitizedName = warp.getWarpName().replace("§", "").replaceAll("[.,?:;'\"\\\\|`~!@#$%^&*()+=/<>]", "");
+        if (!sanitizedName.equals(warp.getWarpName())) warp.setWarpName(sanitizedName);
+    }
+
+    private void bindWarp(PreparedStatement preparedStatement, Warp warp) throws SQLException {
+        StringBuilder commands = new StringBuilder();
+        for (int j = -1; ++j < warp.getCommands().size(); )
+            commands.append(warp.getCommands().get(j)).append(",");
+
+        final SerializableLocation location = warp.getWarpLocation();
+        preparedStatement.setString(1, warp.getWarpName());
+        preparedStatement.setString(2, location.getWorldName() + "," + location.getX() + "," + location.getY() + "," + location.getZ() + ","
+                + location.getYaw() + "," + location.getPitch());
+        preparedStatement.setString(3, warp.getStatus().name());
+        preparedStatement.setString(4, warp.getCreationDate());
+        preparedStatement.setString(5, warp.getIconTheme());
+        preparedStatement.setString(6, warp.getAnimationSet());
+        preparedStatement.setString(7, warp.getDescriptionColor().name());
+        preparedStatement.setString(8, warp.getDisplayNameColor().name());
+        preparedStatement.setString(9, warp.getDescription());
+        preparedStatement.setString(10, commands.toString());
+        preparedStatement.setString(11, warp.getOwner() != null ? warp.getOwner().toString() : "");
+        // the player list, assistants and voters live in the warp_members and warp_votes tables.
+        preparedStatement.setString(12, "");
+        preparedStatement.setString(13, "");
+        preparedStatement.setInt(14, warp.getTraffic());
+        preparedStatement.setDouble(15, warp.getUsagePrice());
+        preparedStatement.setInt(16, warp.hasIconEnchantedLook() ? 1 : 0);
+        preparedStatement.setString(17, warp.getServerIPAddress().replace("localhost", "127.0.0.1"));
+        preparedStatement.setInt(18, warp.getLikes());
+        preparedStatement.setInt(19, warp.getDislikes());
+        preparedStatement.setString(20, "");
+        preparedStatement.setInt(21, warp.isWhiteListMode() ? 1 : 0);
+    }
+
+    private String buildUpsertSyntax() {
+        StringBuilder columns = new StringBuilder(), values = new StringBuilder(), updates = new StringBuilder();
+        for (int i = -1; ++i < WARP_COLUMNS.length; ) {
+            final String column = WARP_COLUMNS[i];
+            if (i > 0) {
+                columns.append(", ");
+                values.append(", ");
+            }
+
+            columns.append(column);
+            values.append("?");
+            if (i == 0) continue;
+
+            if (updates.length() > 0) updates.append(", ");
+            updates.append(column).append(" = ").append(isUseMySQL() ? "values(" + column + ")" : "excluded." + column);
+        }
+
+        // every write bumps the row revision and stamps it with the database clock for the cross-server sync.
+        columns.append(", revision, updated_at");
+        values.append(", 1, ").append(getTimestampSyntax());
+        updates.append(", revision = revision + 1, updated_at = ").append(getTimestampSyntax());
+
+        final String insert = "insert into warps (" + columns + ") values (" + values + ")";
+        if (isUseMySQL()) return insert + " on duplicate key update " + updates;
+
+        // the upsert clause only exists as of SQLite 3.24 (older bundled drivers fall back to a full row replacement).
+        return supportsSQLiteUpsert() ? (insert + " on conflict(name) do update set " + updates) : insert.replaceFirst("insert", "insert or replace");
+    }
+
+    private boolean supportsSQLiteUpsert() {
+        Connection connection = null;
+        try {
+            connection = getConnectionPool().borrow(30000);
+            String[] versionArgs = connection.getMetaData().getDatabaseProductVersion().split("\\.");
+            int major = Integer.parseInt(versionArgs[0]), minor = versionArgs.length > 1 ? Integer.parseInt(versionArgs[1]) : 0;
+            return major > 3 || (major == 3 && minor >= 24);
+        } catch (SQLException | NumberFormatException e) {
+            return false;
+        } finally {
+            getConnectionPool().release(connection);
+        }
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    private void setConnectionPool(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private void setExecutor(ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    public WarpWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    private void setWriteQueue(WarpWriteQueue writeQueue) {
+        this.writeQueue = writeQueue;
+    }
+
+    public WarpSyncHandler getSyncHandler() {
+        return syncHandler;
+    }
+
+    private void setSyncHandler(WarpSyncHandler syncHandler) {
+        this.syncHandler = syncHandler;
+    }
+
+    public TransferHandler getTransferHandler() {
+        return transferHandler;
+    }
+
+    private void setTransferHandler(TransferHandler transferHandler) {
+        this.transferHandler = transferHandler;
+    }
+
+    public WarpMemberHandler getMemberHandler() {
+        return memberHandler;
+    }
+
+    private void setMemberHandler(WarpMemberHandler memberHandler) {
+        this.memberHandler = memberHandler;
+    }
+
+    public WarpDetailsCache getDetailsCache() {
+        return detailsCache;
+    }
+
+    private void setDetailsCache(WarpDetailsCache detailsCache) {
+        this.detailsCache = detailsCache;
+    }
+
+    public int getQueueDepth() {
+        return getExecutor().getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return getExecutor().getActiveCount();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    public long getFailedTasks() {
+        return failedTasks.get();
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks.get();
+    }
+
+    private long getQueueWarningTime() {
+        return queueWarningTime;
+    }
+
+    private void setQueueWarningTime(long queueWarningTime) {
+        this.queueWarningTime = queueWarningTime;
+    }
+
+    public boolean isUseMySQL() {
+        return useMySQL;
+    }
+
+    private void setUseMySQL(boolean useMySQL) {
+        this.useMySQL = useMySQL;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    private String getWarpUpsertSyntax() {
+        return warpUpsertSyntax;
+    }
+
+    private void setWarpUpsertSyntax(String warpUpsertSyntax) {
+        this.warpUpsertSyntax = warpUpsertSyntax;
+    }
+}
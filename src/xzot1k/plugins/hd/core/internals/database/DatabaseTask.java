@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface DatabaseTask<T> {
+
+    /**
+     * Runs the database work using a pooled connection that is only owned by the current thread.
+     *
+     * @param connection The borrowed connection (Do NOT close it).
+     * @return The result of the work.
+     * @throws SQLException When the work fails.
+     */
+    T run(Connection connection) throws SQLException;
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import xzot1k.plugins.hd.HyperDrive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+public class TransferHandler {
+
+    private HyperDrive pluginInstance;
+    private DatabaseHandler databaseHandler;
+    private String serverAddress, localServerAddress;
+    private long transferLifetime, lastSweep;
+
+    public TransferHandler(HyperDrive pluginInstance, DatabaseHandler databaseHandler) {
+        setPluginInstance(pluginInstance);
+        setDatabaseHandler(databaseHandler);
+
+        // rows are matched by index, so both spellings of a local address are looked up instead of normalizing every row.
+        final String address = getPluginInstance().getServer().getIp() + ":" + getPluginInstance().getServer().getPort();
+        setServerAddress(address.replace("localhost", "127.0.0.1"));
+        setLocalServerAddress(address.replace("127.0.0.1", "localhost"));
+        setTransferLifetime(Math.max(5, getPluginInstance().getConfig().getLong("mysql-connection.transfer-lifetime", 30)) * 1000);
+    }
+
+    /**
+     * Creates the transfer table and its indexes, then removes expired transfers.
+     *
+     * @param connection The borrowed connection.
+     * @throws SQLException When a statement fails.
+     */
+    public void updateSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("create table if not exists transfer (player_uuid varchar(100),location varchar(255), server_ip varchar(255),primary key (player_uuid))");
+        }
+
+        getDatabaseHandler().addColumnIfMissing(connection, "transfer", "created_at", "bigint default 0");
+        getDatabaseHandler().createIndexIfMissing(connection, "transfer", "transfer_server_ip", getDatabaseHandler().isUseMySQL() ? "server_ip(191)" : "server_ip");
+        getDatabaseHandler().createIndexIfMissing(connection, "transfer", "transfer_created_at", "created_at");
+        sweep(connection, getDatabaseHandler().getDatabaseTime(connection));
+    }
+
+    /**
+     * Writes (or replaces) the pending transfer of a player.
+     *
+     * @param connection       The borrowed connection.
+     * @param playerUniqueId   The player being transferred.
+     * @param locationString   The serialized destination or the name of the player to teleport to.
+     * @param serverIP         The address of the destination server.
+     * @throws SQLException When the statement fails.
+     */
+    public void queueTransfer(Connection connection, UUID playerUniqueId, String locationString, String serverIP) throws SQLException {
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                "insert into transfer (player_uuid, location, server_ip, created_at) values (?, ?, ?, " + getDatabaseHandler().getTimestampSyntax() + ")"
+                        + (getDatabaseHandler().isUseMySQL() ? " on duplicate key update location = values(location), server_ip = values(server_ip), created_at = values(created_at)"
+                        : " on conflict(player_uuid) do update set location = excluded.location, server_ip = excluded.server_ip, created_at = excluded.created_at"));
+        preparedStatement.setString(1, playerUniqueId.toString());
+        preparedStatement.setString(2, locationString);
+        preparedStatement.setString(3, serverIP);
+        preparedStatement.executeUpdate();
+    }
+
+    /**
+     * Claims the unexpired transfers addressed to this server (Or to no server) for the passed online players. A row is only
+     * returned if this server deleted it, so each transfer is applied exactly once across the network.
+     *
+     * @param connection    The borrowed connection.
+     * @param onlinePlayers The players currently online on this server.
+     * @return The claimed destinations keyed by player.
+     * @throws SQLException When a statement fails.
+     */
+    public LinkedHashMap<UUID, String> claimTransfers(Connection connection, Set<UUID> onlinePlayers) throws SQLException {
+        final LinkedHashMap<UUID, String> claimedTransfers = new LinkedHashMap<>();
+        final long databaseTime = getDatabaseHandler().getDatabaseTime(connection);
+        if (databaseTime - lastSweep >= Math.min(getTransferLifetime(), 60000)) sweep(connection, databaseTime);
+        if (onlinePlayers.isEmpty()) return claimedTransfers;
+
+        final List<UUID> playerIds = new ArrayList<>();
+        final List<String> locations = new ArrayList<>();
+        final List<Long> creationTimes = new ArrayList<>();
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                "select player_uuid, location, created_at from transfer where (server_ip in (?, ?, '') or server_ip is null) and created_at > ?");
+        preparedStatement.setString(1, getServerAddress());
+        preparedStatement.setString(2, getLocalServerAddress());
+        preparedStatement.setLong(3, databaseTime - getTransferLifetime());
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                final UUID playerUniqueId;
+                try {
+                    playerUniqueId = UUID.fromString(resultSet.getString("player_uuid"));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    continue;
+                }
+
+                // players that have not finished connecting keep their row until a later poll or until it expires.
+                if (!onlinePlayers.contains(playerUniqueId)) continue;
+                playerIds.add(playerUniqueId);
+                locations.add(resultSet.getString("location"));
+                creationTimes.add(resultSet.getLong("created_at"));
+            }
+        }
+
+        if (playerIds.isEmpty()) return claimedTransfers;
+
+        // matching the creation time leaves a transfer that was re-written in the meantime for the next poll.
+        preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from transfer where player_uuid = ? and created_at = ?");
+        for (int i = -1; ++i < playerIds.size(); ) {
+            preparedStatement.setString(1, playerIds.get(i).toString());
+            preparedStatement.setLong(2, creationTimes.get(i));
+            preparedStatement.addBatch();
+        }
+
+        final int[] results = preparedStatement.executeBatch();
+        for (int i = -1; ++i < playerIds.size(); ) {
+            final int result = (i < results.length) ? results[i] : Statement.SUCCESS_NO_INFO;
+            if (result > 0 || result == Statement.SUCCESS_NO_INFO) claimedTransfers.put(playerIds.get(i), locations.get(i));
+        }
+
+        return claimedTransfers;
+    }
+
+    private void sweep(Connection connection, long databaseTime) throws SQLException {
+        lastSweep = databaseTime;
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from transfer where created_at < ?");
+        preparedStatement.setLong(1, databaseTime - getTransferLifetime());
+        preparedStatement.executeUpdate();
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
+    }
+
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
+    }
+
+    public String getServerAddress() {
+        return serverAddress;
+    }
+
+    private void setServerAddress(String serverAddress) {
+        this.serverAddress = serverAddress;
+    }
+
+    public String getLocalServerAddress() {
+        return localServerAddress;
+    }
+
+    private void setLocalServerAddress(String localServerAddress) {
+        this.localServerAddress = localServerAddress;
+    }
+
+    public long getTransferLifetime() {
+        return transferLifetime;
+    }
+
+    private void setTransferLifetime(long transferLifetime) {
+        this.transferLifetime = transferLifetime;
+    }
+}
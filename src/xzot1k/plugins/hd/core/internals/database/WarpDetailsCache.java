@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.objects.Warp;
+import xzot1k.plugins.hd.api.objects.WarpDetails;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+public class WarpDetailsCache {
+
+    // everything a warp needs in memory while it is only listed (The description, commands and member lists are left out).
+    public static final String INDEX_COLUMNS = "name, location, status, creation_date, icon_theme, animation_set, description_color, name_color, owner,"
+            + " traffic, usage_price, enchanted_look, server_ip, likes, dislikes, white_list_mode, revision";
+
+    private static final long MEMBER_REFRESH_TIME = 60000;
+
+    private HyperDrive pluginInstance;
+    private DatabaseHandler databaseHandler;
+    private boolean enabled;
+    private int maximumSize;
+    private long residencyTime;
+
+    // access ordered, so the first entries are the least recently used warps (Valued by the time they were last used).
+    private final LinkedHashMap<Warp, Long> hydratedWarps;
+    private final Set<Warp> loadingWarps;
+    private final ConcurrentHashMap<UUID, MemberWarps> memberWarpMap;
+    private final Set<UUID> refreshingPlayers;
+    private final AtomicLong loads, evictions;
+
+    public WarpDetailsCache(HyperDrive pluginInstance, DatabaseHandler databaseHandler) {
+        setPluginInstance(pluginInstance);
+        setDatabaseHandler(databaseHandler);
+        hydratedWarps = new LinkedHashMap<>(16, 0.75f, true);
+        loadingWarps = ConcurrentHashMap.newKeySet();
+        memberWarpMap = new ConcurrentHashMap<>();
+        refreshingPlayers = ConcurrentHashMap.newKeySet();
+        loads = new AtomicLong();
+        evictions = new AtomicLong();
+
+        setEnabled(getPluginInstance().getConfig().getBoolean("general-section.lazy-warp-loading", false));
+        setMaximumSize(Math.max(50, getPluginInstance().getConfig().getInt("general-section.warp-detail-cache-size", 1000)));
+        setResidencyTime(Math.max(0, getPluginInstance().getConfig().getLong("general-section.warp-detail-residency", 300)) * 1000);
+    }
+
+    /**
+     * Marks the warp's details as recently used, releasing the least recently used details past the cache size.
+     *
+     * @param warp The warp that was used.
+     */
+    public void touch(Warp warp) {
+        if (!isEnabled()) return;
+
+        synchronized (hydratedWarps) {
+            if (hydratedWarps.put(warp, System.currentTimeMillis()) == null) trim();
+        }
+    }
+
+    private void trim() {
+        final long currentTime = System.currentTimeMillis();
+        final Iterator<Map.Entry<Warp, Long>> iterator = hydratedWarps.entrySet().iterator();
+        while (hydratedWarps.size() > getMaximumSize() && iterator.hasNext()) {
+            final Map.Entry<Warp, Long> entry = iterator.next();
+            // recently used details stay, so an interaction that found them loaded never sees them released half way.
+            if (currentTime - entry.getValue() < getResidencyTime()) break;
+
+            // warps with unsaved changes are skipped and released on a later trim.
+            final Warp warp = entry.getKey();
+            final List<UUID> assistants = warp.getLoadedAssistants(), playerList = warp.getLoadedPlayerList();
+            if (warp.releaseDetails()) {
+                iterator.remove();
+                evictions.incrementAndGet();
+                updateMemberWarps(warp, assistants, playerList);
+            }
+        }
+    }
+
+    /**
+     * @param warps The warps.
+     * @return Whether the details of every warp are in memory (Marks them as used).
+     */
+    public boolean isLoaded(Collection<Warp> warps) {
+        if (!isEnabled()) return true;
+
+        boolean loaded = true;
+        for (Warp warp : warps) {
+            if (warp == null) continue;
+            if (warp.hasDetails()) touch(warp);
+            else loaded = false;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Runs the task once the details of every warp are in memory, without waiting on the database. The task runs right
+     * away when nothing has to be loaded and on the main thread otherwise (It is skipped if the details failed to load).
+     *
+     * @param warps The warps about to be used.
+     * @param task  The task using the warps.
+     */
+    public void whenLoaded(Collection<Warp> warps, Runnable task) {
+        if (isLoaded(warps)) {
+            task.run();
+            return;
+        }
+
+        loadAll(warps).thenAccept(loaded -> {
+            if (loaded && getPluginInstance().isEnabled())
+                getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(), task);
+        });
+    }
+
+    /**
+     * Loads and attaches the details of a released warp. The main thread never waits on the database, there the load is
+     * only started and empty details are returned, so main thread callers load the warp up front through whenLoaded.
+     *
+     * @param warp The warp.
+     * @return The details (Detached, empty details are returned if the database could not be reached).
+     */
+    public WarpDetails load(Warp warp) {
+        if (getPluginInstance().getServer().isPrimaryThread()) {
+            if (loadingWarps.add(warp)) loadAll(Collections.singletonList(warp)).whenComplete((loaded, throwable) -> loadingWarps.remove(warp));
+            return new WarpDetails("");
+        }
+
+        try {
+            final Map<Warp, WarpDetails> loadedDetails = getDatabaseHandler().await(connection -> loadDetails(connection, Collections.singletonList(warp)));
+            final WarpDetails details = loadedDetails.getOrDefault(warp, new WarpDetails(""));
+            attach(warp, details);
+            return details;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            getPluginInstance().log(Level.WARNING, "There was an issue loading the details of the warp " + warp.getWarpName() + " (" + e.getMessage() + ").");
+            return new WarpDetails("");
+        }
+    }
+
+    /**
+     * Loads the details of every released warp in the collection at once on the database executor.
+     *
+     * @param warps The warps about to be used.
+     * @return The future completed with whether the details were loaded (It never completes exceptionally).
+     */
+    public CompletableFuture<Boolean> loadAll(Collection<Warp> warps) {
+        if (!isEnabled()) return CompletableFuture.completedFuture(true);
+
+        final List<Warp> releasedWarps = new ArrayList<>();
+        for (Warp warp : warps) if (warp != null && !warp.hasDetails()) releasedWarps.add(warp);
+        if (releasedWarps.isEmpty()) return CompletableFuture.completedFuture(true);
+
+        return getDatabaseHandler().submit(connection -> loadDetails(connection, releasedWarps)).handle((loadedDetails, throwable) -> {
+            if (throwable != null) {
+                final Throwable cause = (throwable.getCause() != null) ? throwable.getCause() : throwable;
+                cause.printStackTrace();
+                getPluginInstance().log(Level.WARNING, "There was an issue loading the details of " + releasedWarps.size() + " warp(s) (" + cause.getMessage() + ").");
+                return false;
+            }
+
+            for (int i = -1; ++i < releasedWarps.size(); )
+                attach(releasedWarps.get(i), loadedDetails.getOrDefault(releasedWarps.get(i), new WarpDetails("")));
+            return true;
+        });
+    }
+
+    private void attach(Warp warp, WarpDetails details) {
+        loads.incrementAndGet();
+        if (!warp.hasDetails()) warp.setDetails(details);
+        touch(warp);
+    }
+
+    private Map<Warp, WarpDetails> loadDetails(Connection connection, List<Warp> warps) throws SQLException {
+        final HashMap<String, Warp> warpMap = new HashMap<>();
+        final List<String> warpNames = new ArrayList<>();
+        for (int i = -1; ++i < warps.size(); ) {
+            warpMap.put(warps.get(i).getWarpName().toLowerCase(), warps.get(i));
+            warpNames.add(warps.get(i).getWarpName());
+        }
+
+        final HashMap<Warp, WarpDetails> loadedDetails = new HashMap<>();
+        for (int start = 0; start < warpNames.size(); start += getDatabaseHandler().getBatchSize()) {
+            final List<String> chunk = warpNames.subList(start, Math.min(warpNames.size(), start + getDatabaseHandler().getBatchSize()));
+
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = -1; ++i < chunk.size(); ) placeholders.append(i == 0 ? "?" : ", ?");
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement("select name, description, commands from warps where name in (" + placeholders + ")")) {
+                for (int i = -1; ++i < chunk.size(); ) preparedStatement.setString(i + 1, chunk.get(i));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final Warp warp = warpMap.get(resultSet.getString("name").toLowerCase());
+                        if (warp == null) continue;
+
+                        final String descriptionString = resultSet.getString("description"), commandsString = resultSet.getString("commands");
+                        final WarpDetails details = new WarpDetails(descriptionString != null ? getDatabaseHandler().readDescription(descriptionString) : "");
+                        final List<String> commands = (commandsString != null) ? getDatabaseHandler().readCommands(commandsString) : null;
+                        if (commands != null) details.setCommands(commands);
+                        loadedDetails.put(warp, details);
+                    }
+                }
+            }
+        }
+
+        final HashMap<String, List<UUID>> playerLists = new HashMap<>(), assistants = new HashMap<>(), voters = new HashMap<>();
+        getDatabaseHandler().getMemberHandler().readMembers(connection, warpNames, playerLists, assistants, voters);
+        for (Map.Entry<Warp, WarpDetails> entry : loadedDetails.entrySet()) {
+            final String warpName = entry.getKey().getWarpName().toLowerCase();
+            entry.getValue().setPlayerList(playerLists.getOrDefault(warpName, new ArrayList<>()));
+            entry.getValue().setAssistants(assistants.getOrDefault(warpName, new ArrayList<>()));
+            entry.getValue().setVoters(voters.getOrDefault(warpName, new ArrayList<>()));
+        }
+
+        return loadedDetails;
+    }
+
+    /**
+     * Gets the warps the player is an assistant or listed player of without loading the details of every warp (Empty unless lazy loading is enabled).
+     * The names are looked up in the background and cached per player, an outdated or missing entry is refreshed and served as is until then.
+     * Callers should still check the in-memory lists of warps that have their details, as those may hold unsaved changes.
+     *
+     * @param playerUniqueId The player.
+     * @param assistant      Whether to look for assistants instead of listed players.
+     * @return The lower-case warp names.
+     */
+    public Set<String> getMemberWarps(UUID playerUniqueId, boolean assistant) {
+        if (!isEnabled()) return Collections.emptySet();
+
+        final MemberWarps memberWarps = memberWarpMap.get(playerUniqueId);
+        if (memberWarps == null || System.currentTimeMillis() - memberWarps.getLoadedAt() >= MEMBER_REFRESH_TIME) refreshMemberWarps(playerUniqueId);
+        if (memberWarps == null) return Collections.emptySet();
+        return Collections.unmodifiableSet(assistant ? memberWarps.getAssistedWarps() : memberWarps.getListedWarps());
+    }
+
+    /**
+     * Looks up the warps the player is an assistant or listed player of in the background (Used on join).
+     *
+     * @param playerUniqueId The player.
+     */
+    public void refreshMemberWarps(UUID playerUniqueId) {
+        if (!isEnabled() || !refreshingPlayers.add(playerUniqueId)) return;
+
+        getDatabaseHandler().submit(connection -> new MemberWarps(getDatabaseHandler().getMemberHandler().readMemberWarps(connection, playerUniqueId, true),
+                getDatabaseHandler().getMemberHandler().readMemberWarps(connection, playerUniqueId, false))).whenComplete((memberWarps, throwable) -> {
+            refreshingPlayers.remove(playerUniqueId);
+            if (throwable == null) {
+                memberWarpMap.put(playerUniqueId, memberWarps);
+                return;
+            }
+
+            final Throwable cause = (throwable.getCause() != null) ? throwable.getCause() : throwable;
+            cause.printStackTrace();
+            getPluginInstance().log(Level.WARNING, "There was an issue looking up the warps of a player (" + cause.getMessage() + ").");
+        });
+    }
+
+    /**
+     * Drops the cached warp names of the player (Used on quit).
+     *
+     * @param playerUniqueId The player.
+     */
+    public void forgetMemberWarps(UUID playerUniqueId) {
+        memberWarpMap.remove(playerUniqueId);
+    }
+
+    // a released warp is saved, so its last lists are what the database holds and the cached names can follow them.
+    private void updateMemberWarps(Warp warp, List<UUID> assistants, List<UUID> playerList) {
+        if (assistants == null || playerList == null) return;
+
+        final String warpName = warp.getWarpName().toLowerCase();
+        for (Map.Entry<UUID, MemberWarps> entry : memberWarpMap.entrySet()) {
+            if (assistants.contains(entry.getKey())) entry.getValue().getAssistedWarps().add(warpName);
+            else entry.getValue().getAssistedWarps().remove(warpName);
+
+            if (playerList.contains(entry.getKey())) entry.getValue().getListedWarps().add(warpName);
+            else entry.getValue().getListedWarps().remove(warpName);
+        }
+    }
+
+    /**
+     * Checks membership using the details when they are in memory and the looked up names otherwise.
+     *
+     * @param warp           The warp.
+     * @param memberWarps    The names returned by getMemberWarps.
+     * @param playerUniqueId The player.
+     * @param assistant      Whether to check the assistants instead of the player list.
+     * @return Whether the player is a member.
+     */
+    public boolean isMember(Warp warp, Set<String> memberWarps, UUID playerUniqueId, boolean assistant) {
+        if (warp.hasDetails()) return (assistant ? warp.getAssistants() : warp.getPlayerList()).contains(playerUniqueId);
+        return memberWarps.contains(warp.getWarpName().toLowerCase());
+    }
+
+    /**
+     * Releases the details of freshly loaded warps so only their index fields stay in memory.
+     *
+     * @param warps The warps.
+     */
+    public void releaseAll(Collection<Warp> warps) {
+        if (!isEnabled()) return;
+        for (Warp warp : warps) warp.releaseDetails();
+    }
+
+    public int getSize() {
+        synchronized (hydratedWarps) {
+            return hydratedWarps.size();
+        }
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
+    }
+
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getResidencyTime() {
+        return residencyTime;
+    }
+
+    private void setResidencyTime(long residencyTime) {
+        this.residencyTime = residencyTime;
+    }
+
+    private static class MemberWarps {
+        private final Set<String> assistedWarps, listedWarps;
+        private final long loadedAt;
+
+        private MemberWarps(Set<String> assistedWarps, Set<String> listedWarps) {
+            this.assistedWarps = ConcurrentHashMap.newKeySet();
+            this.assistedWarps.addAll(assistedWarps);
+            this.listedWarps = ConcurrentHashMap.newKeySet();
+            this.listedWarps.addAll(listedWarps);
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        private Set<String> getAssistedWarps() {
+            return assistedWarps;
+        }
+
+        private Set<String> getListedWarps() {
+            return listedWarps;
+        }
+
+        private long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
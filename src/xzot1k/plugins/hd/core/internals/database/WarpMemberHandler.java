@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.logging.Level;
+
+public class WarpMemberHandler {
+
+    private static final int PLAYER_LIST = 0, ASSISTANT = 1;
+    private static final String LIST_MIGRATION = "warp-member-tables";
+
+    private HyperDrive pluginInstance;
+    private DatabaseHandler databaseHandler;
+
+    public WarpMemberHandler(HyperDrive pluginInstance, DatabaseHandler databaseHandler) {
+        setPluginInstance(pluginInstance);
+        setDatabaseHandler(databaseHandler);
+    }
+
+    /**
+     * Creates the member and vote tables, then moves any comma separated lists left in the warps table into them once.
+     *
+     * @param connection The borrowed connection.
+     * @throws SQLException When a statement fails.
+     */
+    public void updateSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("create table if not exists warp_members (warp_name varchar(100), player_uuid varchar(36), member_type int,"
+                    + " primary key (warp_name, player_uuid, member_type))");
+            statement.executeUpdate("create table if not exists warp_votes (warp_name varchar(100), player_uuid varchar(36), voted_at bigint,"
+                    + " primary key (warp_name, player_uuid))");
+            statement.executeUpdate("create table if not exists hyperdrive_schema (name varchar(100), applied_at bigint, primary key (name))");
+        }
+
+        getDatabaseHandler().createIndexIfMissing(connection, "warp_members", "warp_members_player", "player_uuid");
+        if (!isMigrated(connection)) migrateLists(connection);
+    }
+
+    private boolean isMigrated(Connection connection) throws SQLException {
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "select name from hyperdrive_schema where name = ?");
+        preparedStatement.setString(1, LIST_MIGRATION);
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    // the marker is written with the moved lists, so the whole warps table is only scanned until one migration commits.
+    private void migrateLists(Connection connection) throws SQLException {
+        final List<String> warpNames = new ArrayList<>();
+        final List<String[]> lists = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select name, player_list, assistants, voters from warps"
+                     + " where player_list <> '' or assistants <> '' or voters <> ''")) {
+            while (resultSet.next()) {
+                warpNames.add(resultSet.getString("name"));
+                lists.add(new String[]{resultSet.getString("player_list"), resultSet.getString("assistants"), resultSet.getString("voters")});
+            }
+        }
+
+        PreparedStatement markerStatement = getDatabaseHandler().getConnectionPool().prepare(connection, getInsertIgnoreSyntax()
+                + " into hyperdrive_schema (name, applied_at) values (?, ?)");
+        markerStatement.setString(1, LIST_MIGRATION);
+        markerStatement.setLong(2, System.currentTimeMillis());
+        if (warpNames.isEmpty()) {
+            markerStatement.executeUpdate();
+            return;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        PreparedStatement memberStatement = getDatabaseHandler().getConnectionPool().prepare(connection, getInsertIgnoreSyntax()
+                + " into warp_members (warp_name, player_uuid, member_type) values (?, ?, ?)"),
+                voteStatement = getDatabaseHandler().getConnectionPool().prepare(connection, getInsertIgnoreSyntax()
+                        + " into warp_votes (warp_name, player_uuid, voted_at) values (?, ?, 0)"),
+                clearStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                        "update warps set player_list = '', assistants = '', voters = '' where name = ?");
+        try {
+            connection.setAutoCommit(false);
+
+            for (int i = -1; ++i < warpNames.size(); ) {
+                final String warpName = warpNames.get(i);
+                final String[] listStrings = lists.get(i);
+
+                for (UUID uuid : parseList(listStrings[0])) addMember(memberStatement, warpName, uuid, PLAYER_LIST);
+                for (UUID uuid : parseList(listStrings[1])) addMember(memberStatement, warpName, uuid, ASSISTANT);
+                for (UUID uuid : parseList(listStrings[2])) {
+                    voteStatement.setString(1, warpName);
+                    voteStatement.setString(2, uuid.toString());
+                    voteStatement.addBatch();
+                }
+
+                clearStatement.setString(1, warpName);
+                clearStatement.addBatch();
+
+                if ((i + 1) % getDatabaseHandler().getBatchSize() == 0) {
+                    memberStatement.executeBatch();
+                    voteStatement.executeBatch();
+                    clearStatement.executeBatch();
+                }
+            }
+
+            memberStatement.executeBatch();
+            voteStatement.executeBatch();
+            clearStatement.executeBatch();
+            markerStatement.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            clearBatches(memberStatement, voteStatement, clearStatement);
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        getPluginInstance().log(Level.INFO, "The player lists, assistants and voters of " + warpNames.size() + " warp(s) were moved into their own tables. (Took "
+                + (System.currentTimeMillis() - startTime) + "ms)");
+    }
+
+    private List<UUID> parseList(String listString) {
+        final List<UUID> uuids = new ArrayList<>();
+        if (listString == null || listString.isEmpty()) return uuids;
+
+        final String[] listStringArgs = listString.split(",");
+        for (int i = -1; ++i < listStringArgs.length; ) {
+            final String uuidString = listStringArgs[i].trim();
+            if (uuidString.isEmpty()) continue;
+
+            try {
+                uuids.add(UUID.fromString(uuidString));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+
+        return uuids;
+    }
+
+    private void addMember(PreparedStatement preparedStatement, String warpName, UUID uuid, int memberType) throws SQLException {
+        preparedStatement.setString(1, warpName);
+        preparedStatement.setString(2, uuid.toString());
+        preparedStatement.setInt(3, memberType);
+        preparedStatement.addBatch();
+    }
+
+    /**
+     * Replaces the stored player lists and assistants of the warps (Runs inside the caller's transaction).
+     *
+     * @param connection The borrowed connection.
+     * @param warps      The warps being saved.
+     * @throws SQLException When a statement fails.
+     */
+    public void saveMembers(Connection connection, List<Warp> warps) throws SQLException {
+        PreparedStatement deleteStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from warp_members where warp_name = ?"),
+                insertStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                        "insert into warp_members (warp_name, player_uuid, member_type) values (?, ?, ?)");
+
+        boolean hasMembers = false;
+        for (int i = -1; ++i < warps.size(); ) {
+            final Warp warp = warps.get(i);
+            deleteStatement.setString(1, warp.getWarpName());
+            deleteStatement.addBatch();
+
+            // a set drops duplicates that would otherwise break the primary key.
+            for (UUID uuid : new LinkedHashSet<>(warp.getPlayerList())) {
+                addMember(insertStatement, warp.getWarpName(), uuid, PLAYER_LIST);
+                hasMembers = true;
+            }
+
+            for (UUID uuid : new LinkedHashSet<>(warp.getAssistants())) {
+                addMember(insertStatement, warp.getWarpName(), uuid, ASSISTANT);
+                hasMembers = true;
+            }
+        }
+
+        try {
+            deleteStatement.executeBatch();
+            if (hasMembers) insertStatement.executeBatch();
+        } catch (SQLException e) {
+            clearBatches(deleteStatement, insertStatement);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the members and votes of the named warps (Runs inside the caller's transaction).
+     *
+     * @param connection The borrowed connection.
+     * @param warpNames  The names of the deleted warps.
+     * @throws SQLException When a statement fails.
+     */
+    public void deleteMembers(Connection connection, Collection<String> warpNames) throws SQLException {
+        PreparedStatement memberStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from warp_members where warp_name = ?"),
+                voteStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from warp_votes where warp_name = ?");
+        for (String warpName : warpNames) {
+            memberStatement.setString(1, warpName);
+            memberStatement.addBatch();
+            voteStatement.setString(1, warpName);
+            voteStatement.addBatch();
+        }
+
+        try {
+            memberStatement.executeBatch();
+            voteStatement.executeBatch();
+        } catch (SQLException e) {
+            clearBatches(memberStatement, voteStatement);
+            throw e;
+        }
+    }
+
+    // the statements are cached per connection, so a failed batch must not leave rows queued for the next use.
+    private void clearBatches(PreparedStatement... preparedStatements) {
+        for (PreparedStatement preparedStatement : preparedStatements)
+            try {
+                preparedStatement.clearBatch();
+            } catch (SQLException ignored) {
+            }
+    }
+
+    /**
+     * Appends the votes, one row each (Votes that already exist are ignored).
+     *
+     * @param connection The borrowed connection.
+     * @param votes      The voters keyed by warp name.
+     * @throws SQLException When the insert fails (Nothing is written).
+     */
+    public void saveVotes(Connection connection, Map<String, List<UUID>> votes) throws SQLException {
+        if (votes.isEmpty()) return;
+
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, getInsertIgnoreSyntax()
+                + " into warp_votes (warp_name, player_uuid, voted_at) values (?, ?, " + getDatabaseHandler().getTimestampSyntax() + ")");
+        try {
+            connection.setAutoCommit(false);
+            for (Map.Entry<String, List<UUID>> entry : votes.entrySet())
+                for (UUID uuid : entry.getValue()) {
+                    preparedStatement.setString(1, entry.getKey());
+                    preparedStatement.setString(2, uuid.toString());
+                    preparedStatement.addBatch();
+                }
+
+            preparedStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            clearBatches(preparedStatement);
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Moves the votes of renamed warps over to their new names (Members are rewritten by the save of the new name).
+     *
+     * @param connection The borrowed connection.
+     * @param renames    The new names keyed by the old names.
+     * @throws SQLException When the update fails.
+     */
+    public void renameVotes(Connection connection, Map<String, String> renames) throws SQLException {
+        if (renames.isEmpty()) return;
+
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                (getDatabaseHandler().isUseMySQL() ? "update ignore" : "update or ignore") + " warp_votes set warp_name = ? where warp_name = ?");
+        for (Map.Entry<String, String> entry : renames.entrySet()) {
+            preparedStatement.setString(1, entry.getValue());
+            preparedStatement.setString(2, entry.getKey());
+            preparedStatement.addBatch();
+        }
+
+        preparedStatement.executeBatch();
+    }
+
+    /**
+     * Reads the player lists, assistants and voters of the passed warps from the child tables.
+     *
+     * @param connection The borrowed connection.
+     * @param warps      The warps keyed by lower-case name.
+     * @param everyWarp  Whether the map holds every stored warp (The tables are then read whole instead of by name).
+     * @throws SQLException When a query fails.
+     */
+    public void loadMembers(Connection connection, Map<String, Warp> warps, boolean everyWarp) throws SQLException {
+        if (warps.isEmpty()) return;
+
+        final List<String> warpNames = new ArrayList<>();
+        for (Warp warp : warps.values()) warpNames.add(warp.getWarpName());
+
+        final HashMap<String, List<UUID>> playerLists = new HashMap<>(), assistants = new HashMap<>(), voters = new HashMap<>();
+        readMembers(connection, everyWarp ? null : warpNames, playerLists, assistants, voters);
+
+        for (Map.Entry<String, Warp> entry : warps.entrySet()) {
+            final Warp warp = entry.getValue();
+            if (!warp.hasDetails()) continue; // released warps read their members again once used.
+
+            final boolean wasDirty = warp.isDirty();
+            warp.setPlayerList(playerLists.getOrDefault(entry.getKey(), new ArrayList<>()));
+            warp.setAssistants(assistants.getOrDefault(entry.getKey(), new ArrayList<>()));
+            warp.setVoters(voters.getOrDefault(entry.getKey(), new ArrayList<>()));
+            if (!wasDirty) warp.markSaved();
+        }
+    }
+
+    /**
+     * Reads the member and vote rows into lists keyed by lower-case warp name.
+     *
+     * @param connection  The borrowed connection.
+     * @param warpNames   The names of the warps or null to read every row.
+     * @param playerLists The map receiving the player lists.
+     * @param assistants  The map receiving the assistants.
+     * @param voters      The map receiving the voters.
+     * @throws SQLException When a query fails.
+     */
+    public void readMembers(Connection connection, List<String> warpNames, Map<String, List<UUID>> playerLists, Map<String, List<UUID>> assistants,
+                            Map<String, List<UUID>> voters) throws SQLException {
+        if (warpNames == null) {
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet resultSet = statement.executeQuery("select warp_name, player_uuid, member_type from warp_members")) {
+                    readMembers(resultSet, playerLists, assistants);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery("select warp_name, player_uuid from warp_votes")) {
+                    readVotes(resultSet, voters);
+                }
+            }
+            return;
+        }
+
+        for (int start = 0; start < warpNames.size(); start += getDatabaseHandler().getBatchSize()) {
+            final List<String> chunk = warpNames.subList(start, Math.min(warpNames.size(), start + getDatabaseHandler().getBatchSize()));
+
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = -1; ++i < chunk.size(); ) placeholders.append(i == 0 ? "?" : ", ?");
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement("select warp_name, player_uuid, member_type from warp_members where warp_name in (" + placeholders + ")")) {
+                for (int i = -1; ++i < chunk.size(); ) preparedStatement.setString(i + 1, chunk.get(i));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    readMembers(resultSet, playerLists, assistants);
+                }
+            }
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement("select warp_name, player_uuid from warp_votes where warp_name in (" + placeholders + ")")) {
+                for (int i = -1; ++i < chunk.size(); ) preparedStatement.setString(i + 1, chunk.get(i));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    readVotes(resultSet, voters);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the names of the warps the player is stored as an assistant or listed player of.
+     *
+     * @param connection     The borrowed connection.
+     * @param playerUniqueId The player.
+     * @param assistant      Whether to look for assistants instead of listed players.
+     * @return The lower-case warp names.
+     * @throws SQLException When the query fails.
+     */
+    public Set<String> readMemberWarps(Connection connection, UUID playerUniqueId, boolean assistant) throws SQLException {
+        final Set<String> warpNames = new HashSet<>();
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                "select warp_name from warp_members where player_uuid = ? and member_type = ?");
+        preparedStatement.setString(1, playerUniqueId.toString());
+        preparedStatement.setInt(2, assistant ? ASSISTANT : PLAYER_LIST);
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) warpNames.add(resultSet.getString("warp_name").toLowerCase());
+        }
+
+        return warpNames;
+    }
+
+    private void readMembers(ResultSet resultSet, Map<String, List<UUID>> playerLists, Map<String, List<UUID>> assistants) throws SQLException {
+        while (resultSet.next()) {
+            final UUID uuid = readUUID(resultSet);
+            if (uuid == null) continue;
+
+            final String warpName = resultSet.getString("warp_name").toLowerCase();
+            (resultSet.getInt("member_type") == ASSISTANT ? assistants : playerLists).computeIfAbsent(warpName, name -> new ArrayList<>()).add(uuid);
+        }
+    }
+
+    private void readVotes(ResultSet resultSet, Map<String, List<UUID>> voters) throws SQLException {
+        while (resultSet.next()) {
+            final UUID uuid = readUUID(resultSet);
+            if (uuid != null) voters.computeIfAbsent(resultSet.getString("warp_name").toLowerCase(), name -> new ArrayList<>()).add(uuid);
+        }
+    }
+
+    private UUID readUUID(ResultSet resultSet) throws SQLException {
+        try {
+            return UUID.fromString(resultSet.getString("player_uuid"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private String getInsertIgnoreSyntax() {
+        return getDatabaseHandler().isUseMySQL() ? "insert ignore" : "insert or ignore";
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
+    }
+
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
+    }
+}
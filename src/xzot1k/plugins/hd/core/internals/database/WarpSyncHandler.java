@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WarpSyncHandler {
+
+    private HyperDrive pluginInstance;
+    private DatabaseHandler databaseHandler;
+    private final Set<String> databaseWarps;
+    private volatile long lastWarpUpdate, lastTombstone, lastSweep;
+    private long overlap, tombstoneLifetime;
+
+    public WarpSyncHandler(HyperDrive pluginInstance, DatabaseHandler databaseHandler) {
+        setPluginInstance(pluginInstance);
+        setDatabaseHandler(databaseHandler);
+        databaseWarps = ConcurrentHashMap.newKeySet();
+
+        setOverlap(Math.max(1000, getPluginInstance().getConfig().getLong("mysql-connection.sync-overlap", 5000)));
+        setTombstoneLifetime(Math.max(60, getPluginInstance().getConfig().getLong("mysql-connection.tombstone-lifetime", 86400)) * 1000);
+    }
+
+    /**
+     * Starts polling from the given database time (Call with the time captured before a full load).
+     *
+     * @param databaseTime The database time in milliseconds.
+     */
+    public void reset(long databaseTime) {
+        lastWarpUpdate = databaseTime;
+        lastTombstone = databaseTime;
+        lastSweep = databaseTime;
+    }
+
+    /**
+     * Applies warps changed or deleted by other servers since the last poll.
+     *
+     * @param connection The borrowed connection.
+     * @throws SQLException When a query fails.
+     */
+    public void poll(Connection connection) throws SQLException {
+        final long databaseTime = getDatabaseHandler().getDatabaseTime(connection);
+
+        // rows are re-checked a little behind the newest seen stamp, catching writes that committed after a later stamp.
+        long newestUpdate = lastWarpUpdate;
+        List<String> changedNames = new ArrayList<>();
+        HashMap<String, Warp> changedWarps = new HashMap<>();
+        HashMap<String, Long> changedVersions = new HashMap<>();
+        PreparedStatement preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection,
+                "select name, revision, updated_at from warps where updated_at > ?");
+        preparedStatement.setLong(1, lastWarpUpdate - getOverlap());
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                newestUpdate = Math.max(newestUpdate, resultSet.getLong("updated_at"));
+
+                final String warpName = resultSet.getString("name");
+                if (warpName == null || warpName.isEmpty()) continue;
+                getDatabaseWarps().add(warpName.toLowerCase());
+
+                final Warp warp = getPluginInstance().getManager().getWarpRegistry().get(warpName);
+                if (warp == null) {
+                    if (!getDatabaseHandler().getWriteQueue().isPending(warpName)) changedNames.add(warpName);
+                } else {
+                    // the version is captured before the row is read, an edit made after this point keeps the row from being applied.
+                    final long changeVersion = warp.getChangeVersion();
+                    if (warp.isDirty() || warp.getRevision() == resultSet.getLong("revision")) continue;
+
+                    changedNames.add(warpName);
+                    changedWarps.put(warpName.toLowerCase(), warp);
+                    changedVersions.put(warpName.toLowerCase(), changeVersion);
+                }
+            }
+        }
+
+        // only the rows that actually differ are fetched in full, into detached warps so nothing half-read is ever visible.
+        final List<Warp> newWarps = new ArrayList<>(), updatedWarps = new ArrayList<>();
+        if (!changedNames.isEmpty()) {
+            final List<Warp> loadedWarps = getDatabaseHandler().loadWarps(connection, changedNames);
+            for (int i = -1; ++i < loadedWarps.size(); ) {
+                final Warp warp = loadedWarps.get(i);
+                if (!changedWarps.containsKey(warp.getWarpName().toLowerCase())) newWarps.add(warp);
+                else updatedWarps.add(warp);
+            }
+        }
+        lastWarpUpdate = newestUpdate;
+
+        final List<String> deletedNames = new ArrayList<>();
+        long newestTombstone = lastTombstone;
+        preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "select name, deleted_at from warp_tombstones where deleted_at > ?");
+        preparedStatement.setLong(1, lastTombstone - getOverlap());
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                newestTombstone = Math.max(newestTombstone, resultSet.getLong("deleted_at"));
+
+                final String warpName = resultSet.getString("name").toLowerCase();
+                getDatabaseWarps().remove(warpName);
+                deletedNames.add(warpName);
+            }
+        }
+        lastTombstone = newestTombstone;
+
+        if ((!newWarps.isEmpty() || !updatedWarps.isEmpty() || !deletedNames.isEmpty()) && getPluginInstance().isEnabled())
+            getPluginInstance().getServer().getScheduler().runTask(getPluginInstance(),
+                    () -> applyUpdates(newWarps, updatedWarps, changedWarps, changedVersions, deletedNames));
+
+        if (databaseTime - lastSweep >= Math.min(getTombstoneLifetime(), 300000)) {
+            lastSweep = databaseTime;
+            preparedStatement = getDatabaseHandler().getConnectionPool().prepare(connection, "delete from warp_tombstones where deleted_at < ?");
+            preparedStatement.setLong(1, databaseTime - getTombstoneLifetime());
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    // main thread, so no local create, edit or delete can land between the checks and the registry changes.
+    private void applyUpdates(List<Warp> newWarps, List<Warp> updatedWarps, HashMap<String, Warp> changedWarps, HashMap<String, Long> changedVersions,
+                              List<String> deletedNames) {
+        for (int i = -1; ++i < newWarps.size(); ) {
+            final Warp loadedWarp = newWarps.get(i);
+
+            // a warp created here since the poll read the row keeps its name, its save overwrites the row.
+            if (getPluginInstance().getManager().getWarpRegistry().get(loadedWarp.getWarpName()) != null
+                    || getDatabaseHandler().getWriteQueue().isPending(loadedWarp.getWarpName())) continue;
+            loadedWarp.register();
+        }
+
+        for (int i = -1; ++i < updatedWarps.size(); ) {
+            final Warp loadedWarp = updatedWarps.get(i);
+            final String warpName = loadedWarp.getWarpName().toLowerCase();
+            final Warp warp = changedWarps.get(warpName);
+            if (warp == null || getPluginInstance().getManager().getWarpRegistry().get(warpName) != warp) continue;
+
+            warp.applyRemote(loadedWarp, changedVersions.get(warpName));
+        }
+
+        for (int i = -1; ++i < deletedNames.size(); ) {
+            // local changes that are not yet written win, their save clears the tombstone.
+            final Warp warp = getPluginInstance().getManager().getWarpRegistry().get(deletedNames.get(i));
+            if (warp != null && !warp.isDirty() && !getDatabaseHandler().getWriteQueue().isPending(deletedNames.get(i))) warp.unRegister();
+        }
+    }
+
+    public Set<String> getDatabaseWarps() {
+        return databaseWarps;
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
+    }
+
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
+    }
+
+    public long getOverlap() {
+        return overlap;
+    }
+
+    private void setOverlap(long overlap) {
+        this.overlap = overlap;
+    }
+
+    public long getTombstoneLifetime() {
+        return tombstoneLifetime;
+    }
+
+    private void setTombstoneLifetime(long tombstoneLifetime) {
+        this.tombstoneLifetime = tombstoneLifetime;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.internals.database;
+
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+public class WarpWriteQueue {
+
+    private static final long MAX_RETRY_DELAY = 60000;
+
+    private HyperDrive pluginInstance;
+    private DatabaseHandler databaseHandler;
+    private ScheduledExecutorService scheduler;
+    private long coalesceDelay;
+    private boolean flushScheduled;
+    private int failedFlushes;
+
+    // keyed by the lower-case warp name, only the latest operation per name is kept.
+    private LinkedHashMap<String, PendingWrite> pendingWrites;
+    // keyed by the exact warp name, votes are only ever appended.
+    private LinkedHashMap<String, List<UUID>> pendingVotes;
+    private final Object flushLock;
+    private final AtomicLong queuedWrites, coalescedWrites;
+
+    public WarpWriteQueue(HyperDrive pluginInstance, DatabaseHandler databaseHandler) {
+        setPluginInstance(pluginInstance);
+        setDatabaseHandler(databaseHandler);
+        setPendingWrites(new LinkedHashMap<>());
+        setPendingVotes(new LinkedHashMap<>());
+        flushLock = new Object();
+        queuedWrites = new AtomicLong();
+        coalescedWrites = new AtomicLong();
+
+        setCoalesceDelay(Math.max(0, getPluginInstance().getConfig().getLong("general-section.write-behind-delay", 2000)));
+        setScheduler(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HyperDrive-Write-Behind");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Queues the warp to be saved, replacing any pending operation for its name.
+     *
+     * @param warp The warp to save.
+     */
+    public void queueSave(Warp warp) {
+        queue(warp.getWarpName(), new PendingWrite(warp.getWarpName(), warp, null));
+    }
+
+    /**
+     * Queues the warp row to be deleted, replacing any pending operation for the name.
+     *
+     * @param warpName The name of the warp.
+     */
+    public void queueDelete(String warpName) {
+        queue(warpName, new PendingWrite(warpName, null, null));
+    }
+
+    /**
+     * Queues a rename as a delete of the old row followed by a save under the new name.
+     *
+     * @param oldName The previous name of the warp.
+     * @param warp    The warp (Already carrying the new name).
+     */
+    public void queueRename(String oldName, Warp warp) {
+        synchronized (this) {
+            queue(oldName, new PendingWrite(oldName, null, warp.getWarpName()));
+            queueSave(warp);
+        }
+    }
+
+    /**
+     * Queues a single vote row to be appended for the warp.
+     *
+     * @param warpName       The name of the warp.
+     * @param playerUniqueId The voter.
+     */
+    public synchronized void queueVote(String warpName, UUID playerUniqueId) {
+        queuedWrites.incrementAndGet();
+        getPendingVotes().computeIfAbsent(warpName, name -> new ArrayList<>()).add(playerUniqueId);
+        scheduleFlush();
+    }
+
+    private synchronized void queue(String warpName, PendingWrite pendingWrite) {
+        queuedWrites.incrementAndGet();
+        if (getPendingWrites().put(warpName.toLowerCase(), pendingWrite) != null)
+            coalescedWrites.incrementAndGet();
+        scheduleFlush();
+    }
+
+    private synchronized void scheduleFlush() {
+        scheduleFlush(getCoalesceDelay());
+    }
+
+    private synchronized void scheduleFlush(long delay) {
+        if (!flushScheduled && !getScheduler().isShutdown()) {
+            flushScheduled = true;
+            getScheduler().schedule(() -> {
+                synchronized (WarpWriteQueue.this) {
+                    flushScheduled = false;
+                }
+
+                flush(Long.MAX_VALUE);
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes every pending operation now and waits for it.
+     *
+     * @param timeoutMillis The longest time to wait for the database.
+     * @return Whether everything pending at the time of the call was written.
+     */
+    public boolean flush(long timeoutMillis) {
+        synchronized (flushLock) {
+            final LinkedHashMap<String, PendingWrite> writes;
+            final LinkedHashMap<String, List<UUID>> votes;
+            synchronized (this) {
+                if (getPendingWrites().isEmpty() && getPendingVotes().isEmpty()) return true;
+                writes = getPendingWrites();
+                votes = getPendingVotes();
+                setPendingWrites(new LinkedHashMap<>());
+                setPendingVotes(new LinkedHashMap<>());
+            }
+
+            final List<String> deletes = new ArrayList<>();
+            final List<Warp> saves = new ArrayList<>();
+            final LinkedHashMap<String, String> renames = new LinkedHashMap<>();
+            for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+                final Warp warp = entry.getValue().getWarp();
+                if (warp == null) {
+                    deletes.add(entry.getValue().getWarpName());
+                    if (entry.getValue().getRenamedTo() != null)
+                        renames.put(entry.getValue().getWarpName(), entry.getValue().getRenamedTo());
+                } else if (warp.getWarpName().equalsIgnoreCase(entry.getKey()))
+                    saves.add(warp); // renamed warps are skipped here, their new name has its own pending save.
+            }
+
+            // votes are appended before renames move them and before deletes clear them.
+            final DatabaseTask<Integer> writeTask = connection -> {
+                getDatabaseHandler().getMemberHandler().saveVotes(connection, votes);
+                getDatabaseHandler().getMemberHandler().renameVotes(connection, renames);
+                getDatabaseHandler().deleteWarps(connection, deletes);
+                return getDatabaseHandler().saveWarps(connection, saves);
+            };
+
+            try {
+                // a database thread already owns a connection, so waiting on another worker could starve the pool.
+                if (getDatabaseHandler().isDatabaseThread()) getDatabaseHandler().await(writeTask);
+                else getDatabaseHandler().submit(writeTask).get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+                synchronized (this) {
+                    failedFlushes = 0;
+                }
+                return true;
+            } catch (SQLException | InterruptedException | ExecutionException | TimeoutException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                // everything goes back, writes that did commit before the failure are only repeated.
+                requeue(writes, votes);
+
+                final Throwable cause = (e instanceof ExecutionException && e.getCause() != null) ? e.getCause() : e;
+                if (!(cause instanceof SQLException)) cause.printStackTrace();
+                getPluginInstance().log(Level.WARNING, "There was an issue writing " + (writes.size() + votes.size()) + " queued warp change(s) to the database ("
+                        + cause.getMessage() + "). They will be retried.");
+                return false;
+            }
+        }
+    }
+
+    // puts failed operations back unless a newer one has been queued for the same name in the meantime, then retries
+    // them on its own, waiting longer after each failure in a row, as nothing else may queue a write to trigger a flush.
+    private synchronized void requeue(LinkedHashMap<String, PendingWrite> writes, LinkedHashMap<String, List<UUID>> votes) {
+        LinkedHashMap<String, PendingWrite> newPendingWrites = new LinkedHashMap<>(writes);
+        newPendingWrites.putAll(getPendingWrites());
+        setPendingWrites(newPendingWrites);
+
+        for (Map.Entry<String, List<UUID>> entry : getPendingVotes().entrySet())
+            votes.computeIfAbsent(entry.getKey(), name -> new ArrayList<>()).addAll(entry.getValue());
+        setPendingVotes(votes);
+
+        failedFlushes++;
+        scheduleFlush(Math.min(MAX_RETRY_DELAY, Math.max(1000, getCoalesceDelay()) << Math.min(failedFlushes - 1, 6)));
+    }
+
+    /**
+     * Stops the coalescing timer and writes everything pending within the deadline.
+     *
+     * @param deadlineMillis The longest time to spend draining.
+     * @return Whether the queue was fully drained.
+     */
+    public boolean drain(long deadlineMillis) {
+        getScheduler().shutdownNow();
+
+        final long deadline = System.currentTimeMillis() + deadlineMillis;
+        while (getPendingCount() > 0) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0 || !flush(remaining)) break;
+        }
+
+        final int pendingCount = getPendingCount();
+        if (pendingCount > 0)
+            getPluginInstance().log(Level.WARNING, pendingCount + " queued warp change(s) could not be written within the " + deadlineMillis + "ms shutdown deadline.");
+        return pendingCount <= 0;
+    }
+
+    /**
+     * @param warpName The name of the warp.
+     * @return Whether a write for the name is waiting to be flushed.
+     */
+    public synchronized boolean isPending(String warpName) {
+        return getPendingWrites().containsKey(warpName.toLowerCase());
+    }
+
+    public synchronized int getPendingCount() {
+        return getPendingWrites().size() + getPendingVotes().size();
+    }
+
+    public long getQueuedWrites() {
+        return queuedWrites.get();
+    }
+
+    public long getCoalescedWrites() {
+        return coalescedWrites.get();
+    }
+
+    // getters & setters
+    private HyperDrive getPluginInstance() {
+        return pluginInstance;
+    }
+
+    private void setPluginInstance(HyperDrive pluginInstance) {
+        this.pluginInstance = pluginInstance;
+    }
+
+    private DatabaseHandler getDatabaseHandler() {
+        return databaseHandler;
+    }
+
+    private void setDatabaseHandler(DatabaseHandler databaseHandler) {
+        this.databaseHandler = databaseHandler;
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    private void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public long getCoalesceDelay() {
+        return coalesceDelay;
+    }
+
+    private void setCoalesceDelay(long coalesceDelay) {
+        this.coalesceDelay = coalesceDelay;
+    }
+
+    private LinkedHashMap<String, PendingWrite> getPendingWrites() {
+        return pendingWrites;
+    }
+
+    private void setPendingWrites(LinkedHashMap<String, PendingWrite> pendingWrites) {
+        this.pendingWrites = pendingWrites;
+    }
+
+    private LinkedHashMap<String, List<UUID>> getPendingVotes() {
+        return pendingVotes;
+    }
+
+    private void setPendingVotes(LinkedHashMap<String, List<UUID>> pendingVotes) {
+        this.pendingVotes = pendingVotes;
+    }
+
+    private static class PendingWrite {
+        private final String warpName, renamedTo;
+        private final Warp warp;
+
+        private PendingWrite(String warpName, Warp warp, String renamedTo) {
+            this.warpName = warpName;
+            this.warp = warp;
+            this.renamedTo = renamedTo;
+        }
+
+        // the name as it was queued (SQLite compares names case sensitively).
+        private String getWarpName() {
+            return warpName;
+        }
+
+        // a null warp marks a delete of the keyed name.
+        private Warp getWarp() {
+            return warp;
+        }
+
+        // the new name when the delete comes from a rename, so stored votes can follow the warp.
+        private String getRenamedTo() {
+            return renamedTo;
+        }
+    }
+}
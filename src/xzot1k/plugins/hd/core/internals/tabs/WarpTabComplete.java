@@ -10,11 +10,14 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import xzot1k.plugins.hd.HyperDrive;
 import xzot1k.plugins.hd.api.EnumContainer;
+import xzot1k.plugins.hd.api.WarpRegistry;
 import xzot1k.plugins.hd.api.objects.Warp;
+import xzot1k.plugins.hd.core.internals.database.WarpDetailsCache;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class WarpTabComplete implements TabCompleter {
 
@@ -30,13 +33,18 @@ public class WarpTabComplete implements TabCompleter {
 
             if (args.length == 1) {
                 boolean hasAllAccess = (commandSender.isOp() || commandSender.hasPermission("hyperdrive.admin.tab"));
-                final List<String> warpNames = hasAllAccess ? new ArrayList<>(getPluginInstance().getManager().getWarpMap().keySet()) : new ArrayList<>();
+                final WarpRegistry.Snapshot snapshot = getPluginInstance().getManager().getWarpRegistry().getSnapshot();
+                final List<String> warpNames = hasAllAccess ? new ArrayList<>(snapshot.getWarpNames()) : new ArrayList<>();
 
                 if (!hasAllAccess && commandSender instanceof Player) {
                     Player player = (Player) commandSender;
-                    for (Warp warp : getPluginInstance().getManager().getWarpMap().values()) {
+                    final WarpDetailsCache detailsCache = getPluginInstance().getDatabaseHandler().getDetailsCache();
+                    final Set<String> assistedWarps = detailsCache.getMemberWarps(player.getUniqueId(), true),
+                            listedWarps = detailsCache.getMemberWarps(player.getUniqueId(), false);
+                    for (Warp warp : snapshot.getWarps()) {
                         if (!warpNames.contains(warp.getWarpName()) && ((warp.getOwner() != null && warp.getOwner().toString().equals(player.getUniqueId().toString()))
-                                || warp.getAssistants().contains(player.getUniqueId()) || (warp.isWhiteListMode() && warp.getPlayerList().contains(player.getUniqueId()))
+                                || detailsCache.isMember(warp, assistedWarps, player.getUniqueId(), true)
+                                || (warp.isWhiteListMode() && detailsCache.isMember(warp, listedWarps, player.getUniqueId(), false))
                                 || warp.getStatus() == EnumContainer.Status.PUBLIC || (warp.getStatus() == EnumContainer.Status.ADMIN
                                 && ((player.hasPermission("hyperdrive.warps." + warp.getWarpName()) || player.hasPermission("hyperdrive.warps.*"))))))
                             warpNames.add(warp.getWarpName());
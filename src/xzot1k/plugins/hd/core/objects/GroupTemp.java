@@ -96,7 +96,7 @@ public class GroupTemp {
                                 OfflinePlayer offlinePlayer = getPluginInstance().getServer().getOfflinePlayer(playerUniqueId);
                                 if (!offlinePlayer.isOnline()) continue;
 
-                                if (useCrossWarping && useMySQL && getPluginInstance().getDatabaseConnection() != null) {
+                                if (useCrossWarping && useMySQL && getPluginInstance().getDatabaseHandler() != null) {
                                     if (getDestination().getWarp() != null) {
                                         String warpIP = getDestination().getWarp().getServerIPAddress(),
                                                 serverIP = (getPluginInstance().getServer().getIp().equalsIgnoreCase("")
@@ -150,7 +150,7 @@ public class GroupTemp {
                                         offlinePlayer.getPlayer());
                             }
 
-                            if (useCrossWarping && useMySQL && getPluginInstance().getDatabaseConnection() != null) {
+                            if (useCrossWarping && useMySQL && getPluginInstance().getDatabaseHandler() != null) {
                                 if (getDestination().getWarp() != null) {
                                     String warpIP = getDestination().getWarp().getServerIPAddress().replace("localhost", "127.0.0.1"),
                                             serverIP = (getPluginInstance().getServer().getIp().equalsIgnoreCase("")
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import xzot1k.plugins.hd.api.EnumContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A menu compiled from the menus configuration, with the clickable items indexed by slot.
+ */
+public class MenuDefinition {
+    private final EnumContainer.MenuType menuType;
+    private final String menuPath, menuId, title;
+    private final int size;
+    private final MenuItem[] slotItems;
+    private final boolean[] contentSlotTable;
+    private final List<Integer> contentSlots;
+
+    /**
+     * @param menusConfig The menus configuration.
+     * @param menuType    The type of menu.
+     * @param menuPath    The path of the menu section (e.g. list-menu-section).
+     * @param menuId      The id of the custom menu (Null for the other menus).
+     */
+    public MenuDefinition(FileConfiguration menusConfig, EnumContainer.MenuType menuType, String menuPath, String menuId) {
+        this.menuType = menuType;
+        this.menuPath = menuPath;
+        this.menuId = menuId;
+
+        final String title = menusConfig.getString(menuPath + ".title");
+        this.title = (title != null) ? ChatColor.translateAlternateColorCodes('&', title) : "";
+        this.size = menusConfig.getInt(menuPath + ".size");
+        this.slotItems = new MenuItem[Math.max(0, size)];
+        this.contentSlotTable = new boolean[Math.max(0, size)];
+
+        final ConfigurationSection itemsSection = menusConfig.getConfigurationSection(menuPath + ".items");
+        if (itemsSection != null) {
+            final List<String> itemIds = new ArrayList<>(itemsSection.getKeys(false));
+            for (int i = -1; ++i < itemIds.size(); ) {
+                final String itemId = itemIds.get(i), itemPath = menuPath + ".items." + itemId;
+                final int slot = menusConfig.getInt(itemPath + ".slot");
+
+                // the first item configured for a slot wins, same as the old slot search.
+                if (slot < 0 || slot >= slotItems.length || slotItems[slot] != null) continue;
+                slotItems[slot] = new MenuItem(itemId, menusConfig.getString(itemPath + ".click-action"),
+                        menusConfig.getBoolean(itemPath + ".click-sound") ? compileSound(menusConfig.getString(itemPath + ".sound-name")) : null);
+            }
+        }
+
+        final List<Integer> contentSlots = menusConfig.getIntegerList(menuPath + (menuType == EnumContainer.MenuType.PLAYER_SELECTION ? ".player-slots" : ".warp-slots"));
+        for (int i = -1; ++i < contentSlots.size(); ) {
+            final int slot = contentSlots.get(i);
+            if (slot >= 0 && slot < contentSlotTable.length) contentSlotTable[slot] = true;
+        }
+        this.contentSlots = Collections.unmodifiableList(new ArrayList<>(contentSlots));
+    }
+
+    private static Sound compileSound(String soundName) {
+        if (soundName == null || soundName.isEmpty()) return null;
+
+        try {
+            return Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the item configured for a slot.
+     *
+     * @param slot The slot.
+     * @return The item or null if the slot is empty or out of range.
+     */
+    public MenuItem getItem(int slot) {
+        return (slot >= 0 && slot < slotItems.length) ? slotItems[slot] : null;
+    }
+
+    /**
+     * Checks if the slot is one of the warp (or player) slots the menu pages through.
+     *
+     * @param slot The slot.
+     * @return Whether the slot holds paged content.
+     */
+    public boolean isContentSlot(int slot) {
+        return slot >= 0 && slot < contentSlotTable.length && contentSlotTable[slot];
+    }
+
+    // getters & setters
+    public EnumContainer.MenuType getMenuType() {
+        return menuType;
+    }
+
+    public String getMenuPath() {
+        return menuPath;
+    }
+
+    public String getMenuId() {
+        return menuId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<Integer> getContentSlots() {
+        return contentSlots;
+    }
+
+    public static class MenuItem {
+        private final String itemId, clickAction;
+        private final Sound clickSound;
+
+        public MenuItem(String itemId, String clickAction, Sound clickSound) {
+            this.itemId = itemId;
+            this.clickAction = clickAction;
+            this.clickSound = clickSound;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public String getClickAction() {
+            return clickAction;
+        }
+
+        public Sound getClickSound() {
+            return clickSound;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Marks an inventory as a HyperDrive menu so clicks can be dispatched without comparing titles.
+ */
+public class MenuHolder implements InventoryHolder {
+    private final MenuDefinition menuDefinition;
+    private final String warpName;
+    private Inventory inventory;
+
+    public MenuHolder(MenuDefinition menuDefinition, String warpName) {
+        this.menuDefinition = menuDefinition;
+        this.warpName = warpName;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    // getters & setters
+    public void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public MenuDefinition getMenuDefinition() {
+        return menuDefinition;
+    }
+
+    public String getWarpName() {
+        return warpName;
+    }
+}
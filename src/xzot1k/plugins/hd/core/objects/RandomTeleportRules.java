@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * The random teleport block and biome rules, compiled once from the configuration so checking a column only does
+ * set and table lookups. A configured name still matches every material or biome containing it.
+ */
+public class RandomTeleportRules {
+    private final EnumSet<Material> forbiddenMaterials;
+    private final EnumSet<Biome> blockedBiomes;
+    private final boolean[] airTable;
+    private final int[] forbiddenDataMasks;
+
+    /**
+     * @param forbiddenMaterialLines The forbidden material lines (Format: <material> or <material>:<durability>, -1 for any).
+     * @param biomeBlackList         The blacklisted biome names.
+     */
+    public RandomTeleportRules(List<String> forbiddenMaterialLines, List<String> biomeBlackList) {
+        final Material[] materials = Material.values();
+        this.forbiddenMaterials = EnumSet.noneOf(Material.class);
+        this.airTable = new boolean[materials.length];
+        this.forbiddenDataMasks = new int[materials.length];
+
+        for (int i = -1; ++i < materials.length; )
+            airTable[i] = materials[i].name().contains("AIR");
+
+        for (int i = -1; ++i < forbiddenMaterialLines.size(); ) {
+            final String materialLine = forbiddenMaterialLines.get(i);
+            if (materialLine == null || materialLine.isEmpty()) continue;
+
+            final String[] materialArgs = materialLine.split(":");
+            final String materialName = formatName(materialArgs[0]);
+            int durability = -1;
+            if (materialArgs.length > 1) {
+                try {
+                    durability = Integer.parseInt(materialArgs[1]);
+                } catch (NumberFormatException e) {
+                    durability = 0;
+                }
+            }
+
+            // legacy durability only goes up to 15, anything higher could never match.
+            if (durability > 15) continue;
+            for (int j = -1; ++j < materials.length; ) {
+                if (!materials[j].name().contains(materialName)) continue;
+                if (durability < 0) forbiddenMaterials.add(materials[j]);
+                else forbiddenDataMasks[j] |= (1 << durability);
+            }
+        }
+
+        this.blockedBiomes = EnumSet.noneOf(Biome.class);
+        for (int i = -1; ++i < biomeBlackList.size(); ) {
+            final String biomeLine = biomeBlackList.get(i);
+            if (biomeLine == null || biomeLine.isEmpty()) continue;
+
+            final String biomeName = formatName(biomeLine);
+            for (Biome biome : Biome.values())
+                if (biome.name().contains(biomeName)) blockedBiomes.add(biome);
+        }
+    }
+
+    private static String formatName(String name) {
+        return name.toUpperCase().replace(" ", "_").replace("-", "_");
+    }
+
+    public boolean isAir(Material material) {
+        return airTable[material.ordinal()];
+    }
+
+    /**
+     * @param material The material of the block.
+     * @param data     The legacy data value of the block.
+     * @return Whether players may not be teleported onto the block.
+     */
+    public boolean isForbidden(Material material, int data) {
+        return forbiddenMaterials.contains(material) || (data >= 0 && data <= 15 && (forbiddenDataMasks[material.ordinal()] & (1 << data)) != 0);
+    }
+
+    public boolean isBlockedBiome(Biome biome) {
+        return blockedBiomes.contains(biome);
+    }
+}
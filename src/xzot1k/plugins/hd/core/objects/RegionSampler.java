@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks random teleport candidates per world. The area around the center is split into rings of equal width and a
+ * ring is picked weighted by how often candidates in it turned out safe, then a point is picked evenly within the
+ * ring. Chunks found unsafe are remembered for a while and skipped. Safe to use from any thread.
+ */
+public class RegionSampler {
+    private static final int RING_COUNT = 8, MAX_REDRAWS = 16, DECAY_ATTEMPTS = 1000;
+    private static final double INNER_RADIUS = 0.1;
+
+    private final int maxUnsafeChunks;
+    private final long unsafeExpiry;
+    private final Map<String, WorldState> worldStateMap;
+
+    /**
+     * @param maxUnsafeChunks The most unsafe chunks remembered per world (0 or less disables the cache).
+     * @param unsafeExpiry    How long in milliseconds a chunk is remembered as unsafe.
+     */
+    public RegionSampler(int maxUnsafeChunks, long unsafeExpiry) {
+        this.maxUnsafeChunks = maxUnsafeChunks;
+        this.unsafeExpiry = unsafeExpiry;
+        this.worldStateMap = new HashMap<>();
+    }
+
+    /**
+     * Picks a candidate, redrawing a few times when it lands in a chunk remembered as unsafe.
+     *
+     * @param worldName The world name.
+     * @param centerX   The x-axis coordinate of the center.
+     * @param centerZ   The z-axis coordinate of the center.
+     * @param radius    The radius to pick within.
+     * @return The x-axis coordinate, z-axis coordinate, and ring of the candidate (Pass the ring to record).
+     */
+    public synchronized int[] sample(String worldName, int centerX, int centerZ, int radius) {
+        final WorldState worldState = getWorldState(worldName);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long currentTime = System.currentTimeMillis();
+
+        int[] candidate = null;
+        for (int i = -1; ++i < MAX_REDRAWS; ) {
+            final int ring = pickRing(worldState, random);
+            final double ringWidth = radius * (1 - INNER_RADIUS) / RING_COUNT, innerRadius = radius * INNER_RADIUS + ring * ringWidth,
+                    outerRadius = innerRadius + ringWidth,
+                    distance = Math.sqrt(innerRadius * innerRadius + random.nextDouble() * (outerRadius * outerRadius - innerRadius * innerRadius)),
+                    angle = random.nextDouble() * Math.PI * 2;
+
+            candidate = new int[]{(int) Math.floor(centerX + distance * Math.cos(angle)), (int) Math.floor(centerZ + distance * Math.sin(angle)), ring};
+            if (!isUnsafe(worldState, candidate[0], candidate[1], currentTime)) break;
+        }
+
+        return candidate;
+    }
+
+    // each ring is weighted by its smoothed success rate so rings that never worked still get picked now and then.
+    private int pickRing(WorldState worldState, ThreadLocalRandom random) {
+        double totalWeight = 0;
+        for (int i = -1; ++i < RING_COUNT; )
+            totalWeight += getRingWeight(worldState, i);
+
+        double roll = random.nextDouble() * totalWeight;
+        for (int i = -1; ++i < RING_COUNT; ) {
+            roll -= getRingWeight(worldState, i);
+            if (roll <= 0) return i;
+        }
+
+        return RING_COUNT - 1;
+    }
+
+    private double getRingWeight(WorldState worldState, int ring) {
+        return (worldState.successes[ring] + 1.0) / (worldState.attempts[ring] + 2.0);
+    }
+
+    /**
+     * Records the outcome of a candidate so its ring is picked more or less often.
+     *
+     * @param worldName The world name.
+     * @param ring      The ring the candidate was sampled from.
+     * @param success   Whether the candidate was safe.
+     */
+    public synchronized void record(String worldName, int ring, boolean success) {
+        if (ring < 0 || ring >= RING_COUNT) return;
+
+        final WorldState worldState = getWorldState(worldName);
+        worldState.attempts[ring]++;
+        if (success) worldState.successes[ring]++;
+
+        // halves old results so the rates keep following the world as it changes.
+        if (worldState.attempts[ring] >= DECAY_ATTEMPTS) {
+            worldState.attempts[ring] /= 2;
+            worldState.successes[ring] /= 2;
+        }
+    }
+
+    /**
+     * Remembers the chunk containing the coordinates as unsafe.
+     *
+     * @param worldName The world name.
+     * @param x         The x-axis block coordinate.
+     * @param z         The z-axis block coordinate.
+     */
+    public synchronized void markUnsafe(String worldName, int x, int z) {
+        if (maxUnsafeChunks <= 0) return;
+        getWorldState(worldName).unsafeChunks.put(getChunkKey(x, z), System.currentTimeMillis() + unsafeExpiry);
+    }
+
+    /**
+     * @param worldName The world name.
+     * @param x         The x-axis block coordinate.
+     * @param z         The z-axis block coordinate.
+     * @return Whether the chunk containing the coordinates is remembered as unsafe.
+     */
+    public synchronized boolean isUnsafe(String worldName, int x, int z) {
+        return isUnsafe(getWorldState(worldName), x, z, System.currentTimeMillis());
+    }
+
+    private boolean isUnsafe(WorldState worldState, int x, int z, long currentTime) {
+        final long chunkKey = getChunkKey(x, z);
+        final Long expiration = worldState.unsafeChunks.get(chunkKey);
+        if (expiration == null) return false;
+        if (expiration > currentTime) return true;
+
+        worldState.unsafeChunks.remove(chunkKey);
+        return false;
+    }
+
+    /**
+     * @return The amount of chunks remembered as unsafe across all worlds.
+     */
+    public synchronized int getUnsafeCount() {
+        int count = 0;
+        for (WorldState worldState : worldStateMap.values()) count += worldState.unsafeChunks.size();
+        return count;
+    }
+
+    private WorldState getWorldState(String worldName) {
+        return worldStateMap.computeIfAbsent(worldName.toLowerCase(), name -> new WorldState(maxUnsafeChunks));
+    }
+
+    private static long getChunkKey(int x, int z) {
+        return ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+    }
+
+    private static class WorldState {
+        private final int[] attempts = new int[RING_COUNT], successes = new int[RING_COUNT];
+        private final LinkedHashMap<Long, Long> unsafeChunks;
+
+        private WorldState(int maxUnsafeChunks) {
+            // insertion ordered, so the oldest entry is dropped once the cache is full.
+            this.unsafeChunks = new LinkedHashMap<Long, Long>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > maxUnsafeChunks;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.Sound;
+import org.bukkit.configuration.file.FileConfiguration;
+import xzot1k.plugins.hd.HyperDrive;
+import xzot1k.plugins.hd.api.EnumContainer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * An immutable copy of the values read on hot paths, compiled whenever the configuration files are (re)loaded.
+ */
+public class Settings {
+    private final boolean moveCancellation, damageCancellation, teleportVehicles, useMySQL, forceSpawn, forceOnlyFirstJoin, forceDeathSpawn;
+    private final int warpDelayDuration, randomTeleportMaxTries, teleportBudgetCount, locationPoolSize, locationPoolInterval, unsafeChunkCacheSize,
+            maxSearchesPerWorld;
+    private final long teleportBudgetTime, unsafeChunkExpiry;
+    private final String defaultIP, publicStatusFormat, privateStatusFormat, adminStatusFormat, featuredStatusFormat, ownStatusFormat;
+    private final Sound teleportSound, standaloneTeleportSound;
+    private final AnimationSetting standaloneTeleportAnimation, randomTeleportAnimation, randomTeleportDelayAnimation;
+    private final List<String> firstJoinCommands, forbiddenMaterials, biomeBlackList;
+    private final RandomTeleportRules randomTeleportRules;
+    private final Set<String> forbiddenWorlds;
+    private final List<AliasCommand> aliasCommands;
+    private final Map<String, double[]> forcedLocationMap;
+
+    public Settings(HyperDrive pluginInstance) {
+        final FileConfiguration config = pluginInstance.getConfig(), menusConfig = pluginInstance.getMenusConfig();
+
+        moveCancellation = config.getBoolean("teleportation-section.move-cancellation");
+        damageCancellation = config.getBoolean("teleportation-section.damage-cancellation");
+        teleportVehicles = config.getBoolean("teleportation-section.teleport-vehicles");
+        useMySQL = config.getBoolean("mysql-connection.use-mysql");
+        forceSpawn = config.getBoolean("general-section.force-spawn");
+        forceOnlyFirstJoin = config.getBoolean("general-section.force-only-first-join");
+        forceDeathSpawn = config.getBoolean("general-section.force-death-spawn");
+        warpDelayDuration = config.getInt("teleportation-section.warp-delay-duration");
+        randomTeleportMaxTries = config.getInt("random-teleport-section.max-tries");
+        teleportBudgetCount = config.getInt("teleportation-section.teleports-per-tick", 10);
+        teleportBudgetTime = TimeUnit.MICROSECONDS.toNanos(config.getLong("teleportation-section.teleport-time-per-tick", 10000));
+        locationPoolSize = config.getInt("random-teleport-section.location-pool-size", 10);
+        locationPoolInterval = Math.max(1, config.getInt("random-teleport-section.location-pool-interval", 20));
+        unsafeChunkCacheSize = config.getInt("random-teleport-section.unsafe-chunk-cache-size", 4096);
+        maxSearchesPerWorld = config.getInt("random-teleport-section.max-searches-per-world", 1);
+        unsafeChunkExpiry = TimeUnit.SECONDS.toMillis(config.getLong("random-teleport-section.unsafe-chunk-expiry", 600));
+        defaultIP = config.getString("mysql-connection.default-ip");
+
+        teleportSound = compileSound(pluginInstance, config.getString("general-section.global-sounds.teleport"));
+        standaloneTeleportSound = compileSound(pluginInstance, config.getString("general-section.global-sounds.standalone-teleport"));
+        standaloneTeleportAnimation = compileAnimation(pluginInstance, config.getString("special-effects-section.standalone-teleport-animation"), false);
+        randomTeleportAnimation = compileAnimation(pluginInstance, config.getString("special-effects-section.random-teleport-animation"), true);
+        randomTeleportDelayAnimation = compileDelayAnimation(pluginInstance, config.getString("special-effects-section.random-teleport-delay-animation"));
+
+        firstJoinCommands = Collections.unmodifiableList(new ArrayList<>(config.getStringList("general-section.first-join-commands")));
+        forbiddenMaterials = Collections.unmodifiableList(new ArrayList<>(config.getStringList("random-teleport-section.forbidden-materials")));
+        biomeBlackList = Collections.unmodifiableList(new ArrayList<>(config.getStringList("random-teleport-section.biome-blacklist")));
+        randomTeleportRules = new RandomTeleportRules(forbiddenMaterials, biomeBlackList);
+
+        final Set<String> forbiddenWorlds = new HashSet<>();
+        for (String worldName : config.getStringList("random-teleport-section.forbidden-worlds"))
+            if (worldName != null) forbiddenWorlds.add(worldName.toLowerCase());
+        this.forbiddenWorlds = Collections.unmodifiableSet(forbiddenWorlds);
+
+        final List<String> aliasLines = config.getStringList("general-section.custom-alias-commands");
+        final List<AliasCommand> aliasCommands = new ArrayList<>();
+        for (int i = -1; ++i < aliasLines.size(); ) {
+            final String aliasLine = aliasLines.get(i);
+            if (aliasLine == null || !aliasLine.contains(":")) continue;
+
+            final String[] args = aliasLine.split(":");
+            if (args.length < 3 || (!args[2].equalsIgnoreCase("player") && !args[2].equalsIgnoreCase("console"))) continue;
+            aliasCommands.add(new AliasCommand(args[0], args[1], args[2].equalsIgnoreCase("console")));
+        }
+        this.aliasCommands = Collections.unmodifiableList(aliasCommands);
+
+        final List<String> forcedLocationLines = config.getStringList("random-teleport-section.forced-location-list");
+        final Map<String, double[]> forcedLocationMap = new HashMap<>();
+        for (int i = -1; ++i < forcedLocationLines.size(); ) {
+            final String line = forcedLocationLines.get(i);
+            if (line == null || !line.contains(":")) continue;
+
+            final String[] lineArgs = line.split(":");
+            if (lineArgs.length < 2 || !lineArgs[1].contains(",")) continue;
+
+            final String worldName = lineArgs[0].toLowerCase();
+            if (forcedLocationMap.containsKey(worldName)) continue;
+
+            final String[] coordinateArgs = lineArgs[1].split(",");
+            try {
+                forcedLocationMap.put(worldName, new double[]{Double.parseDouble(coordinateArgs[0]), Double.parseDouble(coordinateArgs[1]),
+                        Double.parseDouble(coordinateArgs[2])});
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // the world keeps its first entry, which just falls back to the player's location (same as before).
+                forcedLocationMap.put(worldName, null);
+            }
+        }
+        this.forcedLocationMap = Collections.unmodifiableMap(forcedLocationMap);
+
+        publicStatusFormat = menusConfig.getString("list-menu-section.public-status-format");
+        privateStatusFormat = menusConfig.getString("list-menu-section.private-status-format");
+        adminStatusFormat = menusConfig.getString("list-menu-section.admin-status-format");
+        featuredStatusFormat = menusConfig.getString("list-menu-section.featured-status-format");
+        ownStatusFormat = menusConfig.getString("list-menu-section.own-status-format");
+    }
+
+    private static Sound compileSound(HyperDrive pluginInstance, String soundName) {
+        if (soundName == null || soundName.isEmpty()) return null;
+
+        try {
+            return Sound.valueOf(soundName.toUpperCase().replace(" ", "_").replace("-", "_"));
+        } catch (IllegalArgumentException e) {
+            pluginInstance.log(Level.WARNING, "The sound '" + soundName + "' is invalid and will not be played.");
+            return null;
+        }
+    }
+
+    private static AnimationSetting compileAnimation(HyperDrive pluginInstance, String animationLine, boolean formatTheme) {
+        if (animationLine == null || !animationLine.contains(":")) return null;
+
+        final String[] animationArgs = animationLine.split(":");
+        if (animationArgs.length < 2) return null;
+
+        try {
+            final EnumContainer.Animation animation = EnumContainer.Animation.valueOf(animationArgs[0].toUpperCase().replace(" ", "_").replace("-", "_"));
+            return new AnimationSetting(animation, formatTheme ? animationArgs[1].toUpperCase().replace(" ", "_").replace("-", "_") : animationArgs[1]);
+        } catch (IllegalArgumentException e) {
+            pluginInstance.log(Level.WARNING, "The animation '" + animationArgs[0] + "' is invalid and will not be played.");
+            return null;
+        }
+    }
+
+    // the delay animation line is "<anything>:<animation>/<anything>", its animation name is played as the theme as well.
+    private static AnimationSetting compileDelayAnimation(HyperDrive pluginInstance, String animationLine) {
+        if (animationLine == null || !animationLine.contains(":")) return null;
+
+        final String[] themeArgs = animationLine.split(":");
+        if (themeArgs.length < 2 || !themeArgs[1].contains("/")) return null;
+
+        final String animationName = themeArgs[1].split("/")[0];
+        try {
+            return new AnimationSetting(EnumContainer.Animation.valueOf(animationName.toUpperCase().replace(" ", "_").replace("-", "_")), animationName);
+        } catch (IllegalArgumentException e) {
+            pluginInstance.log(Level.WARNING, "The animation '" + animationName + "' is invalid and will not be played.");
+            return null;
+        }
+    }
+
+    /**
+     * Gets the forced random teleport base coordinates of a world.
+     *
+     * @param worldName The world name.
+     * @return The x, y, and z coordinates or null if the world has no (valid) forced location.
+     */
+    public double[] getForcedLocation(String worldName) {
+        return getForcedLocationMap().get(worldName.toLowerCase());
+    }
+
+    /**
+     * @param worldName The world name.
+     * @return Whether random teleports are not allowed to take players into the world.
+     */
+    public boolean isForbiddenWorld(String worldName) {
+        return forbiddenWorlds.contains(worldName.toLowerCase());
+    }
+
+    // getters & setters
+    public boolean isMoveCancellation() {
+        return moveCancellation;
+    }
+
+    public boolean isDamageCancellation() {
+        return damageCancellation;
+    }
+
+    public boolean isTeleportVehicles() {
+        return teleportVehicles;
+    }
+
+    public boolean useMySQL() {
+        return useMySQL;
+    }
+
+    public boolean isForceSpawn() {
+        return forceSpawn;
+    }
+
+    public boolean isForceOnlyFirstJoin() {
+        return forceOnlyFirstJoin;
+    }
+
+    public boolean isForceDeathSpawn() {
+        return forceDeathSpawn;
+    }
+
+    public int getWarpDelayDuration() {
+        return warpDelayDuration;
+    }
+
+    public int getRandomTeleportMaxTries() {
+        return randomTeleportMaxTries;
+    }
+
+    public int getTeleportBudgetCount() {
+        return teleportBudgetCount;
+    }
+
+    /**
+     * @return The time in nanoseconds due teleports may use per tick (0 or less for no limit).
+     */
+    public long getTeleportBudgetTime() {
+        return teleportBudgetTime;
+    }
+
+    public int getLocationPoolSize() {
+        return locationPoolSize;
+    }
+
+    public int getLocationPoolInterval() {
+        return locationPoolInterval;
+    }
+
+    public int getMaxSearchesPerWorld() {
+        return maxSearchesPerWorld;
+    }
+
+    public int getUnsafeChunkCacheSize() {
+        return unsafeChunkCacheSize;
+    }
+
+    /**
+     * @return How long in milliseconds a chunk is remembered as unsafe for random teleports.
+     */
+    public long getUnsafeChunkExpiry() {
+        return unsafeChunkExpiry;
+    }
+
+    public String getDefaultIP() {
+        return defaultIP;
+    }
+
+    public String getPublicStatusFormat() {
+        return publicStatusFormat;
+    }
+
+    public String getPrivateStatusFormat() {
+        return privateStatusFormat;
+    }
+
+    public String getAdminStatusFormat() {
+        return adminStatusFormat;
+    }
+
+    public String getFeaturedStatusFormat() {
+        return featuredStatusFormat;
+    }
+
+    public String getOwnStatusFormat() {
+        return ownStatusFormat;
+    }
+
+    public Sound getTeleportSound() {
+        return teleportSound;
+    }
+
+    public Sound getStandaloneTeleportSound() {
+        return standaloneTeleportSound;
+    }
+
+    public AnimationSetting getStandaloneTeleportAnimation() {
+        return standaloneTeleportAnimation;
+    }
+
+    public AnimationSetting getRandomTeleportAnimation() {
+        return randomTeleportAnimation;
+    }
+
+    public AnimationSetting getRandomTeleportDelayAnimation() {
+        return randomTeleportDelayAnimation;
+    }
+
+    public List<String> getFirstJoinCommands() {
+        return firstJoinCommands;
+    }
+
+    public List<String> getForbiddenMaterials() {
+        return forbiddenMaterials;
+    }
+
+    public List<String> getBiomeBlackList() {
+        return biomeBlackList;
+    }
+
+    public RandomTeleportRules getRandomTeleportRules() {
+        return randomTeleportRules;
+    }
+
+    public List<AliasCommand> getAliasCommands() {
+        return aliasCommands;
+    }
+
+    private Map<String, double[]> getForcedLocationMap() {
+        return forcedLocationMap;
+    }
+
+    public static class AnimationSetting {
+        private final EnumContainer.Animation animation;
+        private final String theme;
+
+        public AnimationSetting(EnumContainer.Animation animation, String theme) {
+            this.animation = animation;
+            this.theme = theme;
+        }
+
+        public EnumContainer.Animation getAnimation() {
+            return animation;
+        }
+
+        public String getTheme() {
+            return theme;
+        }
+    }
+
+    public static class AliasCommand {
+        private final String alias, command;
+        private final boolean console;
+
+        public AliasCommand(String alias, String command, boolean console) {
+            this.alias = alias;
+            this.command = command;
+            this.console = console;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public boolean isConsole() {
+            return console;
+        }
+    }
+}
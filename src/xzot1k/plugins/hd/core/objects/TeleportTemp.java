@@ -4,12 +4,15 @@
 
 package xzot1k.plugins.hd.core.objects;
 
+import org.bukkit.Chunk;
 import xzot1k.plugins.hd.HyperDrive;
 
 public class TeleportTemp {
     private HyperDrive pluginInstance;
     private String teleportTypeId, teleportValue;
     private int seconds;
+    private TimingWheel.Entry<Runnable> teleportEntry, countdownEntry;
+    private Chunk destinationChunk;
 
     public TeleportTemp(HyperDrive pluginInstance, String teleportTypeId, String teleportValue, int seconds) {
         setPluginInstance(pluginInstance);
@@ -50,4 +53,28 @@ public class TeleportTemp {
     private void setTeleportValue(String teleportValue) {
         this.teleportValue = teleportValue;
     }
+
+    public TimingWheel.Entry<Runnable> getTeleportEntry() {
+        return teleportEntry;
+    }
+
+    public void setTeleportEntry(TimingWheel.Entry<Runnable> teleportEntry) {
+        this.teleportEntry = teleportEntry;
+    }
+
+    public TimingWheel.Entry<Runnable> getCountdownEntry() {
+        return countdownEntry;
+    }
+
+    public void setCountdownEntry(TimingWheel.Entry<Runnable> countdownEntry) {
+        this.countdownEntry = countdownEntry;
+    }
+
+    public Chunk getDestinationChunk() {
+        return destinationChunk;
+    }
+
+    public void setDestinationChunk(Chunk destinationChunk) {
+        this.destinationChunk = destinationChunk;
+    }
 }
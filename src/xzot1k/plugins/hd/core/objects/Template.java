@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Template {
+    public static final Template EMPTY = new Template(new String[0], new boolean[0]);
+
+    private final String[] segments;
+    private final boolean[] placeholders;
+
+    private Template(String[] segments, boolean[] placeholders) {
+        this.segments = segments;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Splits the text into literal and placeholder segments, translating the color codes once.
+     *
+     * @param text The configured text (Null results in an empty template).
+     * @return The compiled template.
+     */
+    public static Template compile(String text) {
+        if (text == null || text.isEmpty()) return EMPTY;
+
+        final String coloredText = ChatColor.translateAlternateColorCodes('&', text);
+        final List<String> segmentList = new ArrayList<>();
+        final List<Boolean> placeholderList = new ArrayList<>();
+
+        int literalStart = 0;
+        for (int i = -1; ++i < coloredText.length(); ) {
+            if (coloredText.charAt(i) != '{') continue;
+
+            final int end = findPlaceholderEnd(coloredText, i);
+            if (end < 0) continue;
+
+            if (i > literalStart) {
+                segmentList.add(coloredText.substring(literalStart, i));
+                placeholderList.add(false);
+            }
+
+            segmentList.add(coloredText.substring(i, end + 1));
+            placeholderList.add(true);
+            literalStart = end + 1;
+            i = end;
+        }
+
+        if (literalStart < coloredText.length()) {
+            segmentList.add(coloredText.substring(literalStart));
+            placeholderList.add(false);
+        }
+
+        final boolean[] placeholders = new boolean[placeholderList.size()];
+        for (int i = -1; ++i < placeholders.length; ) placeholders[i] = placeholderList.get(i);
+        return new Template(segmentList.toArray(new String[0]), placeholders);
+    }
+
+    private static int findPlaceholderEnd(String text, int start) {
+        for (int i = start; ++i < text.length(); ) {
+            final char character = text.charAt(i);
+            if (character == '}') return (i > start + 1) ? i : -1;
+            if (!Character.isLetterOrDigit(character) && character != '-' && character != '_') return -1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Fills the placeholders with the builder's values (Placeholders without a value are left as they are).
+     *
+     * @param builder The builder holding the values.
+     * @return The rendered text.
+     */
+    public String render(TemplateBuilder builder) {
+        if (segments.length == 0) return "";
+        if (segments.length == 1 && !placeholders[0]) return segments[0];
+        return builder.render(segments, placeholders);
+    }
+
+    public boolean isEmpty() {
+        return segments.length == 0;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.ChatColor;
+
+import java.util.Arrays;
+
+public class TemplateBuilder {
+    private final StringBuilder stringBuilder;
+    private String[] names, values;
+    private long[] numbers;
+    private int size;
+
+    public TemplateBuilder() {
+        stringBuilder = new StringBuilder(128);
+        names = new String[8];
+        values = new String[8];
+        numbers = new long[8];
+    }
+
+    /**
+     * Removes every value so the builder can be reused.
+     *
+     * @return The builder.
+     */
+    public TemplateBuilder clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Sets the value of a placeholder, replacing any earlier value. Values holding color codes are translated.
+     *
+     * @param placeholder The placeholder including its braces (e.g. {warp}).
+     * @param value       The value.
+     * @return The builder.
+     */
+    public TemplateBuilder set(String placeholder, String value) {
+        final int index = getIndex(placeholder);
+        values[index] = (value != null) ? (value.indexOf('&') >= 0 ? ChatColor.translateAlternateColorCodes('&', value) : value) : "";
+        return this;
+    }
+
+    /**
+     * Sets a numeric placeholder value without turning it into a string first.
+     *
+     * @param placeholder The placeholder including its braces (e.g. {duration}).
+     * @param value       The value.
+     * @return The builder.
+     */
+    public TemplateBuilder set(String placeholder, long value) {
+        final int index = getIndex(placeholder);
+        values[index] = null;
+        numbers[index] = value;
+        return this;
+    }
+
+    private int getIndex(String placeholder) {
+        for (int i = -1; ++i < size; )
+            if (names[i].equals(placeholder)) return i;
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            numbers = Arrays.copyOf(numbers, size * 2);
+        }
+
+        names[size] = placeholder;
+        return size++;
+    }
+
+    String render(String[] segments, boolean[] placeholders) {
+        stringBuilder.setLength(0);
+        for (int i = -1; ++i < segments.length; ) {
+            if (!placeholders[i]) {
+                stringBuilder.append(segments[i]);
+                continue;
+            }
+
+            int index = -1;
+            for (int j = -1; ++j < size; )
+                if (names[j].equals(segments[i])) {
+                    index = j;
+                    break;
+                }
+
+            if (index < 0) stringBuilder.append(segments[i]);
+            else if (values[index] != null) stringBuilder.append(values[index]);
+            else stringBuilder.append(numbers[index]);
+        }
+
+        return stringBuilder.toString();
+    }
+}
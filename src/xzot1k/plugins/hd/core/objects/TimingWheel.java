@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel counting in ticks. Entries are hashed into buckets by their deadline, so advancing the wheel
+ * only looks at the bucket of the current tick and cancelling an entry just unlinks it. Not thread-safe, the wheel is
+ * meant to be driven and used from the main thread.
+ *
+ * @param <T> The type of value scheduled.
+ */
+public class TimingWheel<T> {
+    private static final int UNSCHEDULED = -1, FIRING = -2;
+
+    private final Entry<T>[] buckets;
+    private final int mask;
+    private final List<Entry<T>> dueEntries;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int bucketCount) {
+        int capacity = 1;
+        while (capacity < bucketCount) capacity <<= 1;
+
+        this.buckets = (Entry<T>[]) new Entry[capacity];
+        this.mask = capacity - 1;
+        this.dueEntries = new ArrayList<>();
+    }
+
+    /**
+     * Schedules a value.
+     *
+     * @param delayTicks The delay in ticks (Anything below 1 fires on the next advance).
+     * @param value      The value.
+     * @return The entry, which can be used to cancel it.
+     */
+    public Entry<T> schedule(long delayTicks, T value) {
+        final Entry<T> entry = new Entry<>(value, currentTick + Math.max(1, delayTicks));
+        link(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Cancels an entry if it has not fired yet.
+     *
+     * @param entry The entry (Can be null).
+     * @return Whether the entry was still pending.
+     */
+    public boolean cancel(Entry<T> entry) {
+        if (entry == null || entry.bucket == UNSCHEDULED) return false;
+
+        if (entry.bucket != FIRING) unlink(entry);
+        entry.bucket = UNSCHEDULED;
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel one tick forward and hands every entry that is due to the consumer. Entries may be scheduled
+     * or cancelled from within the consumer.
+     *
+     * @param consumer The consumer of the due values.
+     */
+    public void advance(Consumer<T> consumer) {
+        currentTick++;
+
+        Entry<T> entry = buckets[(int) (currentTick & mask)];
+        while (entry != null) {
+            final Entry<T> next = entry.next;
+            if (entry.deadline <= currentTick) {
+                unlink(entry);
+                entry.bucket = FIRING;
+                dueEntries.add(entry);
+            }
+            entry = next;
+        }
+
+        if (dueEntries.isEmpty()) return;
+        for (int i = -1; ++i < dueEntries.size(); ) {
+            final Entry<T> dueEntry = dueEntries.get(i);
+            if (dueEntry.bucket != FIRING) continue;
+
+            dueEntry.bucket = UNSCHEDULED;
+            size--;
+            consumer.accept(dueEntry.value);
+        }
+        dueEntries.clear();
+    }
+
+    /**
+     * Gets the ticks left until an entry fires.
+     *
+     * @param entry The entry.
+     * @return The remaining ticks or 0 if the entry is no longer pending.
+     */
+    public long getRemainingTicks(Entry<T> entry) {
+        return (entry != null && entry.bucket != UNSCHEDULED) ? Math.max(0, entry.deadline - currentTick) : 0;
+    }
+
+    private void link(Entry<T> entry) {
+        final int bucket = (int) (entry.deadline & mask);
+        entry.bucket = bucket;
+        entry.previous = null;
+        entry.next = buckets[bucket];
+        if (entry.next != null) entry.next.previous = entry;
+        buckets[bucket] = entry;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.previous != null) entry.previous.next = entry.next;
+        else buckets[entry.bucket] = entry.next;
+        if (entry.next != null) entry.next.previous = entry.previous;
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    // getters & setters
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static class Entry<T> {
+        private final T value;
+        private final long deadline;
+        private int bucket;
+        private Entry<T> previous, next;
+
+        private Entry(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isPending() {
+            return bucket != UNSCHEDULED;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import xzot1k.plugins.hd.api.EnumContainer;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WarpIcon {
+    private final long warpVersion;
+    private final ItemStack baseItem;
+    private final List<String> lines, eventPlaceholders;
+    private final EnumContainer.Status status;
+    private final boolean hasOwner, whiteListMode, viewerNamed, membersNeeded, permissionsNeeded;
+
+    // keyed by the viewer relation flags (-1 when there is no viewer).
+    private final Map<Integer, ItemStack> renderedItems;
+
+    /**
+     * @param warpVersion       The change version of the warp the icon was compiled from.
+     * @param warp              The warp.
+     * @param baseItem          The icon without lore.
+     * @param lines             The colored lore lines, only the {player} placeholder is left in them.
+     * @param eventPlaceholders The event placeholder of each line or null for lines that are always shown.
+     */
+    public WarpIcon(long warpVersion, Warp warp, ItemStack baseItem, List<String> lines, List<String> eventPlaceholders) {
+        this.warpVersion = warpVersion;
+        this.baseItem = baseItem;
+        this.lines = lines;
+        this.eventPlaceholders = eventPlaceholders;
+        this.status = warp.getStatus();
+        this.hasOwner = (warp.getOwner() != null);
+        this.whiteListMode = warp.isWhiteListMode();
+        this.renderedItems = new ConcurrentHashMap<>();
+
+        boolean viewerNamed = false, membersNeeded = false, permissionsNeeded = false;
+        for (int i = -1; ++i < lines.size(); ) {
+            if (lines.get(i).contains("{player}")) viewerNamed = true;
+
+            final String eventPlaceholder = eventPlaceholders.get(i);
+            if (eventPlaceholder == null) continue;
+            if (!eventPlaceholder.startsWith("{is-")) membersNeeded = true;
+            if (eventPlaceholder.equals("{has-access}") || eventPlaceholder.equals("{no-access}")) permissionsNeeded = true;
+        }
+
+        this.viewerNamed = viewerNamed;
+        this.membersNeeded = membersNeeded;
+        this.permissionsNeeded = permissionsNeeded;
+    }
+
+    /**
+     * Applies the viewer-specific lines. Icons without a {player} line are shared between viewers with the same
+     * relation to the warp, so the returned item must not be modified.
+     *
+     * @param warp   The warp the icon belongs to.
+     * @param player The viewer (Can be null).
+     * @return The icon.
+     */
+    public ItemStack render(Warp warp, OfflinePlayer player) {
+        final WarpViewerRelation relation = (player != null) ? WarpViewerRelation.of(warp, player, membersNeeded, permissionsNeeded) : null;
+        if (viewerNamed) return buildItem(relation, player);
+
+        final int relationKey = (relation != null) ? relation.getFlags() : -1;
+        ItemStack item = renderedItems.get(relationKey);
+        if (item == null) {
+            item = buildItem(relation, null);
+            renderedItems.put(relationKey, item);
+        }
+
+        return item;
+    }
+
+    private ItemStack buildItem(WarpViewerRelation relation, OfflinePlayer player) {
+        final String playerName = (player != null) ? Objects.requireNonNull(player.getName()) : "";
+        final List<String> lore = new ArrayList<>(lines.size());
+        for (int i = -1; ++i < lines.size(); ) {
+            if (relation != null && !isVisible(eventPlaceholders.get(i), relation)) continue;
+            lore.add(viewerNamed ? lines.get(i).replace("{player}", playerName) : lines.get(i));
+        }
+
+        final ItemStack item = baseItem.clone();
+        final ItemMeta itemMeta = item.getItemMeta();
+        if (itemMeta != null) {
+            itemMeta.setLore(lore);
+            item.setItemMeta(itemMeta);
+        }
+
+        return item;
+    }
+
+    private boolean isVisible(String eventPlaceholder, WarpViewerRelation relation) {
+        if (eventPlaceholder == null) return true;
+
+        switch (eventPlaceholder) {
+            case "{is-owner}":
+                return relation.isOwner();
+            case "{can-edit}":
+                return relation.isOwner() || relation.isAssistant();
+            case "{has-access}":
+                return status == EnumContainer.Status.PUBLIC || relation.isOwner() || relation.isAssistant()
+                        || (relation.isListed() && whiteListMode) || relation.hasPermission();
+            case "{no-access}":
+                return status != EnumContainer.Status.PUBLIC && hasOwner && !relation.isOwner() && !relation.isAssistant()
+                        && (!relation.isListed() && whiteListMode) && !relation.hasPermission();
+            case "{is-private}":
+                return status == EnumContainer.Status.PRIVATE;
+            case "{is-public}":
+                return status == EnumContainer.Status.PUBLIC;
+            case "{is-admin}":
+                return status == EnumContainer.Status.ADMIN;
+            default:
+                return false;
+        }
+    }
+
+    // getters & setters
+    public long getWarpVersion() {
+        return warpVersion;
+    }
+}
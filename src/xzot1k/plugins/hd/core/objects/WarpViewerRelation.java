@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020. All rights reserved.
+ */
+
+package xzot1k.plugins.hd.core.objects;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import xzot1k.plugins.hd.api.objects.Warp;
+
+public class WarpViewerRelation {
+    public static final int OWNER = 1, ASSISTANT = 1 << 1, LISTED = 1 << 2, PERMITTED = 1 << 3;
+
+    private final int flags;
+
+    public WarpViewerRelation(int flags) {
+        this.flags = flags;
+    }
+
+    /**
+     * Works out how the player relates to the warp, only looking up what the caller needs.
+     *
+     * @param warp             The warp.
+     * @param player           The viewer.
+     * @param checkMembers     Whether the assistants and player list should be checked.
+     * @param checkPermissions Whether the warp permissions should be checked.
+     * @return The relation.
+     */
+    public static WarpViewerRelation of(Warp warp, OfflinePlayer player, boolean checkMembers, boolean checkPermissions) {
+        int flags = 0;
+        if (warp.getOwner() != null && warp.getOwner().equals(player.getUniqueId())) flags |= OWNER;
+
+        if (checkMembers) {
+            if (warp.getAssistants().contains(player.getUniqueId())) flags |= ASSISTANT;
+            if (warp.getPlayerList().contains(player.getUniqueId())) flags |= LISTED;
+        }
+
+        if (checkPermissions) {
+            Player onlinePlayer = player.getPlayer();
+            if (onlinePlayer != null && (onlinePlayer.hasPermission("hyperdrive.warps." + warp.getWarpName()) || onlinePlayer.hasPermission("hyperdrive.warps.*")))
+                flags |= PERMITTED;
+        }
+
+        return new WarpViewerRelation(flags);
+    }
+
+    public boolean isOwner() {
+        return (flags & OWNER) != 0;
+    }
+
+    public boolean isAssistant() {
+        return (flags & ASSISTANT) != 0;
+    }
+
+    public boolean isListed() {
+        return (flags & LISTED) != 0;
+    }
+
+    public boolean isOther() {
+        return (flags & (OWNER | ASSISTANT | LISTED)) == 0;
+    }
+
+    public boolean hasPermission() {
+        return (flags & PERMITTED) != 0;
+    }
+
+    // getters & setters
+    public int getFlags() {
+        return flags;
+    }
+}